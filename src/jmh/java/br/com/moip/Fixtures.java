@@ -0,0 +1,86 @@
+package br.com.moip;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the JSON fixtures and recorded plays of the test resources for the benchmarks.
+ */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * @return the contents of {@code src/test/resources/jsons/<path>}
+     */
+    public static String json(String path) {
+        StringBuilder json = new StringBuilder();
+        for (String line : lines("/jsons/" + path)) {
+            json.append(line).append('\n');
+        }
+
+        return json.toString();
+    }
+
+    /**
+     * @return the body of the first response recorded in {@code src/test/resources/plays/<path>}
+     */
+    public static String playBody(String path) {
+        List<String> lines = lines("/plays/" + path);
+        StringBuilder body = new StringBuilder();
+        int indent = -1;
+
+        for (String line : lines) {
+            if (indent < 0) {
+                if (line.trim().equals("body: |")) {
+                    indent = line.indexOf("body") + 1;
+                }
+                continue;
+            }
+            if (!line.trim().isEmpty() && indentOf(line) < indent) {
+                break;
+            }
+            body.append(line.length() > indent ? line.substring(indent) : "").append('\n');
+        }
+
+        if (indent < 0) {
+            throw new IllegalArgumentException("No response body in " + path);
+        }
+
+        return body.toString();
+    }
+
+    private static int indentOf(String line) {
+        int i = 0;
+        while (i < line.length() && line.charAt(i) == ' ') {
+            i++;
+        }
+
+        return i;
+    }
+
+    private static List<String> lines(String resource) {
+        InputStream in = Fixtures.class.getResourceAsStream(resource);
+        if (in == null) {
+            throw new IllegalArgumentException("Missing fixture " + resource);
+        }
+
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, Charset.forName("UTF-8")))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read fixture " + resource, e);
+        }
+
+        return lines;
+    }
+}
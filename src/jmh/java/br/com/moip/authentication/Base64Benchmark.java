@@ -0,0 +1,42 @@
+package br.com.moip.authentication;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes the credentials of a {@link BasicAuth} header, which every call made with it does.
+ *
+ * ./gradlew jmh -Pjmh=Base64Benchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class Base64Benchmark {
+
+    private byte[] credentials;
+
+    @Setup
+    public void setUp() {
+        credentials = ("01010101010101010101010101010101:ABABABABABABABABABABABABABABABABABABABAB")
+                .getBytes(Charset.forName("UTF-8"));
+    }
+
+    @Benchmark
+    public String encode() {
+        return Base64.encode(credentials);
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.moip.cache;
+
+import br.com.moip.resource.Order;
+import br.com.moip.resource.Payment;
+import br.com.moip.resource.Transfer;
+import br.com.moip.util.GsonFactory;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link BinaryResourceCodec} with the JSON produced by {@link GsonFactory}. Encoded
+ * sizes are printed once per resource during setup.
+ *
+ * ./gradlew jmh -Pjmh=ResourceCodecBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ResourceCodecBenchmark {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final String PAYMENT = "{\"id\":\"PAY-1\",\"status\":\"AUTHORIZED\",\"installmentCount\":1,"
+            + "\"statementDescriptor\":\"minhaLoja.com\","
+            + "\"amount\":{\"total\":10000,\"fees\":499,\"refunds\":0,\"liquid\":9501,\"currency\":\"BRL\"},"
+            + "\"fundingInstrument\":{\"method\":\"CREDIT_CARD\"}}";
+
+    private static final String ORDER = "{\"id\":\"ORD-1\",\"ownId\":\"ord-1\",\"status\":\"PAID\",\"platform\":\"V2\","
+            + "\"createdAt\":\"2018-02-22T10:04:32.000-03\",\"updatedAt\":\"2018-02-22T10:05:12.000-03\","
+            + "\"amount\":{\"paid\":10000,\"total\":10000,\"fees\":499,\"refunds\":0,\"liquid\":9501,\"otherReceivers\":0,\"currency\":\"BRL\"},"
+            + "\"items\":[{\"product\":\"Descricao do pedido\",\"quantity\":1,\"detail\":\"Mais info...\",\"price\":9000}],"
+            + "\"customer\":{\"id\":\"CUS-1\",\"ownId\":\"customer_1\",\"fullname\":\"Jose da Silva\",\"email\":\"jose@email.com\"},"
+            + "\"payments\":[" + PAYMENT + "]}";
+
+    private static final String TRANSFER = "{\"id\":\"TRA-1\",\"amount\":150000,\"fee\":0,\"status\":\"COMPLETED\","
+            + "\"createdAt\":\"2018-02-22T10:04:32.000-03\",\"updatedAt\":\"2018-02-22T10:05:12.000-03\",\"role\":\"PAYER\"}";
+
+    @Param({"order", "payment", "transfer"})
+    public String resource;
+
+    private Gson gson;
+    private BinaryResourceCodec codec;
+    private Class<?> type;
+    private Object decoded;
+    private String json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() {
+        gson = GsonFactory.gson();
+        codec = new BinaryResourceCodec();
+
+        if ("order".equals(resource)) {
+            type = Order.class;
+            json = ORDER;
+        } else if ("payment".equals(resource)) {
+            type = Payment.class;
+            json = PAYMENT;
+        } else {
+            type = Transfer.class;
+            json = TRANSFER;
+        }
+
+        decoded = gson.fromJson(json, type);
+        json = gson.toJson(decoded);
+        binary = codec.encode(decoded);
+
+        System.out.printf("%n%s: json %d bytes, binary %d bytes%n", resource, json.getBytes(UTF_8).length, binary.length);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() {
+        return gson.toJson(decoded).getBytes(UTF_8);
+    }
+
+    @Benchmark
+    public Object jsonDecode() {
+        return gson.fromJson(json, type);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return codec.encode(decoded);
+    }
+
+    @Benchmark
+    public Object binaryDecode() {
+        return codec.decode(binary, type);
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.moip.response;
+
+import br.com.moip.util.GsonFactory;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares single threaded Gson binding of an orders page with {@link ParallelListDecoder} at
+ * increasing page sizes. The size where both scores cross is a good value for the decoder
+ * threshold on the target machine.
+ *
+ * ./gradlew jmh -Pjmh=ParallelListDecoderBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ParallelListDecoderBenchmark {
+
+    private static final String ORDER = "{\"id\":\"ORD-%1$d\",\"ownId\":\"ord-%1$d\",\"status\":\"PAID\",\"platform\":\"V2\","
+            + "\"createdAt\":\"2018-02-22T10:04:32.000-03\",\"updatedAt\":\"2018-02-22T10:05:12.000-03\","
+            + "\"amount\":{\"paid\":10000,\"total\":10000,\"fees\":499,\"refunds\":0,\"liquid\":9501,\"otherReceivers\":0,\"currency\":\"BRL\","
+            + "\"subtotals\":{\"shipping\":1000,\"addition\":0,\"discount\":0,\"items\":9000}},"
+            + "\"items\":[{\"product\":\"Descricao do pedido\",\"quantity\":1,\"detail\":\"Mais info...\",\"price\":9000}],"
+            + "\"customer\":{\"id\":\"CUS-%1$d\",\"ownId\":\"customer_%1$d\",\"fullname\":\"Jose da Silva\",\"email\":\"jose@email.com\"},"
+            + "\"payments\":[{\"id\":\"PAY-%1$d\",\"status\":\"AUTHORIZED\",\"installmentCount\":1,"
+            + "\"amount\":{\"total\":10000,\"fees\":499,\"refunds\":0,\"liquid\":9501,\"currency\":\"BRL\"},"
+            + "\"fundingInstrument\":{\"method\":\"CREDIT_CARD\",\"creditCard\":{\"id\":\"CRC-%1$d\",\"brand\":\"VISA\",\"first6\":\"401200\",\"last4\":\"1112\"}}}],"
+            + "\"events\":[{\"type\":\"ORDER.PAID\",\"createdAt\":\"2018-02-22T10:05:12.000-03\",\"description\":\"\"},"
+            + "{\"type\":\"ORDER.WAITING\",\"createdAt\":\"2018-02-22T10:04:40.000-03\",\"description\":\"\"},"
+            + "{\"type\":\"ORDER.CREATED\",\"createdAt\":\"2018-02-22T10:04:32.000-03\",\"description\":\"\"}],"
+            + "\"receivers\":[{\"moipAccount\":{\"id\":\"MPA-8D5DBB4EF8B8\",\"login\":\"jose@email.com\",\"fullname\":\"Jose\"},"
+            + "\"type\":\"PRIMARY\",\"amount\":{\"total\":10000,\"fees\":499,\"refunds\":0}}],"
+            + "\"_links\":{\"self\":{\"href\":\"https://sandbox.moip.com.br/v2/orders/ORD-%1$d\"}}}";
+
+    @Param({"4", "16", "64", "256", "1024"})
+    public int size;
+
+    private Gson gson;
+    private ParallelListDecoder decoder;
+    private String body;
+
+    @Setup
+    public void setUp() {
+        gson = GsonFactory.gson();
+        decoder = new ParallelListDecoder(0);
+
+        StringBuilder builder = new StringBuilder("{\"summary\":{\"count\":").append(size).append(",\"amount\":0},\"orders\":[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) builder.append(',');
+            builder.append(String.format(ORDER, i));
+        }
+        body = builder.append("]}").toString();
+    }
+
+    @TearDown
+    public void tearDown() {
+        decoder.close();
+    }
+
+    @Benchmark
+    public OrderListResponse sequential() {
+        return gson.fromJson(body, OrderListResponse.class);
+    }
+
+    @Benchmark
+    public OrderListResponse parallel() {
+        return decoder.decode(body, OrderListResponse.class, gson);
+    }
+}
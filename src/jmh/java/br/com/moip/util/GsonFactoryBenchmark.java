@@ -0,0 +1,91 @@
+package br.com.moip.util;
+
+import br.com.moip.Fixtures;
+import br.com.moip.request.MultiorderRequest;
+import br.com.moip.request.OrderRequest;
+import br.com.moip.request.PaymentRequest;
+import br.com.moip.resource.Order;
+import br.com.moip.response.EntriesListResponse;
+import br.com.moip.response.OrderListResponse;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes the requests and binds the responses the API calls spend most of their CPU on, with
+ * the {@link GsonFactory} used by the client. Requests come from the JSON fixtures and responses
+ * from the recorded plays of the tests.
+ *
+ * ./gradlew jmh -Pjmh=GsonFactoryBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GsonFactoryBenchmark {
+
+    private Gson gson;
+    private OrderRequest orderRequest;
+    private PaymentRequest paymentRequest;
+    private MultiorderRequest multiorderRequest;
+    private String order;
+    private String orders;
+    private String entries;
+
+    @Setup
+    public void setUp() {
+        gson = GsonFactory.gson();
+
+        // The fixtures hold dates in the default Gson format, which the factory's birthdate adapter can't read
+        Gson fixtures = new Gson();
+        orderRequest = fixtures.fromJson(Fixtures.json("order/order_with_full_customer_and_order_amount.json"), OrderRequest.class);
+        paymentRequest = fixtures.fromJson(Fixtures.json("payment/create_cc.json"), PaymentRequest.class);
+        multiorderRequest = fixtures.fromJson(Fixtures.json("multiorder/create.json"), MultiorderRequest.class);
+
+        order = Fixtures.playBody("orders/get.yaml");
+        orders = Fixtures.playBody("orders/list.yaml");
+        entries = Fixtures.playBody("entries/list.yaml");
+    }
+
+    @Benchmark
+    public String serializeOrderRequest() {
+        return gson.toJson(orderRequest);
+    }
+
+    @Benchmark
+    public String serializePaymentRequest() {
+        return gson.toJson(paymentRequest);
+    }
+
+    @Benchmark
+    public String serializeMultiorderRequest() {
+        return gson.toJson(multiorderRequest);
+    }
+
+    @Benchmark
+    public Order deserializeOrder() {
+        return gson.fromJson(order, Order.class);
+    }
+
+    @Benchmark
+    public OrderListResponse deserializeOrderList() {
+        return gson.fromJson(orders, OrderListResponse.class);
+    }
+
+    @Benchmark
+    public EntriesListResponse deserializeEntriesList() {
+        return gson.fromJson(entries, EntriesListResponse.class);
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.moip.util;
+
+import br.com.moip.Fixtures;
+import br.com.moip.api.filter.Filters;
+import br.com.moip.api.filter.Pagination;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the query strings of the list calls and the form encoded bodies of the Connect calls.
+ *
+ * ./gradlew jmh -Pjmh=QueryStringBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class QueryStringBenchmark {
+
+    private Pagination pagination;
+    private Filters filters;
+    private Map<String, String> params;
+    private JsonObject token;
+    private JsonObject boleto;
+
+    @Setup
+    public void setUp() {
+        pagination = new Pagination(50, 0);
+        filters = new Filters()
+                .between("amount", "1000", "10000")
+                .in("status", Arrays.asList("NOT_PAID", "WAITING"));
+        params = new LinkedHashMap<>();
+        params.put("q", "jose@email.com");
+
+        JsonParser parser = new JsonParser();
+        token = parser.parse(Fixtures.json("connect/generate_token.json")).getAsJsonObject();
+        boleto = parser.parse(Fixtures.json("payment/create_boleto.json")).getAsJsonObject();
+    }
+
+    @Benchmark
+    public String generate() {
+        return new QueryStringFactory("/v2/orders", pagination, filters, params).generate();
+    }
+
+    @Benchmark
+    public String filters() {
+        return filters.toString();
+    }
+
+    @Benchmark
+    public String urlEncodeToken() {
+        return DataHelper.jsonToUrlEncodedString(token);
+    }
+
+    @Benchmark
+    public String urlEncodeBoleto() {
+        return DataHelper.jsonToUrlEncodedString(boleto);
+    }
+}
@@ -1,34 +1,55 @@
 package br.com.moip;
 
 import br.com.moip.authentication.Authentication;
+import br.com.moip.cache.CacheInterceptor;
+import br.com.moip.cache.CacheKey;
+import br.com.moip.cache.ResourceCache;
+import br.com.moip.cache.ResourceType;
+import br.com.moip.event.Call;
+import br.com.moip.event.CompositeEventListener;
+import br.com.moip.event.EventListener;
+import br.com.moip.event.FlightRecorderEvents;
 import br.com.moip.exception.MoipException;
 import br.com.moip.exception.UnauthorizedException;
 import br.com.moip.exception.UnexpectedException;
 import br.com.moip.exception.ValidationException;
+import br.com.moip.interceptor.Interceptor;
+import br.com.moip.log.HttpLogging;
+import br.com.moip.log.SlowCallLog;
+import br.com.moip.metrics.Metrics;
+import br.com.moip.metrics.MetricsInterceptor;
+import br.com.moip.metrics.ResourceAccounting;
 import br.com.moip.resource.Errors;
+import br.com.moip.response.BodyReader;
+import br.com.moip.response.ParallelListDecoder;
+import br.com.moip.response.ResponseTimings;
 import br.com.moip.ssl.SSLSupport;
+import br.com.moip.trace.TraceContext;
+import br.com.moip.trace.Tracer;
+import br.com.moip.trace.TracingListener;
 import br.com.moip.util.GsonFactory;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import javax.net.ssl.HttpsURLConnection;
-import java.io.DataOutputStream;
-import java.io.OutputStreamWriter;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.FilterInputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.HttpURLConnection;
+import java.net.InetAddress;
 import java.net.URL;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Properties;
-import java.util.Set;
 import org.apache.http.entity.ContentType;
 
 import static br.com.moip.util.DataHelper.jsonToUrlEncodedString;
@@ -36,6 +57,7 @@ import static br.com.moip.util.DataHelper.jsonToUrlEncodedString;
 public class Client {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Client.class);
+    private static final HttpLogging HTTP_LOGGING = new HttpLogging(LOGGER);
     public static final String PRODUCTION = "https://api.moip.com.br";
     public static final String SANDBOX = "https://sandbox.moip.com.br";
     public static final String CONNECT_PRODUCTION = "https://connect.moip.com.br";
@@ -59,11 +81,26 @@ public class Client {
     private final String endpoint;
     private final Authentication authentication;
     private final Gson gson;
+    private ParallelListDecoder parallelListDecoder;
+    private ResourceCache resourceCache;
+    private volatile String account;
+    private volatile EventListener eventListener = EventListener.NONE;
+    private volatile Metrics metrics = Metrics.NONE;
+    private volatile boolean resourceAccounting;
+    private volatile SlowCallLog slowCallLog;
+    private volatile Tracer tracer = Tracer.NONE;
+    private volatile EventListener listener = EventListener.NONE;
+    private final List<Interceptor> applicationInterceptors = new ArrayList<>();
+    private volatile Interceptor[] interceptors;
+    // Shared by every call, as the JDK only reuses kept-alive HTTPS connections opened with the same factory
+    private volatile SSLSupport sslSupport;
 
     public Client(final String endpoint, final Authentication authentication) {
         this.endpoint = endpoint;
         this.authentication = authentication;
         this.gson = GsonFactory.gson();
+        updateListener();
+        updateInterceptors();
     }
 
     public <T> T post(final String path, final Class<T> type) {
@@ -96,74 +133,189 @@ public class Client {
         return doRequest(props);
     }
 
+    public <T> T get(String path, Class<T> type, ResponseTimings timings) {
+        RequestProps props = RequestPropsBuilder.requestPropsBuilder().method("GET").path(path).type(type).contentType(ContentType.APPLICATION_JSON).timings(timings);
+        return doRequest(props);
+    }
+
+    public <T> T get(String path, Class<T> type, ResourceType resourceType, String id) {
+        if (resourceCache == null || id == null || !resourceCache.isCached(resourceType)) {
+            return get(path, type);
+        }
+
+        CacheKey key = new CacheKey(getAccount(), resourceType, id);
+        RequestProps props = RequestPropsBuilder.requestPropsBuilder().method("GET").path(path).type(type).contentType(ContentType.APPLICATION_JSON).cacheKey(key);
+        return doRequest(props);
+    }
+
+    public void invalidate(ResourceType resourceType, String id) {
+        if (resourceCache != null && id != null) {
+            resourceCache.invalidate(new CacheKey(getAccount(), resourceType, id));
+        }
+    }
+
+    public <T> T get(String path, BodyReader<T> reader) {
+        RequestProps props = RequestPropsBuilder.requestPropsBuilder().method("GET").path(path).reader(reader).contentType(ContentType.APPLICATION_JSON);
+        return doRequest(props);
+    }
+
     public <T> T delete(String path, Class<T> type) {
         RequestProps props = RequestPropsBuilder.requestPropsBuilder().method("DELETE").path(path).object(null).type(type).contentType(ContentType.APPLICATION_JSON);
         return doRequest(props);
     }
 
     private <T> T doRequest(final RequestProps requestProps) {
+        EventListener listener = this.listener;
+        Call call = new Call(requestProps.method, requestProps.path, System.nanoTime());
+        RealChain<T> chain = new RealChain<>(interceptors, requestProps, call, listener);
+        listener.callStart(call);
+
         try {
+            T result = chain.proceed();
+            listener.callEnd(call, System.nanoTime());
+
+            return result;
+        } catch (RuntimeException e) {
+            listener.callFailed(call, System.nanoTime(), e);
+            throw e;
+        }
+    }
+
+    private <T> T execute(final RealChain<T> chain) {
+        RequestProps requestProps = chain.requestProps;
+        Call call = chain.call;
+        EventListener listener = chain.listener;
+        HttpLogging logging = call.attachment(HttpLogging.class);
+        call.startAttempt();
+
+        try {
+            long start = call.getStartNanos();
             URL url = new URL(endpoint + requestProps.path);
 
+            String body = null;
+            byte[] bytes = null;
+            if (requestProps.object != null) {
+                listener.encodeStart(call, System.nanoTime());
+                body = getBody(requestProps.object, requestProps.contentType);
+                bytes = body.getBytes("UTF-8");
+                call.setRequestBody(body);
+                call.setRequestBytes(bytes.length);
+                listener.encodeEnd(call, System.nanoTime(), bytes.length);
+            }
+
             HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+            chain.connection = conn;
             conn.setRequestProperty("User-Agent", USER_AGENT);
             conn.setRequestProperty("Content-type", requestProps.contentType.getMimeType());
             if (requestProps.accept != null) conn.setRequestProperty("Accept", requestProps.accept);
+            if (call.getHeaders() != null) setCallHeaders(conn, call.getHeaders());
 
             conn.setRequestMethod(requestProps.method);
 
             // Disable TLS 1.0
+            SSLSupport sslSupport = null;
             if (conn instanceof HttpsURLConnection) {
-                ((HttpsURLConnection) conn).setSSLSocketFactory(new SSLSupport());
+                sslSupport = sslSupport();
+                ((HttpsURLConnection) conn).setSSLSocketFactory(sslSupport);
             }
 
             if (authentication != null) {
                 authentication.authenticate(conn);
             }
 
-            LOGGER.debug("---> {} {}", requestProps.method, conn.getURL().toString());
-            logHeaders(conn.getRequestProperties().entrySet());
+            if (logging != null) logging.request(requestProps.method, conn);
 
-            if (requestProps.object != null) {
-                conn.setDoOutput(true);
-                String body = getBody(requestProps.object, requestProps.contentType);
+            // The lookup is cached by the JDK, so the connection resolves the host again for free
+            if (listener.isDnsTimed()) {
+                listener.dnsStart(call, System.nanoTime(), url.getHost());
+                InetAddress.getAllByName(url.getHost());
+                listener.dnsEnd(call, System.nanoTime());
+            }
 
-                LOGGER.debug("{}", body);
+            if (bytes != null) conn.setDoOutput(true);
 
-                DataOutputStream wr = new DataOutputStream(conn.getOutputStream());
-                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(wr, "UTF-8"));
-                writer.write(body);
-                writer.close();
-                wr.flush();
-                wr.close();
+            listener.connectStart(call, System.nanoTime());
+            boolean socketCreated;
+            if (sslSupport != null) sslSupport.connecting(listener, call);
+            try {
+                conn.connect();
+            } finally {
+                socketCreated = sslSupport != null && sslSupport.connected();
+            }
+            long connected = System.nanoTime();
+            // The handshake runs inside connect, right after SSLSupport reported its start
+            if (socketCreated) listener.secureConnectEnd(call, connected);
+            call.setConnected(true);
+            call.setConnectionReused(sslSupport != null && !socketCreated);
+            listener.connectEnd(call, connected, call.isConnectionReused());
+
+            listener.requestStart(call, System.nanoTime());
+            if (bytes != null) {
+                if (logging != null) logging.requestBody(body);
+
+                OutputStream out = conn.getOutputStream();
+                out.write(bytes);
+                out.close();
             }
+            listener.requestEnd(call, System.nanoTime(), call.getRequestBytes());
 
-            LOGGER.debug("---> END HTTP");
+            if (logging != null) logging.requestEnd();
 
             int responseCode = conn.getResponseCode();
+            long firstByte = System.nanoTime();
+            call.setStatus(responseCode);
+            listener.responseStart(call, firstByte, responseCode);
+
+            if (logging != null) logging.response(responseCode, conn);
+
+            // Answers a conditional request, which the cache interceptor completes
+            if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                if (logging != null) logging.notModified();
+                listener.responseEnd(call, firstByte, 0);
+                recordTimings(requestProps, firstByte - start, 0, 0);
 
-            LOGGER.debug("<--- {} {}", responseCode, conn.getResponseMessage());
-            logHeaders(conn.getHeaderFields().entrySet());
+                return null;
+            }
+
+            if (requestProps.reader != null && responseCode >= 200 && responseCode < 299) {
+                if (logging != null) logging.streamingBody(conn);
+                listener.decodeStart(call, firstByte);
+                T result = readStream(conn, requestProps.<T>getReader(), call);
+                long end = System.nanoTime();
+                listener.responseEnd(call, end, call.getResponseBytes());
+                listener.decodeEnd(call, end);
+                recordTimings(requestProps, firstByte - start, end - firstByte, 0);
+
+                return result;
+            }
 
             StringBuilder responseBody = new StringBuilder();
 
-            responseBody = responseBodyTreatment(responseBody, responseCode, conn);
+            responseBody = responseBodyTreatment(responseBody, responseCode, conn, call, logging);
 
-            LOGGER.debug("{}", responseBody.toString());
-            LOGGER.debug("<-- END HTTP ({}-byte body)", conn.getContentLength());
+            if (logging != null) logging.responseBody(responseBody, conn);
 
-            return gson.fromJson(responseBody.toString(), requestProps.<T>getType());
+            long bodyRead = System.nanoTime();
+            listener.responseEnd(call, bodyRead, call.getResponseBytes());
+            listener.decodeStart(call, bodyRead);
+            T result = decode(responseBody.toString(), requestProps.<T>getType());
+            long decoded = System.nanoTime();
+            listener.decodeEnd(call, decoded);
+            recordTimings(requestProps, firstByte - start, bodyRead - firstByte, decoded - bodyRead);
+
+            return result;
         } catch (IOException | KeyManagementException | NoSuchAlgorithmException e) {
             throw new MoipException("Error occurred connecting to Moip API: " + e.getMessage(), e);
         }
     }
 
-    private StringBuilder responseBodyTreatment(StringBuilder responseBody, int responseCode, HttpURLConnection conn) {
+    private StringBuilder responseBodyTreatment(StringBuilder responseBody, int responseCode, HttpURLConnection conn, Call call,
+                                                HttpLogging logging) {
 
         try {
 
             if (responseCode >= 200 && responseCode < 299) {
-                responseBody = readBody(conn.getInputStream());
+                responseBody = readBody(conn.getInputStream(), call);
             }
 
             if (responseCode == 401) {
@@ -171,8 +323,8 @@ public class Client {
             }
 
             if (responseCode >= 400 && responseCode < 499) {
-                responseBody = readBody(conn.getErrorStream());
-                LOGGER.debug("API ERROR {}", responseBody.toString());
+                responseBody = readBody(conn.getErrorStream(), call);
+                if (logging != null) logging.errorBody(responseBody);
 
                 Errors errors = new Errors();
 
@@ -199,27 +351,51 @@ public class Client {
         return responseBody;
     }
 
-    private void logHeaders(Set<Map.Entry<String, List<String>>> entries) {
-        for (Map.Entry<String, List<String>> header : entries) {
-            if (header.getKey() != null) {
-                LOGGER.debug("{}: {}", header.getKey(), header.getValue());
-            }
+    private void setCallHeaders(HttpURLConnection conn, String[] headers) {
+        for (int i = 0; i < headers.length; i += 2) {
+            conn.setRequestProperty(headers[i], headers[i + 1]);
         }
     }
 
-    private StringBuilder readBody(final InputStream inputStream) throws IOException {
+    private StringBuilder readBody(final InputStream inputStream, final Call call) throws IOException {
         StringBuilder body = new StringBuilder();
-        BufferedReader in = new BufferedReader(new InputStreamReader(inputStream));
+        CountingInputStream counting = new CountingInputStream(inputStream);
+        BufferedReader in = new BufferedReader(new InputStreamReader(counting));
 
         String inputLine;
         while ((inputLine = in.readLine()) != null) {
             body.append(inputLine);
         }
         in.close();
+        call.setResponseBytes(counting.count);
+        call.setResponseBody(body);
 
         return body;
     }
 
+    private void recordTimings(RequestProps requestProps, long timeToFirstByte, long transfer, long decode) {
+        if (requestProps.timings != null) {
+            requestProps.timings.record(timeToFirstByte, transfer, decode);
+        }
+    }
+
+    private <T> T decode(final String body, final Class<T> type) {
+        if (parallelListDecoder != null && parallelListDecoder.supports(type)) {
+            return parallelListDecoder.decode(body, type, gson);
+        }
+
+        return gson.fromJson(body, type);
+    }
+
+    private <T> T readStream(final HttpURLConnection conn, final BodyReader<T> reader, final Call call) throws IOException {
+        CountingInputStream counting = new CountingInputStream(conn.getInputStream());
+        try (JsonReader jsonReader = new JsonReader(new BufferedReader(new InputStreamReader(counting, "UTF-8")))) {
+            return reader.read(jsonReader, gson);
+        } finally {
+            call.setResponseBytes(counting.count);
+        }
+    }
+
     private String getBody(Object object, ContentType contentType) {
         if (contentType == ContentType.APPLICATION_FORM_URLENCODED) {
             return jsonToUrlEncodedString((JsonObject) new JsonParser().parse(gson.toJson(object)));
@@ -236,6 +412,228 @@ public class Client {
         return endpoint;
     }
 
+    public ResourceCache getResourceCache() {
+        return resourceCache;
+    }
+
+    public void setResourceCache(ResourceCache resourceCache) {
+        this.resourceCache = resourceCache;
+        updateInterceptors();
+    }
+
+    private SSLSupport sslSupport() throws IOException, KeyManagementException, NoSuchAlgorithmException {
+        SSLSupport current = sslSupport;
+        if (current == null) {
+            synchronized (this) {
+                current = sslSupport;
+                if (current == null) {
+                    current = sslSupport = new SSLSupport();
+                }
+            }
+        }
+
+        return current;
+    }
+
+    private String getAccount() {
+        if (account == null) {
+            account = CacheKey.account(endpoint, authentication);
+        }
+
+        return account;
+    }
+
+    public EventListener getEventListener() {
+        return eventListener;
+    }
+
+    /**
+     * Receives the phases of every request from now on; {@link EventListener#NONE} turns it off.
+     */
+    public void setEventListener(EventListener eventListener) {
+        this.eventListener = eventListener == null ? EventListener.NONE : eventListener;
+        updateListener();
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Records every request from now on by route template; {@link Metrics#NONE} turns it off.
+     */
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics == null ? Metrics.NONE : metrics;
+        updateListener();
+        updateInterceptors();
+    }
+
+    public boolean isResourceAccounting() {
+        return resourceAccounting;
+    }
+
+    /**
+     * Measures the bytes allocated and the CPU time spent serializing, transporting and decoding
+     * every call, and reports them to the {@link #setMetrics(Metrics) metrics}. Off by default.
+     */
+    public void setResourceAccounting(boolean resourceAccounting) {
+        this.resourceAccounting = resourceAccounting;
+        updateListener();
+    }
+
+    public SlowCallLog getSlowCallLog() {
+        return slowCallLog;
+    }
+
+    /**
+     * Records the calls the log picks, slow or sampled, from now on; null turns it off.
+     */
+    public void setSlowCallLog(SlowCallLog slowCallLog) {
+        this.slowCallLog = slowCallLog;
+        updateListener();
+    }
+
+    public Tracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * Opens a span for every call from now on, under the {@link TraceContext#current() current}
+     * context of the calling thread, and sends its {@code traceparent}; {@link Tracer#NONE} turns
+     * it off.
+     */
+    public void setTracer(Tracer tracer) {
+        this.tracer = tracer == null ? Tracer.NONE : tracer;
+        updateListener();
+    }
+
+    /**
+     * Adds an interceptor to every call from now on, after the ones added before and ahead of the
+     * client's own.
+     */
+    public synchronized void addInterceptor(Interceptor interceptor) {
+        applicationInterceptors.add(interceptor);
+        updateInterceptors();
+    }
+
+    public synchronized void removeInterceptor(Interceptor interceptor) {
+        applicationInterceptors.remove(interceptor);
+        updateInterceptors();
+    }
+
+    public synchronized List<Interceptor> getInterceptors() {
+        return Collections.unmodifiableList(new ArrayList<>(applicationInterceptors));
+    }
+
+    private synchronized void updateInterceptors() {
+        List<Interceptor> chain = new ArrayList<>(applicationInterceptors);
+        if (resourceCache != null) chain.add(new CacheInterceptor(resourceCache));
+        if (metrics != Metrics.NONE) chain.add(new MetricsInterceptor(metrics));
+        chain.add(HTTP_LOGGING);
+
+        interceptors = chain.toArray(new Interceptor[chain.size()]);
+    }
+
+    private synchronized void updateListener() {
+        listener = CompositeEventListener.of(
+                tracer == Tracer.NONE ? EventListener.NONE : new TracingListener(tracer),
+                resourceAccounting && metrics != Metrics.NONE ? ResourceAccounting.create(metrics) : EventListener.NONE,
+                FlightRecorderEvents.listener(),
+                slowCallLog == null ? EventListener.NONE : slowCallLog,
+                eventListener);
+    }
+
+    public ParallelListDecoder getParallelListDecoder() {
+        return parallelListDecoder;
+    }
+
+    public void setParallelListDecoder(ParallelListDecoder parallelListDecoder) {
+        this.parallelListDecoder = parallelListDecoder;
+    }
+
+    /**
+     * The one context object of a call: it walks the interceptors by moving its index, instead of
+     * creating a chain per step, and keeps the connection of the last attempt for its headers.
+     */
+    private final class RealChain<T> implements Interceptor.Chain<T> {
+
+        private final Interceptor[] interceptors;
+        private final RequestProps requestProps;
+        private final Call call;
+        private final EventListener listener;
+        private HttpURLConnection connection;
+        private int index;
+
+        RealChain(Interceptor[] interceptors, RequestProps requestProps, Call call, EventListener listener) {
+            this.interceptors = interceptors;
+            this.requestProps = requestProps;
+            this.call = call;
+            this.listener = listener;
+        }
+
+        @Override
+        public Call call() { return call; }
+
+        @Override
+        public Object getRequestBody() { return requestProps.object; }
+
+        @Override
+        public Class<T> getResponseType() { return requestProps.getType(); }
+
+        @Override
+        public CacheKey getCacheKey() { return requestProps.cacheKey; }
+
+        @Override
+        public String getResponseHeader(String name) {
+            return connection == null ? null : connection.getHeaderField(name);
+        }
+
+        @Override
+        public T proceed() {
+            int current = index;
+            if (current == interceptors.length) {
+                return execute(this);
+            }
+
+            index = current + 1;
+            try {
+                return interceptors[current].intercept(this);
+            } finally {
+                index = current;
+            }
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
     private static class RequestProps {
 
         protected String method;
@@ -244,6 +642,9 @@ public class Client {
         protected Class type;
         protected ContentType contentType;
         protected String accept;
+        protected BodyReader<?> reader;
+        protected ResponseTimings timings;
+        protected CacheKey cacheKey;
 
         public RequestProps() {}
 
@@ -258,6 +659,13 @@ public class Client {
         public ContentType getContentType() { return contentType; }
 
         public String getAccept() { return accept; }
+
+        @SuppressWarnings("unchecked")
+        public <T> BodyReader<T> getReader() { return (BodyReader<T>) reader; }
+
+        public ResponseTimings getTimings() { return timings; }
+
+        public CacheKey getCacheKey() { return cacheKey; }
     }
 
     private static class RequestPropsBuilder extends RequestProps {
@@ -291,6 +699,21 @@ public class Client {
             return this;
         }
 
+        public RequestPropsBuilder reader(BodyReader<?> reader) {
+            this.reader = reader;
+            return this;
+        }
+
+        public RequestPropsBuilder timings(ResponseTimings timings) {
+            this.timings = timings;
+            return this;
+        }
+
+        public RequestPropsBuilder cacheKey(CacheKey cacheKey) {
+            this.cacheKey = cacheKey;
+            return this;
+        }
+
         public RequestPropsBuilder accept(String acceptVersion) {
             this.accept = acceptBuilder(acceptVersion);
             return this;
@@ -4,6 +4,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import br.com.moip.Client;
+import br.com.moip.cache.ResourceType;
 import br.com.moip.exception.ValidationException;
 import br.com.moip.request.BankAccountRequest;
 import br.com.moip.resource.BankAccount;
@@ -21,7 +22,7 @@ public class BankAccountsAPI {
     }
 
     public BankAccount get(final String id) {
-        return client.get(String.format("/v2/bankaccounts/%s", id), BankAccount.class);
+        return client.get(String.format("/v2/bankaccounts/%s", id), BankAccount.class, ResourceType.BANK_ACCOUNT, id);
     }
 
     public List<BankAccount> getList(final String moipAccount) {
@@ -31,7 +32,11 @@ public class BankAccountsAPI {
     }
     
     public BankAccount update(final String id, final BankAccountRequest bankAccountRequest) {
-    	return client.put(String.format("/v2/bankaccounts/%s", id), bankAccountRequest, BankAccount.class);
+        try {
+            return client.put(String.format("/v2/bankaccounts/%s", id), bankAccountRequest, BankAccount.class);
+        } finally {
+            client.invalidate(ResourceType.BANK_ACCOUNT, id);
+        }
     }
     
     public Boolean delete(final String id) {
@@ -43,7 +48,9 @@ public class BankAccountsAPI {
     	    if (e.getResponseCode() != 404) {
                 throw new ValidationException(e.getResponseCode(), e.getResponseStatus(), e.getError());
             }
-    	}
+    	} finally {
+            client.invalidate(ResourceType.BANK_ACCOUNT, id);
+        }
     	return false;
     }
     
@@ -1,6 +1,7 @@
 package br.com.moip.api;
 
 import br.com.moip.Client;
+import br.com.moip.cache.ResourceType;
 import br.com.moip.exception.ValidationException;
 import br.com.moip.request.CustomerRequest;
 import br.com.moip.resource.Customer;
@@ -19,11 +20,15 @@ public class CustomerAPI {
     }
 
     public Customer get(String externalId) {
-        return client.get(String.format("/v2/customers/%s", externalId), Customer.class);
+        return client.get(String.format("/v2/customers/%s", externalId), Customer.class, ResourceType.CUSTOMER, externalId);
     }
 
     public FundingInstrument addCreditCard (CustomerRequest customer) {
-        return client.post(String.format("/v2/customers/%s/fundinginstruments", customer.getId()), customer.getFundingInstrument(), FundingInstrument.class);
+        try {
+            return client.post(String.format("/v2/customers/%s/fundinginstruments", customer.getId()), customer.getFundingInstrument(), FundingInstrument.class);
+        } finally {
+            client.invalidate(ResourceType.CUSTOMER, customer.getId());
+        }
     }
 
     public Boolean deleteCreditCard (String creditCardId) {
@@ -35,6 +40,9 @@ public class CustomerAPI {
             if (e.getResponseCode() != 404) {
                 throw new ValidationException(e.getResponseCode(), e.getResponseStatus(), e.getError());
             }
+        } finally {
+            // Drops the cached customer that lists the card as well
+            client.invalidate(ResourceType.FUNDING_INSTRUMENT, creditCardId);
         }
 
         return false;
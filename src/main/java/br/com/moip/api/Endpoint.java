@@ -1,6 +1,7 @@
 package br.com.moip.api;
 
 import br.com.moip.request.RefundRequest;
+import br.com.moip.resource.links.Href;
 
 public class Endpoint {
 
@@ -29,4 +30,18 @@ public class Endpoint {
     public String buildRefundEndpointForListByPayment(String id) {
         return String.format(REFUNDS_PAYMENT, id);
     }
+
+    /**
+     * @return the id of the resource a link points to, or null when there is no link
+     */
+    static String id(Href link) {
+        if (link == null) {
+            return null;
+        }
+        if (link.getTitle() != null && !link.getTitle().isEmpty()) {
+            return link.getTitle();
+        }
+
+        return link.getHref() == null ? null : link.getHref().substring(link.getHref().lastIndexOf('/') + 1);
+    }
 }
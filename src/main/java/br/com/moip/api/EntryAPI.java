@@ -2,12 +2,26 @@ package br.com.moip.api;
 
 import br.com.moip.Client;
 import br.com.moip.api.filter.Filters;
+import br.com.moip.api.filter.EntryQuery;
 import br.com.moip.api.filter.Pagination;
+import br.com.moip.api.filter.Predicate;
+import br.com.moip.api.list.AutoPager;
+import br.com.moip.api.list.FixedPageSizer;
+import br.com.moip.api.list.PageFetcher;
+import br.com.moip.api.list.PageSizer;
+import br.com.moip.cache.ResourceType;
 import br.com.moip.resource.Entry;
 import br.com.moip.response.EntriesListResponse;
+import br.com.moip.response.EntryBatch;
+import br.com.moip.response.EntryBatchReader;
+import br.com.moip.response.ListStreamReader;
+import br.com.moip.response.ResourceConsumer;
+import br.com.moip.response.ResponseTimings;
+import br.com.moip.response.StreamedListResponse;
 import br.com.moip.util.QueryStringFactory;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class EntryAPI {
@@ -18,7 +32,7 @@ public class EntryAPI {
 
     public EntryAPI(final Client client) { this.client = client; }
 
-    public Entry get(String externalId) { return client.get(String.format("%s/%s", PATH, externalId), Entry.class); }
+    public Entry get(String externalId) { return client.get(String.format("%s/%s", PATH, externalId), Entry.class, ResourceType.ENTRY, externalId); }
 
     public EntriesListResponse list() { return client.get(PATH, EntriesListResponse.class); }
 
@@ -50,6 +64,58 @@ public class EntryAPI {
         return client.get(new QueryStringFactory(PATH, pagination,filters, hashParams(queryParam)).generate(), EntriesListResponse.class);
     }
 
+    public AutoPager<Entry> query(final EntryQuery query) {
+        return query(query, AutoPager.DEFAULT_LIMIT);
+    }
+
+    public AutoPager<Entry> query(final EntryQuery query, final int limit) {
+        return query(query, new FixedPageSizer(limit));
+    }
+
+    public AutoPager<Entry> query(final EntryQuery query, final PageSizer sizer) {
+        final Map<String, String> params = searchParams(query.getSearch());
+        final Predicate<Entry> predicate = query.hasClientPredicates() ? query : null;
+
+        return new AutoPager<>(new PageFetcher<Entry>() {
+            @Override
+            public List<Entry> fetch(Pagination pagination, ResponseTimings timings) {
+                return client.get(new QueryStringFactory(PATH, pagination, query.getFilters(), params).generate(), EntriesListResponse.class, timings);
+            }
+        }, predicate, sizer);
+    }
+
+    public StreamedListResponse stream(final ResourceConsumer<Entry> consumer) {
+        return stream(null, null, null, consumer);
+    }
+
+    public StreamedListResponse stream(final Pagination pagination, final ResourceConsumer<Entry> consumer) {
+        return stream(pagination, null, null, consumer);
+    }
+
+    public StreamedListResponse stream(final Pagination pagination, final Filters filters, final String queryParam, final ResourceConsumer<Entry> consumer) {
+        String path = new QueryStringFactory(PATH, pagination, filters, searchParams(queryParam)).generate();
+
+        return client.get(path, new ListStreamReader<>(Entry.class, null, consumer));
+    }
+
+    /**
+     * Reads a page of entries into primitive columns instead of binding each entry, for totals and
+     * other aggregations over large pages.
+     */
+    public EntryBatch batch(final Pagination pagination) {
+        return batch(pagination, null, null);
+    }
+
+    public EntryBatch batch(final Pagination pagination, final Filters filters, final String queryParam) {
+        String path = new QueryStringFactory(PATH, pagination, filters, searchParams(queryParam)).generate();
+
+        return client.get(path, new EntryBatchReader());
+    }
+
+    private Map<String, String> searchParams(final String queryParam) {
+        return queryParam == null ? null : hashParams(queryParam);
+    }
+
     private Map<String, String> hashParams(final String queryParam) {
         return new HashMap<String, String>() {{
             put("q", queryParam);
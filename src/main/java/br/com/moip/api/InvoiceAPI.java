@@ -1,6 +1,7 @@
 package br.com.moip.api;
 
 import br.com.moip.Client;
+import br.com.moip.cache.ResourceType;
 import br.com.moip.api.filter.Pagination;
 import br.com.moip.request.InvoiceRequest;
 import br.com.moip.resource.Invoice;
@@ -21,7 +22,7 @@ public class InvoiceAPI {
     }
 
     public Invoice get(final String id) {
-        return client.get("/v2/invoices/" + id, Invoice.class);
+        return client.get("/v2/invoices/" + id, Invoice.class, ResourceType.INVOICE, id);
     }
 
     public InvoiceListResponse list() {
@@ -1,8 +1,10 @@
 package br.com.moip.api;
 
 import br.com.moip.Client;
+import br.com.moip.cache.ResourceType;
 import br.com.moip.request.PaymentRequest;
 import br.com.moip.resource.Multipayment;
+import br.com.moip.resource.Payment;
 
 public class MultipaymentAPI {
 
@@ -21,11 +23,40 @@ public class MultipaymentAPI {
     }
 
     public Multipayment capture(String multipaymentId) {
-        return client.post(String.format("/v2/multipayments/%s/capture", multipaymentId), null, Multipayment.class);
+        Multipayment multipayment = null;
+        try {
+            multipayment = client.post(String.format("/v2/multipayments/%s/capture", multipaymentId), null, Multipayment.class);
+
+            return multipayment;
+        } finally {
+            invalidate(multipayment);
+        }
     }
 
     public Multipayment cancelPreAuthorized(String multipaymentId) {
-        return client.post(String.format("/v2/multipayments/%s/void", multipaymentId), null, Multipayment.class);
+        Multipayment multipayment = null;
+        try {
+            multipayment = client.post(String.format("/v2/multipayments/%s/void", multipaymentId), null, Multipayment.class);
+
+            return multipayment;
+        } finally {
+            invalidate(multipayment);
+        }
+    }
+
+    // Every payment of the multipayment changes status, and so does the order embedding it. Without
+    // a response the payments are unknown, so the cached ones expire on their own
+    private void invalidate(final Multipayment multipayment) {
+        if (multipayment == null) {
+            return;
+        }
+
+        for (Payment payment : multipayment.getPayments()) {
+            client.invalidate(ResourceType.PAYMENT, payment.getId());
+            if (payment.getLinks() != null) {
+                client.invalidate(ResourceType.ORDER, Endpoint.id(payment.getLinks().getOrder()));
+            }
+        }
     }
 
 }
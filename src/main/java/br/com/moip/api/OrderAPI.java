@@ -1,14 +1,31 @@
 package br.com.moip.api;
 
 import br.com.moip.Client;
+import br.com.moip.cache.ResourceType;
 import br.com.moip.api.filter.Filters;
+import br.com.moip.api.filter.OrderQuery;
 import br.com.moip.api.filter.Pagination;
+import br.com.moip.api.filter.Predicate;
+import br.com.moip.api.list.AutoPager;
+import br.com.moip.api.list.FixedPageSizer;
+import br.com.moip.api.list.PageFetcher;
+import br.com.moip.api.list.PageSizer;
 import br.com.moip.request.OrderRequest;
 import br.com.moip.resource.Order;
 import br.com.moip.response.OrderListResponse;
+import br.com.moip.response.OrderBatch;
+import br.com.moip.response.OrderBatchReader;
+import br.com.moip.response.ListStreamReader;
+import br.com.moip.response.Projected;
+import br.com.moip.response.Projection;
+import br.com.moip.response.ProjectionReader;
+import br.com.moip.response.ResourceConsumer;
+import br.com.moip.response.ResponseTimings;
+import br.com.moip.response.StreamedListResponse;
 import br.com.moip.util.QueryStringFactory;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class OrderAPI {
@@ -26,7 +43,11 @@ public class OrderAPI {
     }
 
     public Order get(final String id) {
-        return client.get(String.format("%s/%s", PATH, id), Order.class);
+        return client.get(String.format("%s/%s", PATH, id), Order.class, ResourceType.ORDER, id);
+    }
+
+    public Projected<Order> get(final String id, final Projection projection) {
+        return client.get(String.format("%s/%s", PATH, id), new ProjectionReader<>(Order.class, projection));
     }
 
     public OrderListResponse list() {
@@ -63,6 +84,58 @@ public class OrderAPI {
         return client.get(new QueryStringFactory(PATH, pagination, filters, hashParams(qParam)).generate(), OrderListResponse.class);
     }
 
+    public AutoPager<Order> query(final OrderQuery query) {
+        return query(query, AutoPager.DEFAULT_LIMIT);
+    }
+
+    public AutoPager<Order> query(final OrderQuery query, final int limit) {
+        return query(query, new FixedPageSizer(limit));
+    }
+
+    public AutoPager<Order> query(final OrderQuery query, final PageSizer sizer) {
+        final Map<String, String> params = searchParams(query.getSearch());
+        final Predicate<Order> predicate = query.hasClientPredicates() ? query : null;
+
+        return new AutoPager<>(new PageFetcher<Order>() {
+            @Override
+            public List<Order> fetch(Pagination pagination, ResponseTimings timings) {
+                return client.get(new QueryStringFactory(PATH, pagination, query.getFilters(), params).generate(), OrderListResponse.class, timings).getOrders();
+            }
+        }, predicate, sizer);
+    }
+
+    public StreamedListResponse stream(final ResourceConsumer<Order> consumer) {
+        return stream(null, null, null, consumer);
+    }
+
+    public StreamedListResponse stream(final Pagination pagination, final ResourceConsumer<Order> consumer) {
+        return stream(pagination, null, null, consumer);
+    }
+
+    public StreamedListResponse stream(final Pagination pagination, final Filters filters, final String queryParam, final ResourceConsumer<Order> consumer) {
+        String path = new QueryStringFactory(PATH, pagination, filters, searchParams(queryParam)).generate();
+
+        return client.get(path, new ListStreamReader<>(Order.class, "orders", consumer));
+    }
+
+    /**
+     * Reads a page of orders into primitive columns instead of binding each order, for totals and
+     * other aggregations over large pages.
+     */
+    public OrderBatch batch(final Pagination pagination) {
+        return batch(pagination, null, null);
+    }
+
+    public OrderBatch batch(final Pagination pagination, final Filters filters, final String queryParam) {
+        String path = new QueryStringFactory(PATH, pagination, filters, searchParams(queryParam)).generate();
+
+        return client.get(path, new OrderBatchReader());
+    }
+
+    private Map<String, String> searchParams(final String queryParam) {
+        return queryParam == null ? null : hashParams(queryParam);
+    }
+
     private Map<String, String> hashParams(final String queryParam) {
         return new HashMap<String, String>() {{
             put("q", queryParam);
@@ -1,6 +1,7 @@
 package br.com.moip.api;
 
 import br.com.moip.Client;
+import br.com.moip.cache.ResourceType;
 import br.com.moip.request.PaymentRequest;
 import br.com.moip.resource.Payment;
 
@@ -13,19 +14,44 @@ public class PaymentAPI {
     }
 
     public Payment create(final PaymentRequest payment) {
-        return client.post(String.format("/v2/orders/%s/payments", payment.getOrderId()), payment, Payment.class);
+        try {
+            return client.post(String.format("/v2/orders/%s/payments", payment.getOrderId()), payment, Payment.class);
+        } finally {
+            client.invalidate(ResourceType.ORDER, payment.getOrderId());
+        }
     }
 
     public Payment get(final String paymentId) {
-        return client.get(String.format("/v2/payments/%s", paymentId), Payment.class);
+        return client.get(String.format("/v2/payments/%s", paymentId), Payment.class, ResourceType.PAYMENT, paymentId);
     }
 
     public Payment capture(final String paymentId) {
-        return client.post(String.format("/v2/payments/%s/capture", paymentId), null, Payment.class);
+        Payment payment = null;
+        try {
+            payment = client.post(String.format("/v2/payments/%s/capture", paymentId), null, Payment.class);
+
+            return payment;
+        } finally {
+            invalidate(paymentId, payment);
+        }
     }
 
     public Payment cancelPreAuthorized(final String paymentId) {
-        return client.post(String.format("/v2/payments/%s/void", paymentId), null, Payment.class);
+        Payment payment = null;
+        try {
+            payment = client.post(String.format("/v2/payments/%s/void", paymentId), null, Payment.class);
+
+            return payment;
+        } finally {
+            invalidate(paymentId, payment);
+        }
     }
 
+    // The order embeds the payment, so it changes with it
+    private void invalidate(final String paymentId, final Payment payment) {
+        client.invalidate(ResourceType.PAYMENT, paymentId);
+        if (payment != null && payment.getLinks() != null) {
+            client.invalidate(ResourceType.ORDER, Endpoint.id(payment.getLinks().getOrder()));
+        }
+    }
 }
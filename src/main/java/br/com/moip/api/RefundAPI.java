@@ -1,6 +1,7 @@
 package br.com.moip.api;
 
 import br.com.moip.Client;
+import br.com.moip.cache.ResourceType;
 import br.com.moip.exception.ValidationException;
 import br.com.moip.request.RefundRequest;
 import br.com.moip.resource.Errors;
@@ -18,11 +19,31 @@ public class RefundAPI extends Endpoint {
     }
 
     public Refund order(RefundRequest refundRequest) {
-        return client.post(buildRefundEndpointForOrder(refundRequest), refundRequest, Refund.class);
+        Refund refund = null;
+        try {
+            refund = client.post(buildRefundEndpointForOrder(refundRequest), refundRequest, Refund.class);
+
+            return refund;
+        } finally {
+            client.invalidate(ResourceType.ORDER, refundRequest.getId());
+            if (refund != null && refund.getLinks() != null) {
+                client.invalidate(ResourceType.PAYMENT, id(refund.getLinks().getPayment()));
+            }
+        }
     }
 
     public Refund payment(RefundRequest refundRequest) {
-        return client.post(buildRefundEndpointForPayment(refundRequest), refundRequest, Refund.class);
+        Refund refund = null;
+        try {
+            refund = client.post(buildRefundEndpointForPayment(refundRequest), refundRequest, Refund.class);
+
+            return refund;
+        } finally {
+            client.invalidate(ResourceType.PAYMENT, refundRequest.getId());
+            if (refund != null && refund.getLinks() != null) {
+                client.invalidate(ResourceType.ORDER, id(refund.getLinks().getOrder()));
+            }
+        }
     }
 
     public Refund get(String refundId) {
@@ -0,0 +1,49 @@
+package br.com.moip.api.filter;
+
+import br.com.moip.resource.Entry;
+
+public class EntryQuery extends Query<Entry, EntryQuery> {
+
+    private static final String STATUS = "status";
+    private static final String LIQUID_AMOUNT = "liquidAmount";
+    private static final String GROSS_AMOUNT = "grossAmount";
+
+    public EntryQuery statusIn(Entry.Status... status) {
+        filters().in(STATUS, names(status));
+
+        return this;
+    }
+
+    public EntryQuery liquidAmountBetween(int from, int to) {
+        filters().between(LIQUID_AMOUNT, String.valueOf(from), String.valueOf(to));
+
+        return this;
+    }
+
+    public EntryQuery liquidAmountGreaterThanOrEqual(int cents) {
+        filters().greaterThanOrEqual(LIQUID_AMOUNT, String.valueOf(cents));
+
+        return this;
+    }
+
+    public EntryQuery liquidAmountLessThanOrEqual(int cents) {
+        filters().lessThanOrEqual(LIQUID_AMOUNT, String.valueOf(cents));
+
+        return this;
+    }
+
+    public EntryQuery grossAmountBetween(int from, int to) {
+        filters().between(GROSS_AMOUNT, String.valueOf(from), String.valueOf(to));
+
+        return this;
+    }
+
+    public EntryQuery type(final String type) {
+        return where(new Predicate<Entry>() {
+            @Override
+            public boolean test(Entry entry) {
+                return type.equals(entry.getType());
+            }
+        });
+    }
+}
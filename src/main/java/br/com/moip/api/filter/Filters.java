@@ -27,6 +27,18 @@ public class Filters {
         return this;
     }
 
+    public Filters lessThanOrEqual(String field, String value) {
+        filters.add(String.format("%s::le(%s)", field, value));
+
+        return this;
+    }
+
+    public Filters equal(String field, String value) {
+        filters.add(String.format("%s::eq(%s)", field, value));
+
+        return this;
+    }
+
     public Filters between(String field, String value1, String value2) {
         filters.add(String.format("%s::bt(%s,%s)", field, value1, value2));
 
@@ -39,6 +51,10 @@ public class Filters {
         return this;
     }
 
+    public boolean isEmpty() {
+        return filters.isEmpty();
+    }
+
     @Override
     public String toString() {
         return StringUtils.join(filters, "|");
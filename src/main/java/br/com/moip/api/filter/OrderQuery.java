@@ -0,0 +1,98 @@
+package br.com.moip.api.filter;
+
+import br.com.moip.resource.Order;
+import br.com.moip.resource.OrderStatus;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+
+public class OrderQuery extends Query<Order, OrderQuery> {
+
+    private static final String STATUS = "status";
+    private static final String VALUE = "value";
+    private static final String CREATED_AT = "createdAt";
+    private static final String PAYMENT_METHOD = "paymentMethod";
+
+    public OrderQuery statusIn(OrderStatus... status) {
+        filters().in(STATUS, names(status));
+
+        return this;
+    }
+
+    public OrderQuery statusNotIn(OrderStatus... status) {
+        final EnumSet<OrderStatus> excluded = EnumSet.noneOf(OrderStatus.class);
+        excluded.addAll(Arrays.asList(status));
+
+        return where(new Predicate<Order>() {
+            @Override
+            public boolean test(Order order) {
+                return !excluded.contains(order.getStatus());
+            }
+        });
+    }
+
+    public OrderQuery amountGreaterThan(int cents) {
+        filters().greaterThan(VALUE, String.valueOf(cents));
+
+        return this;
+    }
+
+    public OrderQuery amountGreaterThanOrEqual(int cents) {
+        filters().greaterThanOrEqual(VALUE, String.valueOf(cents));
+
+        return this;
+    }
+
+    public OrderQuery amountLessThan(int cents) {
+        filters().lessThan(VALUE, String.valueOf(cents));
+
+        return this;
+    }
+
+    public OrderQuery amountLessThanOrEqual(int cents) {
+        filters().lessThanOrEqual(VALUE, String.valueOf(cents));
+
+        return this;
+    }
+
+    public OrderQuery amountBetween(int from, int to) {
+        filters().between(VALUE, String.valueOf(from), String.valueOf(to));
+
+        return this;
+    }
+
+    public OrderQuery createdAtBetween(Date from, Date to) {
+        filters().between(CREATED_AT, date(from), date(to));
+
+        return this;
+    }
+
+    public OrderQuery createdAfter(Date date) {
+        filters().greaterThan(CREATED_AT, date(date));
+
+        return this;
+    }
+
+    public OrderQuery createdBefore(Date date) {
+        filters().lessThan(CREATED_AT, date(date));
+
+        return this;
+    }
+
+    public OrderQuery paymentMethodIn(List<String> methods) {
+        filters().in(PAYMENT_METHOD, methods);
+
+        return this;
+    }
+
+    public OrderQuery ownId(final String ownId) {
+        return where(new Predicate<Order>() {
+            @Override
+            public boolean test(Order order) {
+                return ownId.equals(order.getOwnId());
+            }
+        });
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.moip.api.filter;
+
+public interface Predicate<T> {
+
+    boolean test(T resource);
+}
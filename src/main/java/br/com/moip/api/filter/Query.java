@@ -0,0 +1,84 @@
+package br.com.moip.api.filter;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Base for the typed list queries. Every condition the API understands is pushed down to
+ * {@link Filters} and the {@code q} parameter; everything else is kept as a {@link Predicate}
+ * that is only evaluated on the client.
+ */
+public abstract class Query<T, Q extends Query<T, Q>> implements Predicate<T> {
+
+    private final Filters filters = new Filters();
+    private final List<Predicate<T>> predicates = new ArrayList<>();
+    private String search;
+
+    public Q search(String q) {
+        this.search = q;
+
+        return self();
+    }
+
+    public Q where(Predicate<T> predicate) {
+        predicates.add(predicate);
+
+        return self();
+    }
+
+    public Filters getFilters() {
+        return filters.isEmpty() ? null : filters;
+    }
+
+    public String getSearch() {
+        return search;
+    }
+
+    public boolean hasClientPredicates() {
+        return !predicates.isEmpty();
+    }
+
+    @Override
+    public boolean test(T resource) {
+        for (Predicate<T> predicate : predicates) {
+            if (!predicate.test(resource)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    protected Filters filters() {
+        return filters;
+    }
+
+    protected static String date(Date date) {
+        return new SimpleDateFormat("yyyy-MM-dd").format(date);
+    }
+
+    protected static List<String> names(Enum<?>... values) {
+        List<String> names = new ArrayList<>(values.length);
+        for (Enum<?> value : values) {
+            names.add(value.name());
+        }
+
+        return names;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Q self() {
+        return (Q) this;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(getClass().getSimpleName()).append('{')
+                .append("filters='").append(filters).append('\'')
+                .append(", q='").append(search).append('\'')
+                .append(", clientPredicates=").append(predicates.size())
+                .append('}').toString();
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.moip.api.list;
+
+import br.com.moip.response.ResponseTimings;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks the page size for the next request from the timings of the previous ones.
+ *
+ * The latency of a page is modelled as a fixed cost, taken from the time to first byte, plus a
+ * per item cost, taken from transfer and decode time divided by the items received. Under that
+ * model items per second only grow with the page size, so the best limit is the largest one whose
+ * predicted latency still fits under the ceiling. The limit grows at most twofold per page, is
+ * halved whenever a request goes over the ceiling and is pulled back to the best size seen when a
+ * bigger page turns out to be slower per item, which covers servers whose cost is not linear.
+ */
+public class AdaptivePageSizer implements PageSizer {
+
+    private static final double SMOOTHING = 0.3;
+    private static final double HEADROOM = 0.8;
+    private static final double TOLERANCE = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long ceilingNanos;
+
+    private int limit;
+    private double fixedNanos = -1;
+    private double perItemNanos = -1;
+    private double bestThroughput;
+    private int bestLimit;
+
+    public AdaptivePageSizer(final int minLimit, final int maxLimit, final long latencyCeiling, final TimeUnit unit) {
+        this(minLimit, maxLimit, latencyCeiling, unit, minLimit);
+    }
+
+    public AdaptivePageSizer(final int minLimit, final int maxLimit, final long latencyCeiling, final TimeUnit unit, final int initialLimit) {
+        if (minLimit <= 0 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("invalid bounds: [" + minLimit + ", " + maxLimit + "]");
+        }
+
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.ceilingNanos = unit.toNanos(latencyCeiling);
+        this.limit = clamp(initialLimit);
+    }
+
+    @Override
+    public synchronized int nextLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void record(int requested, int received, ResponseTimings timings) {
+        long total = timings.getTotalNanos();
+
+        if (received == 0 || total <= 0) {
+            return;
+        }
+
+        fixedNanos = smooth(fixedNanos, timings.getTimeToFirstByteNanos());
+        perItemNanos = smooth(perItemNanos, (timings.getTransferNanos() + timings.getDecodeNanos()) / (double) received);
+
+        double throughput = received / (double) total;
+        if (throughput > bestThroughput) {
+            bestThroughput = throughput;
+            bestLimit = requested;
+        }
+
+        int target;
+        if (total > ceilingNanos) {
+            target = requested / 2;
+        } else {
+            target = (int) Math.min(Integer.MAX_VALUE, (ceilingNanos * HEADROOM - fixedNanos) / Math.max(perItemNanos, 1));
+            target = (int) Math.min(target, requested * 2L);
+
+            if (requested > bestLimit && throughput < bestThroughput * TOLERANCE) {
+                target = Math.min(target, bestLimit);
+            }
+        }
+
+        limit = clamp(target);
+    }
+
+    public synchronized double getItemsPerSecond() {
+        return bestThroughput * TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private int clamp(int value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    private static double smooth(double current, double sample) {
+        return current < 0 ? sample : current + SMOOTHING * (sample - current);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return new StringBuilder("AdaptivePageSizer{")
+                .append("limit=").append(limit)
+                .append(", bounds=[").append(minLimit).append(", ").append(maxLimit).append(']')
+                .append(", ceilingNanos=").append(ceilingNanos)
+                .append(", fixedNanos=").append((long) fixedNanos)
+                .append(", perItemNanos=").append((long) perItemNanos)
+                .append('}').toString();
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.moip.api.list;
+
+import br.com.moip.api.filter.Pagination;
+import br.com.moip.api.filter.Predicate;
+import br.com.moip.response.ResponseTimings;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Walks a list endpoint page by page, fetching the next page only when the current one has been
+ * consumed. Resources rejected by the client side predicate are skipped. The size of each page is
+ * chosen by a {@link PageSizer}, which is told how long every page took.
+ */
+public class AutoPager<T> implements Iterable<T> {
+
+    public static final int DEFAULT_LIMIT = 100;
+
+    private final PageFetcher<T> fetcher;
+    private final Predicate<? super T> predicate;
+    private final PageSizer sizer;
+
+    public AutoPager(final PageFetcher<T> fetcher) {
+        this(fetcher, null, DEFAULT_LIMIT);
+    }
+
+    public AutoPager(final PageFetcher<T> fetcher, final Predicate<? super T> predicate, final int limit) {
+        this(fetcher, predicate, new FixedPageSizer(limit));
+    }
+
+    public AutoPager(final PageFetcher<T> fetcher, final Predicate<? super T> predicate, final PageSizer sizer) {
+        this.fetcher = fetcher;
+        this.predicate = predicate;
+        this.sizer = sizer;
+    }
+
+    public PageSizer getPageSizer() {
+        return sizer;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new PageIterator();
+    }
+
+    private class PageIterator implements Iterator<T> {
+
+        private final ResponseTimings timings = new ResponseTimings();
+        private List<T> page = Collections.emptyList();
+        private int index;
+        private int offset;
+        private boolean lastPage;
+        private T next;
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (index < page.size()) {
+                    T candidate = page.get(index++);
+
+                    if (predicate == null || predicate.test(candidate)) {
+                        next = candidate;
+                    }
+                } else if (lastPage || !fetchNextPage()) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            T current = next;
+            next = null;
+
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+
+        private boolean fetchNextPage() {
+            int limit = sizer.nextLimit();
+
+            timings.reset();
+            List<T> fetched = fetcher.fetch(new Pagination(limit, offset), timings);
+
+            page = fetched == null ? Collections.<T>emptyList() : fetched;
+            index = 0;
+            offset += page.size();
+            lastPage = page.size() < limit;
+
+            sizer.record(limit, page.size(), timings);
+
+            return !page.isEmpty();
+        }
+    }
+}
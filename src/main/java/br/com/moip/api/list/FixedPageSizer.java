@@ -0,0 +1,25 @@
+package br.com.moip.api.list;
+
+import br.com.moip.response.ResponseTimings;
+
+public class FixedPageSizer implements PageSizer {
+
+    private final int limit;
+
+    public FixedPageSizer(final int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+
+        this.limit = limit;
+    }
+
+    @Override
+    public int nextLimit() {
+        return limit;
+    }
+
+    @Override
+    public void record(int limit, int received, ResponseTimings timings) {
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.moip.api.list;
+
+import br.com.moip.api.filter.Pagination;
+import br.com.moip.response.ResponseTimings;
+
+import java.util.List;
+
+public interface PageFetcher<T> {
+
+    List<T> fetch(Pagination pagination, ResponseTimings timings);
+}
@@ -0,0 +1,10 @@
+package br.com.moip.api.list;
+
+import br.com.moip.response.ResponseTimings;
+
+public interface PageSizer {
+
+    int nextLimit();
+
+    void record(int limit, int received, ResponseTimings timings);
+}
@@ -0,0 +1,102 @@
+package br.com.moip.cache;
+
+import java.nio.charset.Charset;
+import java.util.Date;
+
+/**
+ * Reads what {@link BinaryOutput} wrote.
+ */
+final class BinaryInput {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final byte[] bytes;
+    private int position;
+
+    BinaryInput(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    int readByte() {
+        if (position >= bytes.length) {
+            throw new IllegalArgumentException("Truncated resource at byte " + position);
+        }
+
+        return bytes[position++] & 0xff;
+    }
+
+    long readVarLong() {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("Malformed varint at byte " + position);
+    }
+
+    int readInt() {
+        return (int) unZigZag(readVarLong());
+    }
+
+    Integer readInteger() {
+        long value = readVarLong();
+
+        return value == 0 ? null : (int) unZigZag(value - 1);
+    }
+
+    Date readDate() {
+        long value = readVarLong();
+
+        return value == 0 ? null : new Date(unZigZag(value - 1));
+    }
+
+    Boolean readBoolean() {
+        int value = readByte();
+
+        return value == 0 ? null : value == 2;
+    }
+
+    /**
+     * @return the number of elements that follow, or -1 when the collection is absent
+     */
+    int readCount() {
+        return (int) readVarLong() - 1;
+    }
+
+    boolean readPresent() {
+        return readByte() != 0;
+    }
+
+    String readString() {
+        int length = (int) readVarLong() - 1;
+        if (length < 0) {
+            return null;
+        }
+
+        if (length > bytes.length - position) {
+            throw new IllegalArgumentException("Truncated resource at byte " + position);
+        }
+
+        String value = new String(bytes, position, length, UTF_8);
+        position += length;
+
+        return value;
+    }
+
+    byte[] remaining() {
+        byte[] rest = new byte[bytes.length - position];
+        System.arraycopy(bytes, position, rest, 0, rest.length);
+        position = bytes.length;
+
+        return rest;
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
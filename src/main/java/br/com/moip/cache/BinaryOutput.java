@@ -0,0 +1,90 @@
+package br.com.moip.cache;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Growable buffer for {@link BinaryResourceCodec}. Nullable values take one extra step on their
+ * encoding so that zero always means absent.
+ */
+final class BinaryOutput {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private byte[] bytes;
+    private int size;
+
+    BinaryOutput(int capacity) {
+        this.bytes = new byte[capacity];
+    }
+
+    void writeByte(int value) {
+        ensure(1);
+        bytes[size++] = (byte) value;
+    }
+
+    void writeBytes(byte[] value) {
+        ensure(value.length);
+        System.arraycopy(value, 0, bytes, size, value.length);
+        size += value.length;
+    }
+
+    void writeVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7fL) != 0) {
+            bytes[size++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+    }
+
+    void writeInt(int value) {
+        writeVarLong(zigZag(value));
+    }
+
+    void writeInteger(Integer value) {
+        writeVarLong(value == null ? 0 : zigZag(value) + 1);
+    }
+
+    void writeDate(Date value) {
+        writeVarLong(value == null ? 0 : zigZag(value.getTime()) + 1);
+    }
+
+    void writeBoolean(Boolean value) {
+        writeByte(value == null ? 0 : value ? 2 : 1);
+    }
+
+    void writeCount(int count) {
+        writeVarLong(count + 1L);
+    }
+
+    void writeNull() {
+        writeByte(0);
+    }
+
+    void writeString(String value) {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+
+        byte[] encoded = value.getBytes(UTF_8);
+        writeVarLong(encoded.length + 1L);
+        writeBytes(encoded);
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+    }
+}
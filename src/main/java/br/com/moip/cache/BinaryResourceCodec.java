@@ -0,0 +1,402 @@
+package br.com.moip.cache;
+
+import br.com.moip.resource.Amount;
+import br.com.moip.resource.Order;
+import br.com.moip.resource.OrderStatus;
+import br.com.moip.resource.Payment;
+import br.com.moip.resource.PaymentStatus;
+import br.com.moip.resource.Transfer;
+import br.com.moip.resource.TransferStatus;
+import br.com.moip.util.GsonFactory;
+import br.com.moip.util.StringPool;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned binary encoding of orders, payments and transfers. The fields read on every lookup,
+ * ids, status, dates, amounts, order items and the payments of an order, are written one by one
+ * without reflection: integers are zig-zag varints, strings are length prefixed UTF-8 and enums
+ * are written as their code in the tables below, which are independent of declaration order.
+ *
+ * <p>Everything else, such as the customer, events, receivers, escrows, refunds and links, is
+ * carried as one embedded JSON object per resource, so a decoded resource holds all that
+ * {@link GsonFactory} would have read. Any other resource, or one holding an enum constant missing
+ * from the tables, is stored as JSON entirely. Changing the layout requires a new version.
+ */
+public class BinaryResourceCodec implements ResourceCodec {
+
+    public static final int VERSION = 2;
+
+    private static final int JSON = 0;
+    private static final int ORDER = 1;
+    private static final int PAYMENT = 2;
+    private static final int TRANSFER = 3;
+
+    private static final Codes<OrderStatus> ORDER_STATUS = new Codes<>(OrderStatus.class, new OrderStatus[] {
+            OrderStatus.CREATED, OrderStatus.WAITING, OrderStatus.PAID, OrderStatus.NOT_PAID, OrderStatus.REVERTED});
+
+    private static final Codes<PaymentStatus> PAYMENT_STATUS = new Codes<>(PaymentStatus.class, new PaymentStatus[] {
+            PaymentStatus.UNKNOWN, PaymentStatus.AUTHORIZED, PaymentStatus.INITIATED, PaymentStatus.PRINTED,
+            PaymentStatus.SETTLED, PaymentStatus.CANCELLED, PaymentStatus.IN_ANALYSIS, PaymentStatus.REVERTED,
+            PaymentStatus.IN_REVISION, PaymentStatus.REFUNDED, PaymentStatus.WAITING, PaymentStatus.PRE_AUTHORIZED});
+
+    private static final Codes<TransferStatus> TRANSFER_STATUS = new Codes<>(TransferStatus.class, new TransferStatus[] {
+            TransferStatus.REQUESTED, TransferStatus.COMPLETED, TransferStatus.FAILED, TransferStatus.REVERSED});
+
+    private static final Codes<Transfer.Role> TRANSFER_ROLE = new Codes<>(Transfer.Role.class, new Transfer.Role[] {
+            Transfer.Role.RECEIVER, Transfer.Role.PAYER});
+
+    private final Gson gson = GsonFactory.gson();
+    private final JsonResourceCodec json = new JsonResourceCodec();
+
+    @Override
+    public String getName() {
+        return "binary-v" + VERSION;
+    }
+
+    @Override
+    public byte[] encode(Object resource) {
+        BinaryOutput out = new BinaryOutput(256);
+        out.writeByte(VERSION);
+
+        try {
+            if (resource instanceof Order) {
+                out.writeByte(ORDER);
+                writeOrder(out, (Order) resource);
+
+                return out.toByteArray();
+            }
+
+            if (resource instanceof Payment) {
+                out.writeByte(PAYMENT);
+                writePayment(out, (Payment) resource);
+
+                return out.toByteArray();
+            }
+
+            if (resource instanceof Transfer) {
+                out.writeByte(TRANSFER);
+                writeTransfer(out, (Transfer) resource);
+
+                return out.toByteArray();
+            }
+        } catch (NoCodeException e) {
+            out = new BinaryOutput(256);
+            out.writeByte(VERSION);
+        }
+
+        out.writeByte(JSON);
+        out.writeBytes(json.encode(resource));
+
+        return out.toByteArray();
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        BinaryInput in = new BinaryInput(bytes);
+
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported binary resource version " + version);
+        }
+
+        int tag = in.readByte();
+        switch (tag) {
+            case JSON:
+                return json.decode(in.remaining(), type);
+            case ORDER:
+                return type.cast(readOrder(in));
+            case PAYMENT:
+                return type.cast(readPayment(in));
+            case TRANSFER:
+                return type.cast(readTransfer(in));
+            default:
+                throw new IllegalArgumentException("Unknown binary resource type " + tag);
+        }
+    }
+
+    private void writeOrder(BinaryOutput out, Order order) {
+        out.writeString(order.getId());
+        out.writeString(order.getOwnId());
+        ORDER_STATUS.write(out, order.getStatus());
+        out.writeString(order.getPlatform());
+        out.writeDate(order.getCreatedAt());
+        out.writeDate(order.getUpdatedAt());
+        writeAmount(out, order.getAmount());
+
+        List<Order.Item> items = order.getItems();
+        out.writeCount(items.size());
+        for (Order.Item item : items) {
+            out.writeString(item.getProduct());
+            out.writeInt(item.getQuantity());
+            out.writeString(item.getDetail());
+            out.writeInt(item.getPrice());
+            out.writeString(item.getCategory());
+        }
+
+        List<Payment> payments = order.getPayments();
+        out.writeCount(payments.size());
+        for (Payment payment : payments) {
+            writePayment(out, payment);
+        }
+
+        JsonObject rest = new JsonObject();
+        add(rest, "addresses", order.getAddresses());
+        add(rest, "customer", order.getCustomer());
+        add(rest, "escrows", order.getEscrows());
+        add(rest, "refunds", order.getRefunds());
+        add(rest, "entries", order.getEntries());
+        add(rest, "events", order.getEvents());
+        add(rest, "receivers", order.getReceivers());
+        add(rest, "checkoutPreferences", order.getCheckoutPreferences());
+        add(rest, "_links", order.getLinks());
+        writeRest(out, rest);
+    }
+
+    private Order readOrder(BinaryInput in) {
+        String id = in.readString();
+        String ownId = in.readString();
+        OrderStatus status = ORDER_STATUS.read(in);
+        String platform = StringPool.intern(in.readString());
+        Date createdAt = in.readDate();
+        Date updatedAt = in.readDate();
+        Amount amount = readAmount(in);
+
+        List<Order.Item> items = null;
+        int itemCount = in.readCount();
+        if (itemCount > 0) {
+            items = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++) {
+                Order.Item item = new Order.Item();
+                item.setProduct(in.readString());
+                item.setQuantity(in.readInt());
+                item.setDetail(in.readString());
+                item.setPrice(in.readInt());
+                item.setCategory(StringPool.intern(in.readString()));
+                items.add(item);
+            }
+        }
+
+        List<Payment> payments = null;
+        int paymentCount = in.readCount();
+        if (paymentCount > 0) {
+            payments = new ArrayList<>(paymentCount);
+            for (int i = 0; i < paymentCount; i++) {
+                payments.add(readPayment(in));
+            }
+        }
+
+        Order order = readRest(in, Order.class);
+        order.setId(id);
+        order.setOwnId(ownId);
+        order.setStatus(status);
+        order.setPlatform(platform);
+        order.setCreatedAt(createdAt);
+        order.setUpdatedAt(updatedAt);
+        order.setAmount(amount);
+        order.setItems(items);
+        order.setPayments(payments);
+
+        return order;
+    }
+
+    private void writePayment(BinaryOutput out, Payment payment) {
+        out.writeString(payment.getId());
+        PAYMENT_STATUS.write(out, payment.getStatus());
+        writeAmount(out, payment.getAmount());
+        out.writeInt(payment.getInstallmentCount());
+        out.writeString(payment.getStatementDescriptor());
+        out.writeBoolean(payment.getDelayCapture());
+
+        JsonObject rest = new JsonObject();
+        add(rest, "fundingInstrument", payment.getFundingInstrument());
+        add(rest, "geolocation", payment.getGeolocation());
+        add(rest, "escrows", payment.getEscrows());
+        add(rest, "_links", payment.getLinks());
+        writeRest(out, rest);
+    }
+
+    private Payment readPayment(BinaryInput in) {
+        String id = in.readString();
+        PaymentStatus status = PAYMENT_STATUS.read(in);
+        Amount amount = readAmount(in);
+        int installmentCount = in.readInt();
+        String statementDescriptor = in.readString();
+        Boolean delayCapture = in.readBoolean();
+
+        Payment payment = readRest(in, Payment.class);
+        payment.setId(id);
+        payment.setStatus(status);
+        payment.setAmount(amount);
+        payment.setInstallmentCount(installmentCount);
+        payment.setStatementDescriptor(statementDescriptor);
+        payment.setDelayCapture(delayCapture);
+
+        return payment;
+    }
+
+    private void writeTransfer(BinaryOutput out, Transfer transfer) {
+        out.writeString(transfer.getId());
+        out.writeInt(transfer.getAmount());
+        out.writeInt(transfer.getFee());
+        TRANSFER_STATUS.write(out, transfer.getStatus());
+        out.writeDate(transfer.getCreatedAt());
+        out.writeDate(transfer.getUpdatedAt());
+        TRANSFER_ROLE.write(out, transfer.getRole());
+
+        JsonObject rest = new JsonObject();
+        add(rest, "transferInstrument", transfer.getTransferInstrument());
+        add(rest, "events", transfer.getEvents());
+        add(rest, "entries", transfer.getEntries());
+        add(rest, "_links", transfer.getLinks());
+        writeRest(out, rest);
+    }
+
+    private Transfer readTransfer(BinaryInput in) {
+        String id = in.readString();
+        int amount = in.readInt();
+        int fee = in.readInt();
+        TransferStatus status = TRANSFER_STATUS.read(in);
+        Date createdAt = in.readDate();
+        Date updatedAt = in.readDate();
+        Transfer.Role role = TRANSFER_ROLE.read(in);
+
+        Transfer transfer = readRest(in, Transfer.class);
+        transfer.setId(id);
+        transfer.setAmount(amount);
+        transfer.setFee(fee);
+        transfer.setStatus(status);
+        transfer.setCreatedAt(createdAt);
+        transfer.setUpdatedAt(updatedAt);
+        transfer.setRole(role);
+
+        return transfer;
+    }
+
+    private void writeAmount(BinaryOutput out, Amount amount) {
+        out.writeBoolean(amount != null);
+        if (amount == null) {
+            return;
+        }
+
+        out.writeInteger(amount.getTotal());
+        out.writeInteger(amount.getPaid());
+        out.writeInteger(amount.getFees());
+        out.writeInteger(amount.getRefunds());
+        out.writeInteger(amount.getLiquid());
+        out.writeInteger(amount.getOtherReceivers());
+        out.writeString(amount.getCurrency());
+
+        JsonObject rest = new JsonObject();
+        add(rest, "subtotals", amount.getSubtotals());
+        writeRest(out, rest);
+    }
+
+    private Amount readAmount(BinaryInput in) {
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        Integer total = in.readInteger();
+        Integer paid = in.readInteger();
+        Integer fees = in.readInteger();
+        Integer refunds = in.readInteger();
+        Integer liquid = in.readInteger();
+        Integer otherReceivers = in.readInteger();
+        String currency = StringPool.intern(in.readString());
+
+        Amount amount = readRest(in, Amount.class);
+        amount.setTotal(total);
+        amount.setPaid(paid);
+        amount.setFees(fees);
+        amount.setRefunds(refunds);
+        amount.setLiquid(liquid);
+        amount.setOtherReceivers(otherReceivers);
+        amount.setCurrency(currency);
+
+        return amount;
+    }
+
+    // Empty values are left out, which the getters creating them on first use can't tell apart
+    private void add(JsonObject rest, String name, Object value) {
+        if (value == null) {
+            return;
+        }
+
+        JsonElement element = gson.toJsonTree(value);
+        boolean empty = (element.isJsonArray() && element.getAsJsonArray().size() == 0)
+                || (element.isJsonObject() && element.getAsJsonObject().entrySet().isEmpty());
+        if (!empty && !element.isJsonNull()) {
+            rest.add(name, element);
+        }
+    }
+
+    private void writeRest(BinaryOutput out, JsonObject rest) {
+        out.writeString(rest.entrySet().isEmpty() ? null : gson.toJson(rest));
+    }
+
+    private <T> T readRest(BinaryInput in, Class<T> type) {
+        String rest = in.readString();
+        if (rest != null) {
+            return gson.fromJson(rest, type);
+        }
+
+        try {
+            return type.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalStateException("Can't create " + type.getName(), e);
+        }
+    }
+
+    private static final class Codes<E extends Enum<E>> {
+
+        private final E[] constants;
+        private final Map<E, Integer> codes;
+
+        Codes(Class<E> type, E[] constants) {
+            this.constants = constants;
+            this.codes = new EnumMap<>(type);
+            for (int i = 0; i < constants.length; i++) {
+                codes.put(constants[i], i + 1);
+            }
+        }
+
+        void write(BinaryOutput out, E value) {
+            if (value == null) {
+                out.writeNull();
+                return;
+            }
+
+            Integer code = codes.get(value);
+            if (code == null) {
+                throw new NoCodeException();
+            }
+            out.writeVarLong(code);
+        }
+
+        E read(BinaryInput in) {
+            int code = (int) in.readVarLong();
+            if (code > constants.length) {
+                throw new IllegalArgumentException("Unknown code " + code);
+            }
+
+            return code == 0 ? null : constants[code - 1];
+        }
+    }
+
+    private static final class NoCodeException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        NoCodeException() {
+            super(null, null, false, false);
+        }
+    }
+}
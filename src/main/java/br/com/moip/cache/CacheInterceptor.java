@@ -0,0 +1,61 @@
+package br.com.moip.cache;
+
+import br.com.moip.event.Call;
+import br.com.moip.interceptor.Interceptor;
+
+/**
+ * Answers cacheable calls from the {@link ResourceCache} without reaching the API while the
+ * resource is fresh. Once it expired, the call asks the API whether it changed through the
+ * validators it came with, and a 304 brings the cached resource back. New responses are stored
+ * with their {@code ETag} and {@code Last-Modified}.
+ */
+public class CacheInterceptor implements Interceptor {
+
+    private final ResourceCache cache;
+
+    public CacheInterceptor(ResourceCache cache) {
+        this.cache = cache;
+    }
+
+    public ResourceCache getCache() {
+        return cache;
+    }
+
+    @Override
+    public <T> T intercept(Chain<T> chain) {
+        CacheKey key = chain.getCacheKey();
+        Class<T> type = chain.getResponseType();
+        Call call = chain.call();
+
+        if (key == null || type == null || !"GET".equals(call.getMethod())) {
+            return chain.proceed();
+        }
+
+        T cached = cache.get(key, type);
+        if (cached != null) {
+            call.setCacheHit(true);
+            return cached;
+        }
+
+        CachedResource<T> stale = cache.getStale(key, type);
+        if (stale != null) {
+            Validators validators = stale.getValidators();
+            if (validators.getEtag() != null) call.setHeader("If-None-Match", validators.getEtag());
+            if (validators.getLastModified() != null) call.setHeader("If-Modified-Since", validators.getLastModified());
+        }
+
+        T result = chain.proceed();
+
+        if (call.getStatus() == 304 && stale != null) {
+            call.setCacheHit(true);
+            return cache.revalidated(stale);
+        }
+
+        if (call.getStatus() >= 200 && call.getStatus() < 300) {
+            Validators validators = Validators.of(chain.getResponseHeader("ETag"), chain.getResponseHeader("Last-Modified"));
+            cache.put(key, result, (int) call.getResponseBytes(), validators);
+        }
+
+        return result;
+    }
+}
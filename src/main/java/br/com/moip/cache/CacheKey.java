@@ -0,0 +1,91 @@
+package br.com.moip.cache;
+
+import br.com.moip.authentication.Authentication;
+import br.com.moip.authentication.BasicAuth;
+import br.com.moip.authentication.OAuth;
+
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public final class CacheKey {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String account;
+    private final ResourceType type;
+    private final String id;
+    private final int hash;
+
+    public CacheKey(final String account, final ResourceType type, final String id) {
+        this.account = account;
+        this.type = type;
+        this.id = id;
+        this.hash = 31 * (31 * account.hashCode() + type.hashCode()) + id.hashCode();
+    }
+
+    /**
+     * Identifies the account behind an endpoint and a set of credentials without keeping the
+     * credentials themselves in the key.
+     */
+    public static String account(final String endpoint, final Authentication authentication) {
+        String credentials;
+
+        if (authentication instanceof BasicAuth) {
+            credentials = ((BasicAuth) authentication).getToken();
+        } else if (authentication instanceof OAuth) {
+            credentials = ((OAuth) authentication).getAccessToken();
+        } else {
+            credentials = String.valueOf(System.identityHashCode(authentication));
+        }
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest((endpoint + '|' + credentials).getBytes(UTF_8));
+            char[] hex = new char[16];
+            for (int i = 0; i < 8; i++) {
+                hex[i * 2] = HEX[(digest[i] >> 4) & 0xf];
+                hex[i * 2 + 1] = HEX[digest[i] & 0xf];
+            }
+
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public String getAccount() {
+        return account;
+    }
+
+    public ResourceType getType() {
+        return type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CacheKey)) return false;
+
+        CacheKey other = (CacheKey) o;
+        return hash == other.hash && type == other.type && id.equals(other.id) && account.equals(other.account);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("CacheKey{")
+                .append("account='").append(account).append('\'')
+                .append(", type=").append(type)
+                .append(", id='").append(id).append('\'')
+                .append('}').toString();
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.moip.cache;
+
+public interface CachePolicy {
+
+    /**
+     * @return for how long the resource may be served from the cache, in milliseconds, or
+     * {@link ResourceCache#FOREVER} to pin it
+     */
+    long ttl(ResourceType type, Object resource, long defaultTtlMillis);
+}
@@ -0,0 +1,31 @@
+package br.com.moip.cache;
+
+/**
+ * An expired resource that can still be revalidated with the API.
+ */
+public final class CachedResource<T> {
+
+    private final CacheKey key;
+    private final T resource;
+    private final Validators validators;
+    final long bytes;
+
+    CachedResource(final CacheKey key, final T resource, final Validators validators, final long bytes) {
+        this.key = key;
+        this.resource = resource;
+        this.validators = validators;
+        this.bytes = bytes;
+    }
+
+    public CacheKey getKey() {
+        return key;
+    }
+
+    public T getResource() {
+        return resource;
+    }
+
+    public Validators getValidators() {
+        return validators;
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.moip.cache;
+
+import br.com.moip.util.GsonFactory;
+import com.google.gson.Gson;
+
+import java.nio.charset.Charset;
+
+public class JsonResourceCodec implements ResourceCodec {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final Gson gson = GsonFactory.gson();
+
+    @Override
+    public String getName() {
+        return "json";
+    }
+
+    @Override
+    public byte[] encode(Object resource) {
+        return gson.toJson(resource).getBytes(UTF_8);
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        return gson.fromJson(new String(bytes, UTF_8), type);
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.moip.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps resources as UTF-8 encoded JSON, which is far smaller than the object graph, and binds
+ * them again on every read.
+ */
+public class JsonResourceStore implements ResourceStore {
+
+    private final ConcurrentMap<CacheKey, byte[]> resources = new ConcurrentHashMap<>();
+    private final ResourceCodec codec = new JsonResourceCodec();
+
+    @Override
+    public void put(CacheKey key, Object resource) {
+        resources.put(key, codec.encode(resource));
+    }
+
+    @Override
+    public <T> T get(CacheKey key, Class<T> type) {
+        byte[] encoded = resources.get(key);
+
+        return encoded == null ? null : codec.decode(encoded, type);
+    }
+
+    @Override
+    public void remove(CacheKey key) {
+        resources.remove(key);
+    }
+
+    @Override
+    public int size() {
+        return resources.size();
+    }
+}
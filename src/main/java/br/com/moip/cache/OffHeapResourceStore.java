@@ -0,0 +1,381 @@
+package br.com.moip.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Keeps encoded resources outside the Java heap, either in a direct buffer or in a memory-mapped
+ * file that is read back on the next start. Resources are only decoded when they are read.
+ *
+ * Records are appended one after the other and found through an open-addressing index from the
+ * cache key to the record offset. Replaced and removed records are marked dead and their space
+ * is reclaimed by compacting the buffer once it fills up; when even that isn't enough the
+ * resource is simply not stored.
+ */
+public class OffHeapResourceStore implements ResourceStore, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OffHeapResourceStore.class);
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final int MAGIC = 0x4d6f6970;
+    private static final int FORMAT_VERSION = 1;
+
+    // magic, format version, codec, write position
+    private static final int HEADER_BYTES = 16;
+    private static final int WRITE_POSITION = 12;
+
+    // record length, state, key length
+    private static final int RECORD_HEADER_BYTES = 7;
+    private static final byte LIVE = 1;
+    private static final byte DEAD = 0;
+
+    private static final int EMPTY = 0;
+    private static final int TOMBSTONE = -1;
+
+    private final ByteBuffer buffer;
+    private final ResourceCodec codec;
+    private final RandomAccessFile file;
+
+    private int[] offsets = new int[1024];
+    private int[] hashes = new int[1024];
+    private int live;
+    private int tombstones;
+    private int writePosition;
+    private long deadBytes;
+
+    private OffHeapResourceStore(final ByteBuffer buffer, final ResourceCodec codec, final RandomAccessFile file) {
+        this.buffer = buffer;
+        this.codec = codec;
+        this.file = file;
+
+        if (!load()) {
+            reset();
+        }
+    }
+
+    public static OffHeapResourceStore direct(final int capacityBytes, final ResourceCodec codec) {
+        return new OffHeapResourceStore(ByteBuffer.allocateDirect(capacityBytes), codec, null);
+    }
+
+    /**
+     * Opens the store kept in the file, creating it when needed. A file written with another
+     * codec or format is discarded.
+     */
+    public static OffHeapResourceStore mapped(final File path, final int capacityBytes, final ResourceCodec codec) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(path, "rw");
+
+        try {
+            MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacityBytes);
+
+            return new OffHeapResourceStore(buffer, codec, file);
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void put(CacheKey key, Object resource) {
+        byte[] name = keyBytes(key);
+        byte[] value = codec.encode(resource);
+        int length = RECORD_HEADER_BYTES + name.length + value.length;
+
+        synchronized (this) {
+            int slot = find(name, hash(name));
+            if (slot >= 0) {
+                kill(slot);
+            }
+
+            if (writePosition + length > buffer.capacity()) {
+                compact();
+            }
+
+            if (writePosition + length > buffer.capacity()) {
+                LOGGER.debug("No room left for {} ({} bytes)", key, length);
+                return;
+            }
+
+            buffer.putInt(writePosition, length);
+            buffer.put(writePosition + 4, LIVE);
+            buffer.putShort(writePosition + 5, (short) name.length);
+            write(writePosition + RECORD_HEADER_BYTES, name);
+            write(writePosition + RECORD_HEADER_BYTES + name.length, value);
+
+            index(writePosition, hash(name));
+            writePosition += length;
+            buffer.putInt(WRITE_POSITION, writePosition);
+        }
+    }
+
+    @Override
+    public <T> T get(CacheKey key, Class<T> type) {
+        byte[] name = keyBytes(key);
+        byte[] value;
+
+        synchronized (this) {
+            int slot = find(name, hash(name));
+            if (slot < 0) {
+                return null;
+            }
+
+            int offset = offsets[slot];
+            int valueOffset = offset + RECORD_HEADER_BYTES + name.length;
+            value = new byte[buffer.getInt(offset) - RECORD_HEADER_BYTES - name.length];
+            read(valueOffset, value);
+        }
+
+        return codec.decode(value, type);
+    }
+
+    @Override
+    public synchronized void remove(CacheKey key) {
+        byte[] name = keyBytes(key);
+        int slot = find(name, hash(name));
+
+        if (slot >= 0) {
+            kill(slot);
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        return live;
+    }
+
+    public synchronized int getUsedBytes() {
+        return writePosition;
+    }
+
+    public int getCapacityBytes() {
+        return buffer.capacity();
+    }
+
+    public synchronized void clear() {
+        reset();
+    }
+
+    /**
+     * Writes the mapped pages back to the file and releases it. A direct store has nothing to
+     * release.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (file != null) {
+            ((MappedByteBuffer) buffer).force();
+            file.close();
+        }
+    }
+
+    private boolean load() {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION || buffer.getInt(8) != codec.getName().hashCode()) {
+            return false;
+        }
+
+        int end = buffer.getInt(WRITE_POSITION);
+        if (end < HEADER_BYTES || end > buffer.capacity()) {
+            return false;
+        }
+
+        writePosition = HEADER_BYTES;
+        while (writePosition < end) {
+            int length = buffer.getInt(writePosition);
+            if (length < RECORD_HEADER_BYTES || writePosition + length > end) {
+                LOGGER.debug("Discarding records after a corrupt one at {}", writePosition);
+                break;
+            }
+
+            if (buffer.get(writePosition + 4) == LIVE) {
+                index(writePosition, hash(recordKey(writePosition)));
+            } else {
+                deadBytes += length;
+            }
+            writePosition += length;
+        }
+        buffer.putInt(WRITE_POSITION, writePosition);
+
+        return true;
+    }
+
+    private void reset() {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, FORMAT_VERSION);
+        buffer.putInt(8, codec.getName().hashCode());
+        buffer.putInt(WRITE_POSITION, HEADER_BYTES);
+
+        writePosition = HEADER_BYTES;
+        deadBytes = 0;
+        clearIndex();
+    }
+
+    /**
+     * Slides every live record over the dead ones. Records only ever move towards the start of
+     * the buffer, so they can be copied in place.
+     */
+    private void compact() {
+        if (deadBytes == 0) {
+            return;
+        }
+
+        int read = HEADER_BYTES;
+        int write = HEADER_BYTES;
+        byte[] record = new byte[0];
+
+        clearIndex();
+
+        while (read < writePosition) {
+            int length = buffer.getInt(read);
+
+            if (buffer.get(read + 4) == LIVE) {
+                if (read != write) {
+                    if (record.length < length) record = new byte[length];
+                    ByteBuffer source = buffer.duplicate();
+                    source.position(read);
+                    source.get(record, 0, length);
+                    ByteBuffer target = buffer.duplicate();
+                    target.position(write);
+                    target.put(record, 0, length);
+                }
+                index(write, hash(recordKey(write)));
+                write += length;
+            }
+            read += length;
+        }
+
+        writePosition = write;
+        deadBytes = 0;
+        buffer.putInt(WRITE_POSITION, writePosition);
+    }
+
+    private void kill(int slot) {
+        int offset = offsets[slot];
+
+        buffer.put(offset + 4, DEAD);
+        deadBytes += buffer.getInt(offset);
+        offsets[slot] = TOMBSTONE;
+        live--;
+        tombstones++;
+    }
+
+    private int find(byte[] name, int hash) {
+        int mask = offsets.length - 1;
+
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int offset = offsets[slot];
+
+            if (offset == EMPTY) {
+                return -1;
+            }
+
+            if (offset != TOMBSTONE && hashes[slot] == hash && keyEquals(offset, name)) {
+                return slot;
+            }
+        }
+    }
+
+    private void index(int offset, int hash) {
+        if ((live + tombstones + 1) * 2 > offsets.length) {
+            rehash();
+        }
+
+        int mask = offsets.length - 1;
+        int slot = hash & mask;
+        while (offsets[slot] != EMPTY && offsets[slot] != TOMBSTONE) {
+            slot = (slot + 1) & mask;
+        }
+
+        if (offsets[slot] == TOMBSTONE) {
+            tombstones--;
+        }
+        offsets[slot] = offset;
+        hashes[slot] = hash;
+        live++;
+    }
+
+    private void rehash() {
+        int[] oldOffsets = offsets;
+        int[] oldHashes = hashes;
+        int capacity = oldOffsets.length;
+        while ((live + 1) * 4 > capacity) {
+            capacity *= 2;
+        }
+
+        // Always new arrays, as the entries are read back from the old ones
+        offsets = new int[capacity];
+        hashes = new int[capacity];
+        live = 0;
+        tombstones = 0;
+
+        for (int i = 0; i < oldOffsets.length; i++) {
+            if (oldOffsets[i] != EMPTY && oldOffsets[i] != TOMBSTONE) {
+                index(oldOffsets[i], oldHashes[i]);
+            }
+        }
+    }
+
+    private void clearIndex() {
+        Arrays.fill(offsets, EMPTY);
+        live = 0;
+        tombstones = 0;
+    }
+
+    private boolean keyEquals(int offset, byte[] name) {
+        if (buffer.getShort(offset + 5) != name.length) {
+            return false;
+        }
+
+        int start = offset + RECORD_HEADER_BYTES;
+        for (int i = 0; i < name.length; i++) {
+            if (buffer.get(start + i) != name[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private byte[] recordKey(int offset) {
+        byte[] name = new byte[buffer.getShort(offset + 5)];
+        read(offset + RECORD_HEADER_BYTES, name);
+
+        return name;
+    }
+
+    private void read(int offset, byte[] target) {
+        ByteBuffer source = buffer.duplicate();
+        source.position(offset);
+        source.get(target);
+    }
+
+    private void write(int offset, byte[] source) {
+        ByteBuffer target = buffer.duplicate();
+        target.position(offset);
+        target.put(source);
+    }
+
+    private static byte[] keyBytes(CacheKey key) {
+        return new StringBuilder(key.getAccount()).append('/')
+                .append(key.getType().name()).append('/')
+                .append(key.getId()).toString().getBytes(UTF_8);
+    }
+
+    // FNV-1a, stable across restarts unlike the hash of the key's enum
+    private static int hash(byte[] name) {
+        int hash = 0x811c9dc5;
+        for (byte b : name) {
+            hash ^= b & 0xff;
+            hash *= 0x01000193;
+        }
+
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,608 @@
+package br.com.moip.cache;
+
+import br.com.moip.resource.Customer;
+import br.com.moip.resource.FundingInstrument;
+import br.com.moip.resource.Order;
+import br.com.moip.resource.Payment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory read-through cache for resources fetched by id. Entries are kept in least recently
+ * used order and evicted once either the entry count or the estimated size goes over its bound.
+ * Every resource type has its own time to live; a type with no time to live is not cached. A
+ * {@link CachePolicy} may choose the time to live from the resource itself, and resources it pins
+ * are moved to the secondary {@link ResourceStore}, when there is one, instead of being dropped.
+ * Expired resources that came with {@link Validators} are kept until evicted so they can be
+ * revalidated instead of downloaded again. Orders embed their payments and customers their funding
+ * instruments, so invalidating one of them also drops the cached resources that embed it or that
+ * it embeds.
+ *
+ * The cache can be written to a snapshot file, on shutdown or periodically through
+ * {@link #snapshotTask(File, ResourceCodec)}, and restored from it when the next process starts.
+ * Customers are cached with their funding instruments, so those lookups come back warm as well.
+ *
+ * The same instance is handed to every caller that hits the cache, so cached resources should be
+ * treated as read only.
+ */
+public class ResourceCache {
+
+    public static final int DEFAULT_MAXIMUM_ENTRIES = 10000;
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    public static final long FOREVER = Long.MAX_VALUE;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResourceCache.class);
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int SNAPSHOT_MAGIC = 0x4d6f6943;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    // A decoded resource takes a few times the size of its JSON on the heap
+    private static final int HEAP_BYTES_PER_JSON_CHAR = 4;
+
+    private final LinkedHashMap<CacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<ResourceType, Long> ttls = new EnumMap<>(ResourceType.class);
+    // From the key of a resource embedded in a cached one to the key of the cached one
+    private final Map<CacheKey, CacheKey> owners = new HashMap<>();
+
+    private int maximumEntries = DEFAULT_MAXIMUM_ENTRIES;
+    private long maximumBytes = Long.MAX_VALUE;
+    private long estimatedBytes;
+    private CachePolicy policy;
+    private ResourceStore secondaryStore;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong secondaryHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+
+    public ResourceCache() {
+        for (ResourceType type : ResourceType.values()) {
+            ttls.put(type, DEFAULT_TTL_MILLIS);
+        }
+    }
+
+    public ResourceCache maximumEntries(int maximumEntries) {
+        this.maximumEntries = maximumEntries;
+
+        return this;
+    }
+
+    public ResourceCache maximumBytes(long maximumBytes) {
+        this.maximumBytes = maximumBytes;
+
+        return this;
+    }
+
+    public ResourceCache ttl(ResourceType type, long duration, TimeUnit unit) {
+        ttls.put(type, unit.toMillis(duration));
+
+        return this;
+    }
+
+    public ResourceCache policy(CachePolicy policy) {
+        this.policy = policy;
+
+        return this;
+    }
+
+    public ResourceCache secondaryStore(ResourceStore secondaryStore) {
+        this.secondaryStore = secondaryStore;
+
+        return this;
+    }
+
+    public ResourceStore getSecondaryStore() {
+        return secondaryStore;
+    }
+
+    public boolean isCached(ResourceType type) {
+        return ttls.get(type) > 0;
+    }
+
+    public <T> T get(CacheKey key, Class<T> type) {
+        Entry entry;
+
+        synchronized (this) {
+            entry = entries.get(key);
+
+            if (entry != null && entry.expiresAt <= now()) {
+                if (entry.validators == null) {
+                    remove(key);
+                }
+                entry = null;
+            }
+        }
+
+        if (entry != null) {
+            hits.incrementAndGet();
+
+            return type.cast(entry.value);
+        }
+
+        T stored = secondaryStore == null ? null : secondaryStore.get(key, type);
+        if (stored != null) {
+            hits.incrementAndGet();
+            secondaryHits.incrementAndGet();
+
+            return stored;
+        }
+
+        misses.incrementAndGet();
+
+        return null;
+    }
+
+    /**
+     * @return the expired resource stored under the key, or null when there is none or it can't be
+     * revalidated
+     */
+    public synchronized <T> CachedResource<T> getStale(CacheKey key, Class<T> type) {
+        Entry entry = entries.get(key);
+
+        if (entry == null || entry.validators == null || entry.expiresAt > now()) {
+            return null;
+        }
+
+        return new CachedResource<>(key, type.cast(entry.value), entry.validators, entry.bytes);
+    }
+
+    /**
+     * Marks a stale resource as current again, after the API answered that it hasn't changed.
+     */
+    public <T> T revalidated(CachedResource<T> stale) {
+        revalidations.incrementAndGet();
+        store(stale.getKey(), stale.getResource(), stale.bytes, stale.getValidators());
+
+        return stale.getResource();
+    }
+
+    public void put(CacheKey key, Object value, int jsonLength) {
+        put(key, value, jsonLength, null);
+    }
+
+    public void put(CacheKey key, Object value, int jsonLength, Validators validators) {
+        store(key, value, (long) jsonLength * HEAP_BYTES_PER_JSON_CHAR, validators);
+    }
+
+    private void store(CacheKey key, Object value, long bytes, Validators validators) {
+        long ttl = ttls.get(key.getType());
+
+        if (value == null || ttl <= 0) {
+            return;
+        }
+
+        if (policy != null) {
+            ttl = policy.ttl(key.getType(), value, ttl);
+        }
+
+        boolean pinned = ttl == FOREVER;
+        Entry entry = new Entry(value, pinned ? FOREVER : now() + ttl, bytes, pinned, validators);
+        Map<CacheKey, Object> spilled;
+
+        synchronized (this) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                estimatedBytes -= previous.bytes;
+                unindex(key, previous.value);
+            }
+            estimatedBytes += entry.bytes;
+            index(key, value);
+
+            spilled = evict();
+        }
+
+        for (Map.Entry<CacheKey, Object> resource : spilled.entrySet()) {
+            secondaryStore.put(resource.getKey(), resource.getValue());
+        }
+    }
+
+    /**
+     * Drops the resource, the cached resource that embeds it and the ones it embeds.
+     */
+    public void invalidate(CacheKey key) {
+        List<CacheKey> keys = new ArrayList<>(4);
+        keys.add(key);
+
+        synchronized (this) {
+            for (int i = 0; i < keys.size(); i++) {
+                CacheKey current = keys.get(i);
+                addAbsent(keys, owners.get(current));
+
+                Entry removed = remove(current);
+                if (removed != null) {
+                    invalidations.incrementAndGet();
+                    for (CacheKey embedded : embedded(current, removed.value)) {
+                        addAbsent(keys, embedded);
+                    }
+                }
+            }
+        }
+
+        if (secondaryStore != null) {
+            for (CacheKey invalidated : keys) {
+                secondaryStore.remove(invalidated);
+            }
+        }
+    }
+
+    /**
+     * Writes every cached resource, least recently used first, to the file. The file is replaced
+     * atomically so a crash midway leaves the previous snapshot in place.
+     *
+     * @return the number of resources written
+     */
+    public int snapshot(File file, ResourceCodec codec) throws IOException {
+        List<Map.Entry<CacheKey, Entry>> snapshot;
+
+        synchronized (this) {
+            snapshot = new ArrayList<>(entries.size());
+            for (Map.Entry<CacheKey, Entry> entry : entries.entrySet()) {
+                snapshot.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        File partial = new File(file.getPath() + ".partial");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(partial)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            writeString(out, codec.getName());
+            out.writeInt(snapshot.size());
+
+            for (Map.Entry<CacheKey, Entry> cached : snapshot) {
+                CacheKey key = cached.getKey();
+                Entry entry = cached.getValue();
+
+                writeString(out, key.getType().name());
+                writeString(out, key.getAccount());
+                writeString(out, key.getId());
+                out.writeLong(entry.expiresAt);
+                out.writeBoolean(entry.pinned);
+                out.writeLong(entry.bytes);
+                writeString(out, entry.validators == null ? null : entry.validators.getEtag());
+                writeString(out, entry.validators == null ? null : entry.validators.getLastModified());
+
+                byte[] encoded = codec.encode(entry.value);
+                out.writeInt(encoded.length);
+                out.write(encoded);
+            }
+        }
+
+        Files.move(partial.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        return snapshot.size();
+    }
+
+    /**
+     * Maps a snapshot written by {@link #snapshot(File, ResourceCodec)} and caches the resources
+     * in it that are still fresh, or that can still be revalidated. Resources already cached are
+     * kept, and a snapshot of another format or codec is ignored.
+     *
+     * @return the number of resources restored
+     */
+    public int restore(File file, ResourceCodec codec) throws IOException {
+        if (!file.isFile()) {
+            return 0;
+        }
+
+        ByteBuffer buffer;
+        try (RandomAccessFile snapshot = new RandomAccessFile(file, "r")) {
+            buffer = snapshot.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, snapshot.length());
+        }
+
+        try {
+            if (buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != SNAPSHOT_VERSION || !codec.getName().equals(readString(buffer))) {
+                LOGGER.debug("Ignoring snapshot {} written in another format", file);
+                return 0;
+            }
+
+            int restored = 0;
+            long now = now();
+
+            for (int count = buffer.getInt(); count > 0; count--) {
+                String type = readString(buffer);
+                String account = readString(buffer);
+                String id = readString(buffer);
+                long expiresAt = buffer.getLong();
+                boolean pinned = buffer.get() != 0;
+                long bytes = buffer.getLong();
+                if (type == null || account == null || id == null || bytes < 0) {
+                    throw new IOException("Corrupt cache snapshot " + file);
+                }
+                Validators validators = Validators.of(readString(buffer), readString(buffer));
+                byte[] encoded = new byte[checkLength(buffer.getInt(), buffer)];
+                buffer.get(encoded);
+
+                ResourceType resourceType = resourceType(type);
+                if (resourceType == null || !isCached(resourceType) || (expiresAt <= now && validators == null)) {
+                    continue;
+                }
+
+                Object value;
+                try {
+                    value = codec.decode(encoded, resourceType.getType());
+                } catch (RuntimeException e) {
+                    LOGGER.debug("Skipping {} {} that could not be decoded", resourceType, id, e);
+                    continue;
+                }
+
+                CacheKey key = new CacheKey(account, resourceType, id);
+                Entry entry = new Entry(value, expiresAt, bytes, pinned, validators);
+
+                synchronized (this) {
+                    if (!entries.containsKey(key)) {
+                        entries.put(key, entry);
+                        estimatedBytes += entry.bytes;
+                        index(key, value);
+                        restored++;
+                    }
+                }
+            }
+
+            Map<CacheKey, Object> spilled;
+            synchronized (this) {
+                spilled = evict();
+            }
+            for (Map.Entry<CacheKey, Object> resource : spilled.entrySet()) {
+                secondaryStore.put(resource.getKey(), resource.getValue());
+            }
+
+            return restored;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Corrupt cache snapshot " + file, e);
+        }
+    }
+
+    /**
+     * @return a task that snapshots the cache and logs failures, for a scheduled executor or a
+     * shutdown hook
+     */
+    public Runnable snapshotTask(final File file, final ResourceCodec codec) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    int written = snapshot(file, codec);
+                    LOGGER.debug("Wrote {} cached resources to {}", written, file);
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.warn("Could not snapshot the resource cache to {}", file, e);
+                }
+            }
+        };
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        owners.clear();
+        estimatedBytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getSecondaryHitCount() {
+        return secondaryHits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.get();
+    }
+
+    public long getRevalidationCount() {
+        return revalidations.get();
+    }
+
+    public double getHitRatio() {
+        long hits = getHitCount();
+        long requests = hits + getMissCount();
+
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    private Entry remove(CacheKey key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            estimatedBytes -= removed.bytes;
+            unindex(key, removed.value);
+        }
+
+        return removed;
+    }
+
+    private Map<CacheKey, Object> evict() {
+        Map<CacheKey, Object> spilled = null;
+        Iterator<Map.Entry<CacheKey, Entry>> eldest = entries.entrySet().iterator();
+
+        while ((entries.size() > maximumEntries || estimatedBytes > maximumBytes) && eldest.hasNext()) {
+            Map.Entry<CacheKey, Entry> evicted = eldest.next();
+            estimatedBytes -= evicted.getValue().bytes;
+            eldest.remove();
+            evictions.incrementAndGet();
+
+            if (evicted.getValue().pinned && secondaryStore != null) {
+                if (spilled == null) spilled = new LinkedHashMap<>();
+                spilled.put(evicted.getKey(), evicted.getValue().value);
+            } else {
+                unindex(evicted.getKey(), evicted.getValue().value);
+            }
+        }
+
+        return spilled == null ? Collections.<CacheKey, Object>emptyMap() : spilled;
+    }
+
+    private void index(CacheKey key, Object value) {
+        for (CacheKey embedded : embedded(key, value)) {
+            owners.put(embedded, key);
+        }
+    }
+
+    private void unindex(CacheKey key, Object value) {
+        for (CacheKey embedded : embedded(key, value)) {
+            if (key.equals(owners.get(embedded))) {
+                owners.remove(embedded);
+            }
+        }
+    }
+
+    private static List<CacheKey> embedded(CacheKey key, Object value) {
+        List<CacheKey> embedded = null;
+
+        if (value instanceof Order && ((Order) value).getPayments() != null) {
+            for (Payment payment : ((Order) value).getPayments()) {
+                embedded = addEmbedded(embedded, key, ResourceType.PAYMENT, payment.getId());
+            }
+        } else if (value instanceof Customer) {
+            Customer customer = (Customer) value;
+            if (customer.getFundingInstruments() != null) {
+                for (FundingInstrument fundingInstrument : customer.getFundingInstruments()) {
+                    embedded = addEmbedded(embedded, key, fundingInstrument);
+                }
+            }
+            embedded = addEmbedded(embedded, key, customer.getFundingInstrument());
+        }
+
+        return embedded == null ? Collections.<CacheKey>emptyList() : embedded;
+    }
+
+    private static List<CacheKey> addEmbedded(List<CacheKey> embedded, CacheKey key, FundingInstrument fundingInstrument) {
+        if (fundingInstrument == null || fundingInstrument.getCreditCard() == null) {
+            return embedded;
+        }
+
+        return addEmbedded(embedded, key, ResourceType.FUNDING_INSTRUMENT, fundingInstrument.getCreditCard().getId());
+    }
+
+    private static List<CacheKey> addEmbedded(List<CacheKey> embedded, CacheKey key, ResourceType type, String id) {
+        if (id == null) {
+            return embedded;
+        }
+
+        List<CacheKey> keys = embedded == null ? new ArrayList<CacheKey>(2) : embedded;
+        keys.add(new CacheKey(key.getAccount(), type, id));
+
+        return keys;
+    }
+
+    private static void addAbsent(List<CacheKey> keys, CacheKey key) {
+        if (key != null && !keys.contains(key)) {
+            keys.add(key);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        byte[] encoded = value.getBytes(UTF_8);
+        out.writeInt(encoded.length);
+        out.write(encoded);
+    }
+
+    private static String readString(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+
+        byte[] encoded = new byte[checkLength(length, buffer)];
+        buffer.get(encoded);
+
+        return new String(encoded, UTF_8);
+    }
+
+    /**
+     * Checks a length read from a snapshot against what is left of it, so a corrupt one can't ask
+     * for a negative or huge array.
+     */
+    private static int checkLength(int length, ByteBuffer buffer) throws IOException {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Corrupt cache snapshot: length " + length + " at " + buffer.position());
+        }
+
+        return length;
+    }
+
+    private static ResourceType resourceType(String name) {
+        try {
+            return ResourceType.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("ResourceCache{")
+                .append("size=").append(size())
+                .append(", estimatedBytes=").append(getEstimatedBytes())
+                .append(", hits=").append(getHitCount())
+                .append(", misses=").append(getMissCount())
+                .append(", evictions=").append(getEvictionCount())
+                .append('}').toString();
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+        private final long expiresAt;
+        private final long bytes;
+        private final boolean pinned;
+        private final Validators validators;
+
+        Entry(Object value, long expiresAt, long bytes, boolean pinned, Validators validators) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.bytes = bytes;
+            this.pinned = pinned;
+            this.validators = validators;
+        }
+    }
+}
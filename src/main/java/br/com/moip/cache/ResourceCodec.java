@@ -0,0 +1,17 @@
+package br.com.moip.cache;
+
+/**
+ * Turns resources into bytes for the stores that keep them outside the heap.
+ */
+public interface ResourceCodec {
+
+    /**
+     * @return a name that identifies the encoding, so bytes written with another codec are never
+     * decoded with this one
+     */
+    String getName();
+
+    byte[] encode(Object resource);
+
+    <T> T decode(byte[] bytes, Class<T> type);
+}
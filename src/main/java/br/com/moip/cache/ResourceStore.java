@@ -0,0 +1,15 @@
+package br.com.moip.cache;
+
+/**
+ * Secondary storage for pinned resources that no longer fit in the {@link ResourceCache}.
+ */
+public interface ResourceStore {
+
+    void put(CacheKey key, Object resource);
+
+    <T> T get(CacheKey key, Class<T> type);
+
+    void remove(CacheKey key);
+
+    int size();
+}
@@ -0,0 +1,30 @@
+package br.com.moip.cache;
+
+import br.com.moip.resource.BankAccount;
+import br.com.moip.resource.Customer;
+import br.com.moip.resource.Entry;
+import br.com.moip.resource.FundingInstrument;
+import br.com.moip.resource.Invoice;
+import br.com.moip.resource.Order;
+import br.com.moip.resource.Payment;
+
+public enum ResourceType {
+    ORDER(Order.class),
+    PAYMENT(Payment.class),
+    CUSTOMER(Customer.class),
+    INVOICE(Invoice.class),
+    BANK_ACCOUNT(BankAccount.class),
+    ENTRY(Entry.class),
+    // Not fetched on its own, but embedded in the customers it belongs to
+    FUNDING_INSTRUMENT(FundingInstrument.class);
+
+    private final Class<?> type;
+
+    ResourceType(Class<?> type) {
+        this.type = type;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.moip.cache;
+
+import br.com.moip.resource.Entry;
+import br.com.moip.resource.Order;
+import br.com.moip.resource.OrderStatus;
+import br.com.moip.resource.Payment;
+import br.com.moip.resource.PaymentStatus;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pins orders, payments and entries that reached a final state and keeps the ones still moving
+ * only for a short time.
+ */
+public class TerminalStatePolicy implements CachePolicy {
+
+    public static final long DEFAULT_IN_FLIGHT_TTL_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private static final Set<OrderStatus> FINAL_ORDER_STATUS = EnumSet.of(OrderStatus.NOT_PAID, OrderStatus.REVERTED);
+    private static final Set<PaymentStatus> FINAL_PAYMENT_STATUS = EnumSet.of(
+            PaymentStatus.SETTLED, PaymentStatus.REFUNDED, PaymentStatus.REVERTED, PaymentStatus.CANCELLED);
+
+    private final long inFlightTtlMillis;
+
+    public TerminalStatePolicy() {
+        this(DEFAULT_IN_FLIGHT_TTL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public TerminalStatePolicy(final long inFlightTtl, final TimeUnit unit) {
+        this.inFlightTtlMillis = unit.toMillis(inFlightTtl);
+    }
+
+    public static boolean isFinal(Object resource) {
+        if (resource instanceof Order) {
+            return FINAL_ORDER_STATUS.contains(((Order) resource).getStatus());
+        }
+
+        if (resource instanceof Payment) {
+            return FINAL_PAYMENT_STATUS.contains(((Payment) resource).getStatus());
+        }
+
+        if (resource instanceof Entry) {
+            return ((Entry) resource).getStatus() == Entry.Status.SETTLED;
+        }
+
+        return false;
+    }
+
+    @Override
+    public long ttl(ResourceType type, Object resource, long defaultTtlMillis) {
+        if (isFinal(resource)) {
+            return ResourceCache.FOREVER;
+        }
+
+        if (resource instanceof Order || resource instanceof Payment || resource instanceof Entry) {
+            return Math.min(inFlightTtlMillis, defaultTtlMillis);
+        }
+
+        return defaultTtlMillis;
+    }
+}
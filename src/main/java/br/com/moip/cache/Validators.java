@@ -0,0 +1,39 @@
+package br.com.moip.cache;
+
+/**
+ * The {@code ETag} and {@code Last-Modified} headers a resource was served with, used to ask the
+ * API whether a cached copy is still current.
+ */
+public final class Validators {
+
+    private final String etag;
+    private final String lastModified;
+
+    public Validators(final String etag, final String lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * @return the validators, or null when the response carried none
+     */
+    public static Validators of(String etag, String lastModified) {
+        return etag == null && lastModified == null ? null : new Validators(etag, lastModified);
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("Validators{")
+                .append("etag='").append(etag).append('\'')
+                .append(", lastModified='").append(lastModified).append('\'')
+                .append('}').toString();
+    }
+}
@@ -0,0 +1,199 @@
+package br.com.moip.event;
+
+import java.util.Arrays;
+
+/**
+ * A single request made by {@code Client}, handed to every {@link EventListener} callback of that
+ * request. The client fills in the status, byte counts and connection reuse as the phases go by.
+ * Listeners can keep their own per-call state as an {@link #attach(Class, Object) attachment}
+ * instead of a map keyed by call.
+ */
+public class Call {
+
+    private final String method;
+    private final String path;
+    private final long startNanos;
+    private int status;
+    private boolean connected;
+    private boolean connectionReused;
+    private long requestBytes;
+    private long responseBytes;
+    private int retryCount;
+    private boolean cacheHit;
+    private CharSequence requestBody;
+    private CharSequence responseBody;
+    private Route route;
+    // Pairs of name and value, set by listeners and interceptors
+    private String[] headers;
+    // Pairs of key and value, as a call rarely has more than a couple
+    private Object[] attachments;
+
+    public Call(String method, String path, long startNanos) {
+        this.method = method;
+        this.path = path;
+        this.startNanos = startNanos;
+    }
+
+    public String getMethod() { return method; }
+
+    public String getPath() { return path; }
+
+    /**
+     * @return the {@link System#nanoTime()} at which the call started
+     */
+    public long getStartNanos() { return startNanos; }
+
+    /**
+     * @return the route template of the path, from the {@link RouteTable#shared() shared} table
+     */
+    public Route getRoute() {
+        if (route == null) {
+            route = RouteTable.shared().route(method, path);
+        }
+
+        return route;
+    }
+
+    /**
+     * @return the HTTP status, or zero before the response arrived
+     */
+    public int getStatus() { return status; }
+
+    public void setStatus(int status) { this.status = status; }
+
+    /**
+     * @return whether the current attempt got a connection to the API
+     */
+    public boolean isConnected() { return connected; }
+
+    public void setConnected(boolean connected) { this.connected = connected; }
+
+    public boolean isConnectionReused() { return connectionReused; }
+
+    public void setConnectionReused(boolean connectionReused) { this.connectionReused = connectionReused; }
+
+    public long getRequestBytes() { return requestBytes; }
+
+    public void setRequestBytes(long requestBytes) { this.requestBytes = requestBytes; }
+
+    public long getResponseBytes() { return responseBytes; }
+
+    public void setResponseBytes(long responseBytes) { this.responseBytes = responseBytes; }
+
+    /**
+     * @return how many times the call was retried before this attempt
+     */
+    public int getRetryCount() { return retryCount; }
+
+    public void setRetryCount(int retryCount) { this.retryCount = retryCount; }
+
+    /**
+     * @return whether the response came from the cache, after the server confirmed it was current
+     */
+    public boolean isCacheHit() { return cacheHit; }
+
+    public void setCacheHit(boolean cacheHit) { this.cacheHit = cacheHit; }
+
+    /**
+     * @return the serialized request body, or null when the call had none
+     */
+    public CharSequence getRequestBody() { return requestBody; }
+
+    public void setRequestBody(CharSequence requestBody) { this.requestBody = requestBody; }
+
+    /**
+     * @return the response body as read, or null before it was read or when it was decoded while
+     * read from the connection
+     */
+    public CharSequence getResponseBody() { return responseBody; }
+
+    public void setResponseBody(CharSequence responseBody) { this.responseBody = responseBody; }
+
+    /**
+     * Clears what the previous attempt of a retried call left, before the next one goes out.
+     */
+    public void startAttempt() {
+        status = 0;
+        connected = false;
+        connectionReused = false;
+        responseBytes = 0;
+        responseBody = null;
+    }
+
+    /**
+     * Sends a header with the request, replacing the one set before under the same name. Takes
+     * effect when set from {@link EventListener#callStart(Call)} or an interceptor. A header the
+     * client sets itself, such as {@code Authorization}, can't be replaced.
+     */
+    public void setHeader(String name, String value) {
+        if (headers == null) {
+            headers = new String[] {name, value};
+            return;
+        }
+
+        for (int i = 0; i < headers.length; i += 2) {
+            if (headers[i].equalsIgnoreCase(name)) {
+                headers[i + 1] = value;
+                return;
+            }
+        }
+
+        String[] grown = Arrays.copyOf(headers, headers.length + 2);
+        grown[headers.length] = name;
+        grown[headers.length + 1] = value;
+        headers = grown;
+    }
+
+    /**
+     * @return the headers set by listeners and interceptors, as pairs of name and value, or null when none were
+     */
+    public String[] getHeaders() { return headers; }
+
+    public <T> T attachment(Class<T> key) {
+        if (attachments != null) {
+            for (int i = 0; i < attachments.length; i += 2) {
+                if (attachments[i] == key) {
+                    return key.cast(attachments[i + 1]);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Keeps a value with the call under its class, replacing the previous one.
+     */
+    public <T> void attach(Class<T> key, T value) {
+        if (attachments == null) {
+            attachments = new Object[] {key, value};
+            return;
+        }
+
+        for (int i = 0; i < attachments.length; i += 2) {
+            if (attachments[i] == key) {
+                attachments[i + 1] = value;
+                return;
+            }
+        }
+
+        Object[] grown = Arrays.copyOf(attachments, attachments.length + 2);
+        grown[attachments.length] = key;
+        grown[attachments.length + 1] = value;
+        attachments = grown;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("Call{")
+                .append("method='").append(method).append('\'')
+                .append(", path='").append(path).append('\'')
+                .append(", status=").append(status)
+                .append(", connectionReused=").append(connectionReused)
+                .append(", requestBytes=").append(requestBytes)
+                .append(", responseBytes=").append(responseBytes)
+                .append(", retryCount=").append(retryCount)
+                .append(", cacheHit=").append(cacheHit)
+                .append('}').toString();
+    }
+}
@@ -0,0 +1,136 @@
+package br.com.moip.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hands every callback to several listeners, in order.
+ */
+public class CompositeEventListener extends EventListener {
+
+    private final EventListener[] listeners;
+
+    private final boolean dnsTimed;
+
+    private CompositeEventListener(EventListener[] listeners) {
+        this.listeners = listeners;
+
+        boolean timed = false;
+        for (EventListener listener : listeners) {
+            timed |= listener.isDnsTimed();
+        }
+        this.dnsTimed = timed;
+    }
+
+    /**
+     * @return a listener calling each of the given ones, leaving out nulls and
+     * {@link EventListener#NONE}
+     */
+    public static EventListener of(EventListener... listeners) {
+        List<EventListener> active = new ArrayList<>();
+        for (EventListener listener : listeners) {
+            if (listener != null && listener != NONE) {
+                active.add(listener);
+            }
+        }
+
+        if (active.isEmpty()) {
+            return NONE;
+        }
+        if (active.size() == 1) {
+            return active.get(0);
+        }
+
+        return new CompositeEventListener(active.toArray(new EventListener[active.size()]));
+    }
+
+    @Override
+    public boolean isDnsTimed() {
+        return dnsTimed;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        for (EventListener listener : listeners) listener.callStart(call);
+    }
+
+    @Override
+    public void encodeStart(Call call, long nanoTime) {
+        for (EventListener listener : listeners) listener.encodeStart(call, nanoTime);
+    }
+
+    @Override
+    public void encodeEnd(Call call, long nanoTime, long bodyBytes) {
+        for (EventListener listener : listeners) listener.encodeEnd(call, nanoTime, bodyBytes);
+    }
+
+    @Override
+    public void dnsStart(Call call, long nanoTime, String host) {
+        for (EventListener listener : listeners) listener.dnsStart(call, nanoTime, host);
+    }
+
+    @Override
+    public void dnsEnd(Call call, long nanoTime) {
+        for (EventListener listener : listeners) listener.dnsEnd(call, nanoTime);
+    }
+
+    @Override
+    public void connectStart(Call call, long nanoTime) {
+        for (EventListener listener : listeners) listener.connectStart(call, nanoTime);
+    }
+
+    @Override
+    public void secureConnectStart(Call call, long nanoTime) {
+        for (EventListener listener : listeners) listener.secureConnectStart(call, nanoTime);
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, long nanoTime) {
+        for (EventListener listener : listeners) listener.secureConnectEnd(call, nanoTime);
+    }
+
+    @Override
+    public void connectEnd(Call call, long nanoTime, boolean connectionReused) {
+        for (EventListener listener : listeners) listener.connectEnd(call, nanoTime, connectionReused);
+    }
+
+    @Override
+    public void requestStart(Call call, long nanoTime) {
+        for (EventListener listener : listeners) listener.requestStart(call, nanoTime);
+    }
+
+    @Override
+    public void requestEnd(Call call, long nanoTime, long bodyBytes) {
+        for (EventListener listener : listeners) listener.requestEnd(call, nanoTime, bodyBytes);
+    }
+
+    @Override
+    public void responseStart(Call call, long nanoTime, int status) {
+        for (EventListener listener : listeners) listener.responseStart(call, nanoTime, status);
+    }
+
+    @Override
+    public void responseEnd(Call call, long nanoTime, long bodyBytes) {
+        for (EventListener listener : listeners) listener.responseEnd(call, nanoTime, bodyBytes);
+    }
+
+    @Override
+    public void decodeStart(Call call, long nanoTime) {
+        for (EventListener listener : listeners) listener.decodeStart(call, nanoTime);
+    }
+
+    @Override
+    public void decodeEnd(Call call, long nanoTime) {
+        for (EventListener listener : listeners) listener.decodeEnd(call, nanoTime);
+    }
+
+    @Override
+    public void callEnd(Call call, long nanoTime) {
+        for (EventListener listener : listeners) listener.callEnd(call, nanoTime);
+    }
+
+    @Override
+    public void callFailed(Call call, long nanoTime, Exception e) {
+        for (EventListener listener : listeners) listener.callFailed(call, nanoTime, e);
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.moip.event;
+
+/**
+ * Receives the phases of every request made by {@code Client}, each with the
+ * {@link System#nanoTime()} at which it happened. Override only the callbacks of interest; the
+ * rest do nothing.
+ *
+ * <p>A call goes through {@code callStart}, then {@code encodeStart}/{@code encodeEnd} when it has
+ * a body to serialize, {@code dnsStart}/{@code dnsEnd}, {@code connectStart},
+ * {@code secureConnectStart}/{@code secureConnectEnd} for a new HTTPS connection,
+ * {@code connectEnd}, {@code requestStart}/{@code requestEnd},
+ * {@code responseStart} once the status line arrived, {@code responseEnd} once the body is read,
+ * {@code decodeStart}/{@code decodeEnd}, and finally {@code callEnd} or {@code callFailed}. A call
+ * that fails stops at the phase that failed. When the body is decoded while it is read,
+ * {@code decodeStart} comes before {@code responseEnd}.
+ *
+ * <p>Callbacks run on the calling thread, in the middle of the request, so they should record and
+ * return. Connection reuse is only known for HTTPS; over plain HTTP it is always reported as a new
+ * connection.
+ */
+public abstract class EventListener {
+
+    public static final EventListener NONE = new EventListener() {};
+
+    private final boolean dnsTimed;
+
+    protected EventListener() {
+        dnsTimed = overrides("dnsStart", Call.class, long.class, String.class)
+                || overrides("dnsEnd", Call.class, long.class);
+    }
+
+    /**
+     * @return whether the client should resolve the host itself to report the DNS phase, which it
+     * only does for listeners overriding {@code dnsStart} or {@code dnsEnd}
+     */
+    public boolean isDnsTimed() {
+        return dnsTimed;
+    }
+
+    private boolean overrides(String name, Class<?>... parameters) {
+        try {
+            return getClass().getMethod(name, parameters).getDeclaringClass() != EventListener.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    public void callStart(Call call) {}
+
+    public void encodeStart(Call call, long nanoTime) {}
+
+    public void encodeEnd(Call call, long nanoTime, long bodyBytes) {}
+
+    public void dnsStart(Call call, long nanoTime, String host) {}
+
+    public void dnsEnd(Call call, long nanoTime) {}
+
+    public void connectStart(Call call, long nanoTime) {}
+
+    public void secureConnectStart(Call call, long nanoTime) {}
+
+    public void secureConnectEnd(Call call, long nanoTime) {}
+
+    public void connectEnd(Call call, long nanoTime, boolean connectionReused) {}
+
+    public void requestStart(Call call, long nanoTime) {}
+
+    public void requestEnd(Call call, long nanoTime, long bodyBytes) {}
+
+    public void responseStart(Call call, long nanoTime, int status) {}
+
+    public void responseEnd(Call call, long nanoTime, long bodyBytes) {}
+
+    public void decodeStart(Call call, long nanoTime) {}
+
+    public void decodeEnd(Call call, long nanoTime) {}
+
+    public void callEnd(Call call, long nanoTime) {}
+
+    public void callFailed(Call call, long nanoTime, Exception e) {}
+}
@@ -0,0 +1,45 @@
+package br.com.moip.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Finds the listener that emits JDK Flight Recorder events for every call. It is compiled for
+ * Java 11 into the multi-release part of the jar, so on older runtimes there is none and
+ * {@link #listener()} is {@link EventListener#NONE}.
+ *
+ * <p>The events are {@code br.com.moip.Call}, {@code br.com.moip.Connect} and
+ * {@code br.com.moip.TlsHandshake}, all disabled by default. Enable them in the settings of a
+ * recording, with {@code Recording.enable("br.com.moip.Call")} or an {@code <event>} entry in a
+ * {@code .jfc} file. While they are disabled, or no recording runs, each call only pays for
+ * checking that.
+ */
+public final class FlightRecorderEvents {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlightRecorderEvents.class);
+
+    private static final String LISTENER = "br.com.moip.event.JfrEventListener";
+
+    private static final EventListener INSTANCE = load();
+
+    private FlightRecorderEvents() {}
+
+    public static EventListener listener() {
+        return INSTANCE;
+    }
+
+    public static boolean isAvailable() {
+        return INSTANCE != EventListener.NONE;
+    }
+
+    private static EventListener load() {
+        try {
+            return (EventListener) Class.forName(LISTENER).newInstance();
+        } catch (ClassNotFoundException e) {
+            return EventListener.NONE;
+        } catch (Exception | LinkageError e) {
+            LOGGER.debug("Flight Recorder events are not available", e);
+            return EventListener.NONE;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.moip.event;
+
+/**
+ * The route template of a call, such as {@code GET /v2/orders/{id}}. Routes come from a
+ * {@link RouteTable}, which hands out a single instance per template, so they can be compared by
+ * identity and their {@link #getId() id} used as an array index.
+ */
+public final class Route {
+
+    private final int id;
+    private final String method;
+    private final String template;
+    private final int hash;
+
+    Route(int id, String method, String template, int hash) {
+        this.id = id;
+        this.method = method;
+        this.template = template;
+        this.hash = hash;
+    }
+
+    /**
+     * @return a dense index, unique among the routes of its table
+     */
+    public int getId() { return id; }
+
+    public String getMethod() { return method; }
+
+    public String getTemplate() { return template; }
+
+    int getHash() { return hash; }
+
+    public String getName() {
+        return method + " " + template;
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
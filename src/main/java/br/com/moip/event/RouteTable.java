@@ -0,0 +1,253 @@
+package br.com.moip.event;
+
+import java.util.Arrays;
+
+/**
+ * Turns request paths into {@link Route}s by replacing their identifier segments with
+ * {@code {id}}, so {@code /v2/payments/PAY-1A2B/capture} becomes
+ * {@code /v2/payments/{id}/capture} and the query string is dropped. A segment is taken as
+ * literal when it only has lower case letters, {@code -} and {@code _}, or is a version such as
+ * {@code v2}; anything else, like {@code ORD-HCOWQ2QJKTAT} or {@code 36523041}, is an identifier.
+ *
+ * <p>Looking up a route that is already known scans the path once and allocates nothing: the
+ * template is hashed and compared char by char against the path. Lookups don't lock; only a new
+ * template does. Past {@link #MAXIMUM_ROUTES} templates every new one maps to a single
+ * {@code {other}} route per method, which lookups also find without locking once it exists.
+ */
+public class RouteTable {
+
+    public static final int MAXIMUM_ROUTES = 1024;
+
+    static final String PLACEHOLDER = "{id}";
+    static final String OTHER = "{other}";
+
+    private static final RouteTable SHARED = new RouteTable();
+
+    private volatile Route[] table = new Route[64];
+    private volatile Route[] others = new Route[0];
+    private int count;
+
+    public static RouteTable shared() {
+        return SHARED;
+    }
+
+    public Route route(String method, String path) {
+        int hash = hash(method, path);
+        Route[] routes = table;
+        int mask = routes.length - 1;
+
+        for (int i = hash & mask; routes[i] != null; i = (i + 1) & mask) {
+            Route route = routes[i];
+            if (route.getHash() == hash && matches(route, method, path)) {
+                return route;
+            }
+        }
+
+        for (Route other : others) {
+            if (other.getMethod().equals(method)) {
+                return other;
+            }
+        }
+
+        return add(method, path, hash);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    private synchronized Route add(String method, String path, int hash) {
+        Route[] routes = table;
+        int mask = routes.length - 1;
+        int slot = hash & mask;
+
+        for (; routes[slot] != null; slot = (slot + 1) & mask) {
+            Route route = routes[slot];
+            if (route.getHash() == hash && matches(route, method, path)) {
+                return route;
+            }
+        }
+
+        if (count >= MAXIMUM_ROUTES) {
+            return other(method);
+        }
+
+        Route route = new Route(count, method, template(path), hash);
+        insert(route);
+
+        return route;
+    }
+
+    private Route other(String method) {
+        Route[] current = others;
+        for (Route other : current) {
+            if (other.getMethod().equals(method)) {
+                return other;
+            }
+        }
+
+        Route route = new Route(count, method, OTHER, method.hashCode() * 31 + OTHER.hashCode());
+        insert(route);
+
+        Route[] copy = Arrays.copyOf(current, current.length + 1);
+        copy[current.length] = route;
+        others = copy;
+
+        return route;
+    }
+
+    // Copy on write, so readers always see a fully built table
+    private void insert(Route route) {
+        Route[] routes = table;
+        int length = (count + 1) * 2 > routes.length ? routes.length * 2 : routes.length;
+        Route[] copy = new Route[length];
+
+        for (Route existing : routes) {
+            if (existing != null) {
+                place(copy, existing);
+            }
+        }
+        place(copy, route);
+
+        count++;
+        table = copy;
+    }
+
+    private static void place(Route[] routes, Route route) {
+        int mask = routes.length - 1;
+        int i = route.getHash() & mask;
+        while (routes[i] != null) {
+            i = (i + 1) & mask;
+        }
+        routes[i] = route;
+    }
+
+    static int hash(String method, String path) {
+        int hash = method.hashCode();
+        int length = end(path);
+
+        for (int i = 0; i < length; ) {
+            char c = path.charAt(i);
+            if (c == '/') {
+                hash = hash * 31 + c;
+                i++;
+                continue;
+            }
+
+            int end = segmentEnd(path, i, length);
+            if (isLiteral(path, i, end)) {
+                for (int k = i; k < end; k++) {
+                    hash = hash * 31 + path.charAt(k);
+                }
+            } else {
+                hash = hash * 31 + PLACEHOLDER.hashCode();
+            }
+            i = end;
+        }
+
+        return hash;
+    }
+
+    static boolean matches(Route route, String method, String path) {
+        if (!route.getMethod().equals(method)) {
+            return false;
+        }
+
+        String template = route.getTemplate();
+        int length = end(path);
+        int t = 0;
+
+        for (int i = 0; i < length; ) {
+            char c = path.charAt(i);
+            if (c == '/') {
+                if (t >= template.length() || template.charAt(t) != '/') {
+                    return false;
+                }
+                t++;
+                i++;
+                continue;
+            }
+
+            int end = segmentEnd(path, i, length);
+            if (isLiteral(path, i, end)) {
+                if (!template.regionMatches(t, path, i, end - i)) {
+                    return false;
+                }
+                t += end - i;
+            } else {
+                if (!template.startsWith(PLACEHOLDER, t)) {
+                    return false;
+                }
+                t += PLACEHOLDER.length();
+            }
+            i = end;
+        }
+
+        return t == template.length();
+    }
+
+    static String template(String path) {
+        int length = end(path);
+        StringBuilder template = new StringBuilder(length);
+
+        for (int i = 0; i < length; ) {
+            char c = path.charAt(i);
+            if (c == '/') {
+                template.append(c);
+                i++;
+                continue;
+            }
+
+            int end = segmentEnd(path, i, length);
+            if (isLiteral(path, i, end)) {
+                template.append(path, i, end);
+            } else {
+                template.append(PLACEHOLDER);
+            }
+            i = end;
+        }
+
+        return template.toString();
+    }
+
+    private static int end(String path) {
+        int query = path.indexOf('?');
+
+        return query < 0 ? path.length() : query;
+    }
+
+    private static int segmentEnd(String path, int start, int length) {
+        int i = start;
+        while (i < length && path.charAt(i) != '/') {
+            i++;
+        }
+
+        return i;
+    }
+
+    private static boolean isLiteral(String path, int start, int end) {
+        if (end - start >= 2 && path.charAt(start) == 'v' && isDigits(path, start + 1, end)) {
+            return true;
+        }
+
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            if ((c < 'a' || c > 'z') && c != '-' && c != '_') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isDigits(String path, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
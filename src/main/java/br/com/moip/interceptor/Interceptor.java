@@ -0,0 +1,59 @@
+package br.com.moip.interceptor;
+
+import br.com.moip.cache.CacheKey;
+import br.com.moip.event.Call;
+
+/**
+ * Wraps every call of a {@code Client} added with {@code Client.addInterceptor}, to add headers,
+ * measure, cache, retry or mock calls. Interceptors run in the order they were added, then the
+ * client's own cache, metrics and logging ones, and finally the transport. Each one either calls
+ * {@link Chain#proceed()}, any number of times, or returns a result of its own without reaching
+ * the API.
+ *
+ * <pre>
+ * client.addInterceptor(new Interceptor() {
+ *     public &lt;T&gt; T intercept(Chain&lt;T&gt; chain) {
+ *         chain.call().setHeader("X-Request-Id", UUID.randomUUID().toString());
+ *         return chain.proceed();
+ *     }
+ * });
+ * </pre>
+ */
+public interface Interceptor {
+
+    <T> T intercept(Chain<T> chain);
+
+    /**
+     * The rest of the chain, as seen by one interceptor. A call has a single chain object, handed
+     * to every interceptor in turn and kept across retries.
+     */
+    interface Chain<T> {
+
+        Call call();
+
+        /**
+         * @return the object serialized as the request body, or null
+         */
+        Object getRequestBody();
+
+        /**
+         * @return the class the response is decoded to, or null when a reader streams it
+         */
+        Class<T> getResponseType();
+
+        /**
+         * @return the key of the resource in the cache, or null when the call isn't cacheable
+         */
+        CacheKey getCacheKey();
+
+        /**
+         * @return a header of the last response, or null when it had none or none arrived yet
+         */
+        String getResponseHeader(String name);
+
+        /**
+         * Runs the rest of the chain and returns the decoded response, or null when it had no body.
+         */
+        T proceed();
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.moip.interceptor;
+
+import br.com.moip.event.Call;
+import br.com.moip.exception.MoipException;
+import br.com.moip.exception.UnexpectedException;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retries idempotent calls, GET, PUT and DELETE, that failed to connect or got a 5xx, waiting a
+ * random time up to a backoff that doubles with every attempt. POSTs are never retried, as they
+ * could create the resource twice.
+ *
+ * <pre>
+ * client.addInterceptor(new RetryInterceptor().maxRetries(3).backoff(200, TimeUnit.MILLISECONDS));
+ * </pre>
+ */
+public class RetryInterceptor implements Interceptor {
+
+    private int maxRetries = 2;
+    private long backoffMillis = 100;
+    private long maxBackoffMillis = TimeUnit.SECONDS.toMillis(5);
+
+    public RetryInterceptor maxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+
+        return this;
+    }
+
+    /**
+     * Waits up to this long before the first retry, and up to twice as long before every next one.
+     */
+    public RetryInterceptor backoff(long duration, TimeUnit unit) {
+        this.backoffMillis = unit.toMillis(duration);
+
+        return this;
+    }
+
+    public RetryInterceptor maxBackoff(long duration, TimeUnit unit) {
+        this.maxBackoffMillis = unit.toMillis(duration);
+
+        return this;
+    }
+
+    @Override
+    public <T> T intercept(Chain<T> chain) {
+        Call call = chain.call();
+
+        for (int retry = 1; ; retry++) {
+            try {
+                return chain.proceed();
+            } catch (RuntimeException e) {
+                if (retry > maxRetries || !isIdempotent(call.getMethod()) || !isRetryable(e)) {
+                    throw e;
+                }
+
+                if (!sleep(retry)) {
+                    throw e;
+                }
+                call.setRetryCount(retry);
+            }
+        }
+    }
+
+    protected boolean isRetryable(RuntimeException e) {
+        return e instanceof UnexpectedException
+                || (e instanceof MoipException && e.getCause() instanceof IOException);
+    }
+
+    private static boolean isIdempotent(String method) {
+        return "GET".equals(method) || "PUT".equals(method) || "DELETE".equals(method);
+    }
+
+    private boolean sleep(int retry) {
+        long backoff = Math.min(maxBackoffMillis, backoffMillis << Math.min(retry - 1, 30));
+        if (backoff <= 0) {
+            return true;
+        }
+
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(backoff + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.moip.log;
+
+import br.com.moip.interceptor.Interceptor;
+import br.com.moip.util.Redactor;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dumps the request and response lines, headers and bodies of a call at DEBUG, with the
+ * {@code Authorization} header masked. As an interceptor it only attaches itself to calls made
+ * while the logger has DEBUG on, and the client only dumps calls it is attached to, so none of
+ * the URLs, header map copies and body strings below are built otherwise.
+ */
+public class HttpLogging implements Interceptor {
+
+    private final Logger logger;
+
+    public HttpLogging(Logger logger) {
+        this.logger = logger;
+    }
+
+    @Override
+    public <T> T intercept(Chain<T> chain) {
+        if (logger.isDebugEnabled()) {
+            chain.call().attach(HttpLogging.class, this);
+        }
+
+        return chain.proceed();
+    }
+
+    /**
+     * Logs the request line and headers; call it before the connection is open, as it can't read
+     * the request headers after.
+     */
+    public void request(String method, HttpURLConnection conn) {
+        logger.debug("---> {} {}", method, Redactor.path(conn.getURL().toString()));
+        headers(conn.getRequestProperties());
+    }
+
+    public void requestBody(CharSequence body) {
+        logger.debug("{}", body);
+    }
+
+    public void requestEnd() {
+        logger.debug("---> END HTTP");
+    }
+
+    public void response(int responseCode, HttpURLConnection conn) throws IOException {
+        logger.debug("<--- {} {}", responseCode, conn.getResponseMessage());
+        headers(conn.getHeaderFields());
+    }
+
+    public void notModified() {
+        logger.debug("<-- END HTTP (not modified)");
+    }
+
+    public void streamingBody(HttpURLConnection conn) {
+        logger.debug("<-- STREAMING BODY ({}-byte body)", conn.getContentLength());
+    }
+
+    public void responseBody(CharSequence body, HttpURLConnection conn) {
+        logger.debug("{}", body);
+        logger.debug("<-- END HTTP ({}-byte body)", conn.getContentLength());
+    }
+
+    public void errorBody(CharSequence body) {
+        logger.debug("API ERROR {}", body);
+    }
+
+    private void headers(Map<String, List<String>> headers) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (header.getKey() != null) {
+                logger.debug("{}: {}", header.getKey(),
+                        Redactor.isSensitiveHeader(header.getKey()) ? Redactor.MASK : header.getValue());
+            }
+        }
+    }
+}
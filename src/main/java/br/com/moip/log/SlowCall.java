@@ -0,0 +1,100 @@
+package br.com.moip.log;
+
+import com.google.gson.Gson;
+
+import java.util.Map;
+
+/**
+ * What {@link SlowCallLog} records of a call: where its time went, its status and its bodies,
+ * masked and cut short. {@link #toString()} renders it as a single line of JSON.
+ */
+public class SlowCall {
+
+    private static final Gson GSON = new Gson();
+
+    private final String method;
+    private final String route;
+    private final String path;
+    private final int status;
+    private final String error;
+    private final boolean sampled;
+    private final double durationMillis;
+    private final Map<String, Double> phasesMillis;
+    private final int retryCount;
+    private final boolean connectionReused;
+    private final long requestBytes;
+    private final long responseBytes;
+    private final String requestBody;
+    private final String responseBody;
+
+    SlowCall(String method, String route, String path, int status, String error, boolean sampled,
+             double durationMillis, Map<String, Double> phasesMillis, int retryCount, boolean connectionReused,
+             long requestBytes, long responseBytes, String requestBody, String responseBody) {
+        this.method = method;
+        this.route = route;
+        this.path = path;
+        this.status = status;
+        this.error = error;
+        this.sampled = sampled;
+        this.durationMillis = durationMillis;
+        this.phasesMillis = phasesMillis;
+        this.retryCount = retryCount;
+        this.connectionReused = connectionReused;
+        this.requestBytes = requestBytes;
+        this.responseBytes = responseBytes;
+        this.requestBody = requestBody;
+        this.responseBody = responseBody;
+    }
+
+    public String getMethod() { return method; }
+
+    /**
+     * @return the route template, such as {@code /v2/orders/{id}}
+     */
+    public String getRoute() { return route; }
+
+    public String getPath() { return path; }
+
+    /**
+     * @return the HTTP status, or zero when the call failed before the response arrived
+     */
+    public int getStatus() { return status; }
+
+    /**
+     * @return the exception that failed the call, or null when it succeeded
+     */
+    public String getError() { return error; }
+
+    /**
+     * @return whether the call was picked by sampling rather than for crossing the threshold
+     */
+    public boolean isSampled() { return sampled; }
+
+    public double getDurationMillis() { return durationMillis; }
+
+    /**
+     * @return the milliseconds of each phase the call went through, in order: encode, connect,
+     * tls, request, wait, response and decode
+     */
+    public Map<String, Double> getPhasesMillis() { return phasesMillis; }
+
+    public int getRetryCount() { return retryCount; }
+
+    public boolean isConnectionReused() { return connectionReused; }
+
+    public long getRequestBytes() { return requestBytes; }
+
+    public long getResponseBytes() { return responseBytes; }
+
+    public String getRequestBody() { return requestBody; }
+
+    /**
+     * @return the response body, or null when it was decoded while read from the connection
+     */
+    public String getResponseBody() { return responseBody; }
+
+    @Override
+    public String toString() {
+        return GSON.toJson(this);
+    }
+}
@@ -0,0 +1,242 @@
+package br.com.moip.log;
+
+import br.com.moip.event.Call;
+import br.com.moip.event.EventListener;
+import br.com.moip.util.Redactor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the calls slower than a threshold, plus a sampled fraction of the rest, as a
+ * {@link SlowCall} with the time of each phase, the status and the bodies with card numbers, CVV,
+ * card hashes, documents and tokens masked. Records go to a {@link Handler}; the default logs them
+ * as JSON at WARN.
+ *
+ * <p>Up to the end of a call it only keeps a few timestamps. Bodies are kept by reference, as the
+ * client already holds them, and only masked and copied for the calls that get recorded.
+ *
+ * <pre>
+ * client.setSlowCallLog(new SlowCallLog().threshold(2, TimeUnit.SECONDS).sampleRate(0.001));
+ * </pre>
+ */
+public class SlowCallLog extends EventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SlowCallLog.class);
+
+    public interface Handler {
+
+        void record(SlowCall call);
+    }
+
+    public static final Handler LOG = new Handler() {
+        @Override
+        public void record(SlowCall call) {
+            LOGGER.warn("{}", call);
+        }
+    };
+
+    private static final String[] PHASES = {"encode", "connect", "tls", "request", "wait", "response", "decode"};
+
+    private volatile long thresholdNanos = TimeUnit.SECONDS.toNanos(1);
+    private volatile double sampleRate;
+    private volatile int maxBodyLength = 2048;
+    private volatile Handler handler = LOG;
+
+    /**
+     * Records every call taking at least this long. One second by default.
+     */
+    public SlowCallLog threshold(long duration, TimeUnit unit) {
+        this.thresholdNanos = unit.toNanos(duration);
+
+        return this;
+    }
+
+    /**
+     * Records this fraction, from 0 to 1, of the calls under the threshold. None by default.
+     */
+    public SlowCallLog sampleRate(double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("The sample rate must be between 0 and 1: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+
+        return this;
+    }
+
+    /**
+     * Cuts bodies at this many characters. 2048 by default.
+     */
+    public SlowCallLog maxBodyLength(int maxBodyLength) {
+        this.maxBodyLength = maxBodyLength;
+
+        return this;
+    }
+
+    public SlowCallLog handler(Handler handler) {
+        this.handler = handler == null ? LOG : handler;
+
+        return this;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        call.attach(Marks.class, new Marks());
+    }
+
+    @Override
+    public void encodeStart(Call call, long nanoTime) {
+        mark(call, Marks.ENCODE_START, nanoTime);
+    }
+
+    @Override
+    public void encodeEnd(Call call, long nanoTime, long bodyBytes) {
+        mark(call, Marks.ENCODE_END, nanoTime);
+    }
+
+    @Override
+    public void connectStart(Call call, long nanoTime) {
+        mark(call, Marks.CONNECT_START, nanoTime);
+    }
+
+    @Override
+    public void secureConnectStart(Call call, long nanoTime) {
+        mark(call, Marks.SECURE_START, nanoTime);
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, long nanoTime) {
+        mark(call, Marks.SECURE_END, nanoTime);
+    }
+
+    @Override
+    public void connectEnd(Call call, long nanoTime, boolean connectionReused) {
+        mark(call, Marks.CONNECT_END, nanoTime);
+    }
+
+    @Override
+    public void requestStart(Call call, long nanoTime) {
+        mark(call, Marks.REQUEST_START, nanoTime);
+    }
+
+    @Override
+    public void requestEnd(Call call, long nanoTime, long bodyBytes) {
+        mark(call, Marks.REQUEST_END, nanoTime);
+    }
+
+    @Override
+    public void responseStart(Call call, long nanoTime, int status) {
+        mark(call, Marks.RESPONSE_START, nanoTime);
+    }
+
+    @Override
+    public void responseEnd(Call call, long nanoTime, long bodyBytes) {
+        mark(call, Marks.RESPONSE_END, nanoTime);
+    }
+
+    @Override
+    public void decodeStart(Call call, long nanoTime) {
+        mark(call, Marks.DECODE_START, nanoTime);
+    }
+
+    @Override
+    public void decodeEnd(Call call, long nanoTime) {
+        mark(call, Marks.DECODE_END, nanoTime);
+    }
+
+    @Override
+    public void callEnd(Call call, long nanoTime) {
+        end(call, nanoTime, null);
+    }
+
+    @Override
+    public void callFailed(Call call, long nanoTime, Exception e) {
+        end(call, nanoTime, e);
+    }
+
+    private void mark(Call call, int point, long nanoTime) {
+        Marks marks = call.attachment(Marks.class);
+        if (marks != null) {
+            marks.nanos[point] = nanoTime;
+        }
+    }
+
+    private void end(Call call, long nanoTime, Exception e) {
+        long duration = nanoTime - call.getStartNanos();
+        boolean slow = duration >= thresholdNanos;
+        boolean sampled = !slow && sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        Marks marks = call.attachment(Marks.class);
+
+        if ((slow || sampled) && marks != null) {
+            try {
+                handler.record(record(call, marks, duration, sampled, e));
+            } catch (RuntimeException failure) {
+                LOGGER.debug("Could not record a slow call", failure);
+            }
+        }
+    }
+
+    private SlowCall record(Call call, Marks marks, long duration, boolean sampled, Exception e) {
+        Map<String, Double> phases = new LinkedHashMap<>();
+        long[] spans = marks.phases();
+        for (int i = 0; i < PHASES.length; i++) {
+            if (spans[i] >= 0) {
+                phases.put(PHASES[i], millis(spans[i]));
+            }
+        }
+
+        return new SlowCall(call.getMethod(), call.getRoute().getTemplate(), Redactor.path(call.getPath()), call.getStatus(),
+                e == null ? null : e.getClass().getName() + ": " + e.getMessage(), sampled, millis(duration),
+                phases, call.getRetryCount(), call.isConnectionReused(),
+                call.getRequestBytes(), call.getResponseBytes(),
+                Redactor.body(call.getRequestBody(), maxBodyLength),
+                Redactor.body(call.getResponseBody(), maxBodyLength));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static class Marks {
+
+        static final int ENCODE_START = 0;
+        static final int ENCODE_END = 1;
+        static final int CONNECT_START = 2;
+        static final int SECURE_START = 3;
+        static final int SECURE_END = 4;
+        static final int CONNECT_END = 5;
+        static final int REQUEST_START = 6;
+        static final int REQUEST_END = 7;
+        static final int RESPONSE_START = 8;
+        static final int RESPONSE_END = 9;
+        static final int DECODE_START = 10;
+        static final int DECODE_END = 11;
+
+        // Zero stands for a phase not reached; a real nanoTime landing on it is not worth a flag
+        private final long[] nanos = new long[12];
+
+        /**
+         * @return the length of each phase in the order of PHASES, or -1 for the ones the call
+         * didn't reach
+         */
+        long[] phases() {
+            return new long[] {
+                    span(ENCODE_START, ENCODE_END),
+                    span(CONNECT_START, CONNECT_END),
+                    span(SECURE_START, SECURE_END),
+                    span(REQUEST_START, REQUEST_END),
+                    span(REQUEST_END, RESPONSE_START),
+                    span(RESPONSE_START, RESPONSE_END),
+                    span(DECODE_START, DECODE_END)
+            };
+        }
+
+        private long span(int start, int end) {
+            return nanos[start] != 0 && nanos[end] != 0 ? nanos[end] - nanos[start] : -1;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.moip.metrics;
+
+/**
+ * The parts of a call that {@link ResourceAccounting} measures: serializing the request body,
+ * everything on the wire, and binding the response to objects. The request path is built before
+ * the call starts, so none of them include it.
+ */
+public enum CallPhase {
+
+    ENCODE, TRANSPORT, DECODE
+}
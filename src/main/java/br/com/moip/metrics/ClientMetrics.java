@@ -0,0 +1,105 @@
+package br.com.moip.metrics;
+
+import br.com.moip.event.Route;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps request counts by status class, error counts, latency histograms, bytes in and out and
+ * connections opened and reused for every route, and the calls in flight. With
+ * {@link ResourceAccounting} on, it also sums the bytes allocated and CPU time spent per phase.
+ * Stats are found by {@link Route#getId()} in an array, so recording takes no lock and allocates
+ * nothing once a route has been seen.
+ */
+public class ClientMetrics implements Metrics {
+
+    private volatile AtomicReferenceArray<RouteStats> stats = new AtomicReferenceArray<>(64);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Override
+    public void callStarted(Route route) {
+        inFlight.incrementAndGet();
+        stats(route).started();
+    }
+
+    @Override
+    public void connected(Route route, boolean reused) {
+        stats(route).connected(reused);
+    }
+
+    @Override
+    public void callEnded(Route route, int status, ErrorType error, long latencyNanos, long bytesOut, long bytesIn) {
+        inFlight.decrementAndGet();
+        stats(route).ended(status, error, latencyNanos, bytesOut, bytesIn);
+    }
+
+    @Override
+    public void accounted(Route route, CallPhase phase, long allocatedBytes, long cpuNanos) {
+        stats(route).accounted(phase, allocatedBytes, cpuNanos);
+    }
+
+    /**
+     * @return the stats of the route, or null when it had no call
+     */
+    public RouteStats get(Route route) {
+        AtomicReferenceArray<RouteStats> current = stats;
+
+        return route.getId() < current.length() ? current.get(route.getId()) : null;
+    }
+
+    public List<RouteStats> getRoutes() {
+        AtomicReferenceArray<RouteStats> current = stats;
+        List<RouteStats> routes = new ArrayList<>();
+
+        for (int i = 0; i < current.length(); i++) {
+            RouteStats route = current.get(i);
+            if (route != null) {
+                routes.add(route);
+            }
+        }
+
+        return routes;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private RouteStats stats(Route route) {
+        AtomicReferenceArray<RouteStats> current = stats;
+        int id = route.getId();
+
+        if (id < current.length()) {
+            RouteStats existing = current.get(id);
+            if (existing != null) {
+                return existing;
+            }
+        }
+
+        return add(route);
+    }
+
+    private synchronized RouteStats add(Route route) {
+        AtomicReferenceArray<RouteStats> current = stats;
+        int id = route.getId();
+
+        if (id >= current.length()) {
+            AtomicReferenceArray<RouteStats> grown = new AtomicReferenceArray<>(Math.max(id + 1, current.length() * 2));
+            for (int i = 0; i < current.length(); i++) {
+                grown.set(i, current.get(i));
+            }
+            stats = current = grown;
+        }
+
+        RouteStats existing = current.get(id);
+        if (existing == null) {
+            existing = new RouteStats(route);
+            current.set(id, existing);
+        }
+
+        return existing;
+    }
+}
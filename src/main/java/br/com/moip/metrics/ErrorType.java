@@ -0,0 +1,36 @@
+package br.com.moip.metrics;
+
+import br.com.moip.exception.MoipException;
+import br.com.moip.exception.UnauthorizedException;
+import br.com.moip.exception.UnexpectedException;
+import br.com.moip.exception.ValidationException;
+
+import java.io.IOException;
+
+/**
+ * Why a call failed, as counted by {@link Metrics}.
+ */
+public enum ErrorType {
+
+    NONE, VALIDATION, UNAUTHORIZED, UNEXPECTED, IO, OTHER;
+
+    public static ErrorType of(Exception e) {
+        if (e == null) {
+            return NONE;
+        }
+        if (e instanceof ValidationException) {
+            return VALIDATION;
+        }
+        if (e instanceof UnauthorizedException) {
+            return UNAUTHORIZED;
+        }
+        if (e instanceof UnexpectedException) {
+            return UNEXPECTED;
+        }
+        if (e instanceof MoipException && e.getCause() instanceof IOException) {
+            return IO;
+        }
+
+        return OTHER;
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.moip.metrics;
+
+import br.com.moip.event.Route;
+
+/**
+ * Receives a measurement for every call made by {@code Client}, by route template. Set one with
+ * {@code Client.setMetrics}: {@link ClientMetrics} keeps them in memory and
+ * {@link br.com.moip.metrics.dropwizard.DropwizardMetrics} hands them to a Dropwizard registry.
+ *
+ * <p>Every method runs on the calling thread, so implementations should record and return.
+ */
+public interface Metrics {
+
+    Metrics NONE = new Metrics() {
+        @Override
+        public void callStarted(Route route) {}
+
+        @Override
+        public void connected(Route route, boolean reused) {}
+
+        @Override
+        public void callEnded(Route route, int status, ErrorType error, long latencyNanos, long bytesOut, long bytesIn) {}
+
+        @Override
+        public void accounted(Route route, CallPhase phase, long allocatedBytes, long cpuNanos) {}
+    };
+
+    void callStarted(Route route);
+
+    /**
+     * @param reused whether the call got a kept-alive connection instead of opening one
+     */
+    void connected(Route route, boolean reused);
+
+    /**
+     * @param status the HTTP status, or zero when no response arrived
+     * @param error {@link ErrorType#NONE} for a successful call
+     */
+    void callEnded(Route route, int status, ErrorType error, long latencyNanos, long bytesOut, long bytesIn);
+
+    /**
+     * Reports what one phase of a call cost the calling thread, when {@link ResourceAccounting} is
+     * on; the CPU time is zero where the JVM doesn't measure it.
+     */
+    void accounted(Route route, CallPhase phase, long allocatedBytes, long cpuNanos);
+}
@@ -0,0 +1,48 @@
+package br.com.moip.metrics;
+
+import br.com.moip.event.Call;
+import br.com.moip.event.Route;
+import br.com.moip.interceptor.Interceptor;
+
+/**
+ * Feeds every attempt that reaches the API to {@link Metrics}. Calls answered from the cache
+ * without asking the API aren't counted, and each retry counts as a request of its own.
+ */
+public class MetricsInterceptor implements Interceptor {
+
+    private final Metrics metrics;
+
+    public MetricsInterceptor(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public <T> T intercept(Chain<T> chain) {
+        Call call = chain.call();
+        Route route = call.getRoute();
+        long start = System.nanoTime();
+        metrics.callStarted(route);
+
+        try {
+            T result = chain.proceed();
+            ended(call, route, ErrorType.NONE, start);
+
+            return result;
+        } catch (RuntimeException e) {
+            ended(call, route, ErrorType.of(e), start);
+            throw e;
+        }
+    }
+
+    private void ended(Call call, Route route, ErrorType error, long start) {
+        if (call.isConnected()) {
+            metrics.connected(route, call.isConnectionReused());
+        }
+        metrics.callEnded(route, call.getStatus(), error, System.nanoTime() - start,
+                call.getRequestBytes(), call.getResponseBytes());
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.moip.metrics;
+
+import br.com.moip.event.Call;
+import br.com.moip.event.EventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the bytes allocated and the CPU time spent by the calling thread while it serializes a
+ * request, moves it over the wire and decodes the response, and reports them to {@link Metrics}
+ * per route. Transport is whatever the call spent outside the other two, which includes reading
+ * the body unless it was decoded while read. Building the request path, including the query
+ * string from {@code QueryStringFactory}, happens in the API classes before the call starts and
+ * is not counted in any phase.
+ *
+ * <p>Reading the counters costs a few hundred nanoseconds each, six times a call, so this is off
+ * unless {@code Client.setResourceAccounting} turns it on. It needs a JVM that counts allocated
+ * bytes per thread, such as HotSpot; elsewhere {@link #create(Metrics)} returns
+ * {@link EventListener#NONE}. Work done on other threads, like a parallel list decode, is not
+ * counted.
+ */
+public class ResourceAccounting extends EventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResourceAccounting.class);
+
+    private final Metrics metrics;
+    private final com.sun.management.ThreadMXBean threads;
+    private final boolean cpuTimed;
+
+    private ResourceAccounting(Metrics metrics, com.sun.management.ThreadMXBean threads) {
+        this.metrics = metrics;
+        this.threads = threads;
+        this.cpuTimed = threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled();
+    }
+
+    public static EventListener create(Metrics metrics) {
+        try {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+                if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled()) {
+                    return new ResourceAccounting(metrics, hotspot);
+                }
+            }
+        } catch (LinkageError e) {
+            LOGGER.debug("Per thread allocation counters are not available", e);
+        }
+
+        return NONE;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        Usage usage = new Usage();
+        usage.mark(Usage.START, allocated(), cpu());
+        call.attach(Usage.class, usage);
+    }
+
+    @Override
+    public void encodeStart(Call call, long nanoTime) {
+        mark(call, Usage.ENCODE_START);
+    }
+
+    @Override
+    public void encodeEnd(Call call, long nanoTime, long bodyBytes) {
+        mark(call, Usage.ENCODE_END);
+    }
+
+    @Override
+    public void decodeStart(Call call, long nanoTime) {
+        mark(call, Usage.DECODE_START);
+    }
+
+    @Override
+    public void decodeEnd(Call call, long nanoTime) {
+        mark(call, Usage.DECODE_END);
+    }
+
+    @Override
+    public void callEnd(Call call, long nanoTime) {
+        report(call);
+    }
+
+    @Override
+    public void callFailed(Call call, long nanoTime, Exception e) {
+        report(call);
+    }
+
+    private void mark(Call call, int point) {
+        Usage usage = call.attachment(Usage.class);
+        if (usage != null) {
+            usage.mark(point, allocated(), cpu());
+        }
+    }
+
+    private void report(Call call) {
+        Usage usage = call.attachment(Usage.class);
+        if (usage == null) {
+            return;
+        }
+
+        usage.mark(Usage.END, allocated(), cpu());
+
+        long encodeBytes = usage.bytes(Usage.ENCODE_START, Usage.ENCODE_END);
+        long encodeCpu = usage.cpu(Usage.ENCODE_START, Usage.ENCODE_END);
+        long decodeBytes = usage.bytes(Usage.DECODE_START, Usage.DECODE_END);
+        long decodeCpu = usage.cpu(Usage.DECODE_START, Usage.DECODE_END);
+
+        if (usage.marked(Usage.ENCODE_END)) {
+            metrics.accounted(call.getRoute(), CallPhase.ENCODE, encodeBytes, encodeCpu);
+        }
+        metrics.accounted(call.getRoute(), CallPhase.TRANSPORT,
+                usage.bytes(Usage.START, Usage.END) - encodeBytes - decodeBytes,
+                usage.cpu(Usage.START, Usage.END) - encodeCpu - decodeCpu);
+        if (usage.marked(Usage.DECODE_END)) {
+            metrics.accounted(call.getRoute(), CallPhase.DECODE, decodeBytes, decodeCpu);
+        }
+    }
+
+    private long allocated() {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private long cpu() {
+        return cpuTimed ? threads.getCurrentThreadCpuTime() : 0;
+    }
+
+    private static class Usage {
+
+        static final int START = 0;
+        static final int ENCODE_START = 1;
+        static final int ENCODE_END = 2;
+        static final int DECODE_START = 3;
+        static final int DECODE_END = 4;
+        static final int END = 5;
+
+        private final long[] bytes = new long[6];
+        private final long[] cpu = new long[6];
+        private int marked;
+
+        void mark(int point, long allocated, long cpuNanos) {
+            bytes[point] = allocated;
+            cpu[point] = cpuNanos;
+            marked |= 1 << point;
+        }
+
+        boolean marked(int point) {
+            return (marked & (1 << point)) != 0;
+        }
+
+        long bytes(int from, int to) {
+            return marked(from) && marked(to) ? bytes[to] - bytes[from] : 0;
+        }
+
+        long cpu(int from, int to) {
+            return marked(from) && marked(to) ? cpu[to] - cpu[from] : 0;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.moip.metrics;
+
+import br.com.moip.event.Route;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The measurements of one route in {@link ClientMetrics}. Every counter is updated atomically
+ * and read without locking, so a reader sees each value current but not all of them as of the
+ * same instant.
+ */
+public class RouteStats {
+
+    private static final int STATUS_CLASSES = 6;
+
+    private final Route route;
+    private final AtomicLongArray statusClasses = new AtomicLongArray(STATUS_CLASSES);
+    private final AtomicLongArray errors = new AtomicLongArray(ErrorType.values().length);
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong bytesOut = new AtomicLong();
+    private final AtomicLong bytesIn = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong connectionsOpened = new AtomicLong();
+    private final AtomicLong connectionsReused = new AtomicLong();
+    private final AtomicLongArray accounted = new AtomicLongArray(CallPhase.values().length);
+    private final AtomicLongArray allocatedBytes = new AtomicLongArray(CallPhase.values().length);
+    private final AtomicLongArray cpuNanos = new AtomicLongArray(CallPhase.values().length);
+
+    RouteStats(Route route) {
+        this.route = route;
+    }
+
+    void started() {
+        inFlight.incrementAndGet();
+    }
+
+    void connected(boolean reused) {
+        (reused ? connectionsReused : connectionsOpened).incrementAndGet();
+    }
+
+    void accounted(CallPhase phase, long bytes, long cpu) {
+        accounted.incrementAndGet(phase.ordinal());
+        allocatedBytes.addAndGet(phase.ordinal(), bytes);
+        cpuNanos.addAndGet(phase.ordinal(), cpu);
+    }
+
+    void ended(int status, ErrorType error, long latencyNanos, long out, long in) {
+        inFlight.decrementAndGet();
+        statusClasses.incrementAndGet(statusClass(status));
+        if (error != ErrorType.NONE) {
+            errors.incrementAndGet(error.ordinal());
+        }
+        latency.record(latencyNanos);
+        if (out > 0) bytesOut.addAndGet(out);
+        if (in > 0) bytesIn.addAndGet(in);
+    }
+
+    private static int statusClass(int status) {
+        int statusClass = status / 100;
+
+        return statusClass > 0 && statusClass < STATUS_CLASSES ? statusClass : 0;
+    }
+
+    public Route getRoute() { return route; }
+
+    /**
+     * @param statusClass 2 for 2xx and so on, or 0 for calls without a response
+     */
+    public long getCount(int statusClass) {
+        return statusClasses.get(statusClass);
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < STATUS_CLASSES; i++) {
+            count += statusClasses.get(i);
+        }
+
+        return count;
+    }
+
+    public long getErrors(ErrorType error) {
+        return errors.get(error.ordinal());
+    }
+
+    public LatencyHistogram getLatency() { return latency; }
+
+    public long getBytesOut() { return bytesOut.get(); }
+
+    public long getBytesIn() { return bytesIn.get(); }
+
+    public int getInFlight() { return inFlight.get(); }
+
+    public long getConnectionsOpened() { return connectionsOpened.get(); }
+
+    public long getConnectionsReused() { return connectionsReused.get(); }
+
+    /**
+     * @return how many calls had the phase measured
+     */
+    public long getAccounted(CallPhase phase) { return accounted.get(phase.ordinal()); }
+
+    public long getAllocatedBytes(CallPhase phase) { return allocatedBytes.get(phase.ordinal()); }
+
+    public long getCpuNanos(CallPhase phase) { return cpuNanos.get(phase.ordinal()); }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("RouteStats{")
+                .append("route=").append(route)
+                .append(", count=").append(getCount())
+                .append(", inFlight=").append(getInFlight())
+                .append(", bytesOut=").append(getBytesOut())
+                .append(", bytesIn=").append(getBytesIn())
+                .append('}').toString();
+    }
+}
@@ -0,0 +1,153 @@
+package br.com.moip.metrics.dropwizard;
+
+import br.com.moip.event.Route;
+import br.com.moip.metrics.CallPhase;
+import br.com.moip.metrics.ErrorType;
+import br.com.moip.metrics.Metrics;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Records calls into a Dropwizard {@link MetricRegistry}, under names such as
+ * {@code moip.GET./v2/orders/{id}.latency}. Each route has a timer, a meter per status class, per
+ * error type and for connections opened and reused, counters of bytes in and out and of calls in
+ * flight, plus a {@code moip.inFlight} counter for all routes. Resource accounting goes to
+ * histograms of allocated bytes and CPU nanoseconds per phase.
+ *
+ * <p>The registry is only looked up the first time a route is seen; after that the instruments
+ * are found by {@link Route#getId()}. Dropwizard's {@code metrics-core} is an optional
+ * dependency, needed only when this class is used.
+ */
+public class DropwizardMetrics implements Metrics {
+
+    private static final String[] STATUS_CLASSES = {"none", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final MetricRegistry registry;
+    private final String prefix;
+    private final Counter inFlight;
+    private volatile AtomicReferenceArray<Instruments> instruments = new AtomicReferenceArray<>(64);
+
+    public DropwizardMetrics(MetricRegistry registry) {
+        this(registry, "moip");
+    }
+
+    public DropwizardMetrics(MetricRegistry registry, String prefix) {
+        this.registry = registry;
+        this.prefix = prefix;
+        this.inFlight = registry.counter(MetricRegistry.name(prefix, "inFlight"));
+    }
+
+    @Override
+    public void callStarted(Route route) {
+        inFlight.inc();
+        instruments(route).inFlight.inc();
+    }
+
+    @Override
+    public void connected(Route route, boolean reused) {
+        Instruments routeInstruments = instruments(route);
+        (reused ? routeInstruments.connectionsReused : routeInstruments.connectionsOpened).mark();
+    }
+
+    @Override
+    public void callEnded(Route route, int status, ErrorType error, long latencyNanos, long bytesOut, long bytesIn) {
+        Instruments routeInstruments = instruments(route);
+
+        inFlight.dec();
+        routeInstruments.inFlight.dec();
+        routeInstruments.latency.update(latencyNanos, TimeUnit.NANOSECONDS);
+
+        int statusClass = status / 100;
+        routeInstruments.statusClasses[statusClass > 0 && statusClass < STATUS_CLASSES.length ? statusClass : 0].mark();
+        if (error != ErrorType.NONE) {
+            routeInstruments.errors[error.ordinal()].mark();
+        }
+        if (bytesOut > 0) routeInstruments.bytesOut.inc(bytesOut);
+        if (bytesIn > 0) routeInstruments.bytesIn.inc(bytesIn);
+    }
+
+    @Override
+    public void accounted(Route route, CallPhase phase, long allocatedBytes, long cpuNanos) {
+        Instruments routeInstruments = instruments(route);
+        routeInstruments.allocatedBytes[phase.ordinal()].update(allocatedBytes);
+        routeInstruments.cpuNanos[phase.ordinal()].update(cpuNanos);
+    }
+
+    private Instruments instruments(Route route) {
+        AtomicReferenceArray<Instruments> current = instruments;
+        int id = route.getId();
+
+        if (id < current.length()) {
+            Instruments existing = current.get(id);
+            if (existing != null) {
+                return existing;
+            }
+        }
+
+        return add(route);
+    }
+
+    private synchronized Instruments add(Route route) {
+        AtomicReferenceArray<Instruments> current = instruments;
+        int id = route.getId();
+
+        if (id >= current.length()) {
+            AtomicReferenceArray<Instruments> grown = new AtomicReferenceArray<>(Math.max(id + 1, current.length() * 2));
+            for (int i = 0; i < current.length(); i++) {
+                grown.set(i, current.get(i));
+            }
+            instruments = current = grown;
+        }
+
+        Instruments existing = current.get(id);
+        if (existing == null) {
+            existing = new Instruments(MetricRegistry.name(prefix, route.getMethod(), route.getTemplate()));
+            current.set(id, existing);
+        }
+
+        return existing;
+    }
+
+    private class Instruments {
+
+        private final Timer latency;
+        private final Meter[] statusClasses = new Meter[STATUS_CLASSES.length];
+        private final Meter[] errors = new Meter[ErrorType.values().length];
+        private final Counter bytesOut;
+        private final Counter bytesIn;
+        private final Counter inFlight;
+        private final Meter connectionsOpened;
+        private final Meter connectionsReused;
+        private final Histogram[] allocatedBytes = new Histogram[CallPhase.values().length];
+        private final Histogram[] cpuNanos = new Histogram[CallPhase.values().length];
+
+        Instruments(String name) {
+            latency = registry.timer(MetricRegistry.name(name, "latency"));
+            for (int i = 0; i < statusClasses.length; i++) {
+                statusClasses[i] = registry.meter(MetricRegistry.name(name, "responses", STATUS_CLASSES[i]));
+            }
+            for (ErrorType error : ErrorType.values()) {
+                if (error != ErrorType.NONE) {
+                    errors[error.ordinal()] = registry.meter(MetricRegistry.name(name, "errors", error.name().toLowerCase(Locale.ROOT)));
+                }
+            }
+            bytesOut = registry.counter(MetricRegistry.name(name, "bytesOut"));
+            bytesIn = registry.counter(MetricRegistry.name(name, "bytesIn"));
+            inFlight = registry.counter(MetricRegistry.name(name, "inFlight"));
+            connectionsOpened = registry.meter(MetricRegistry.name(name, "connections", "opened"));
+            connectionsReused = registry.meter(MetricRegistry.name(name, "connections", "reused"));
+            for (CallPhase phase : CallPhase.values()) {
+                String phaseName = phase.name().toLowerCase(Locale.ROOT);
+                allocatedBytes[phase.ordinal()] = registry.histogram(MetricRegistry.name(name, phaseName, "allocatedBytes"));
+                cpuNanos[phase.ordinal()] = registry.histogram(MetricRegistry.name(name, phaseName, "cpuNanos"));
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package br.com.moip.metrics.prometheus;
+
+import br.com.moip.cache.ResourceCache;
+import br.com.moip.event.Route;
+import br.com.moip.metrics.CallPhase;
+import br.com.moip.metrics.ClientMetrics;
+import br.com.moip.metrics.ErrorType;
+import br.com.moip.metrics.LatencyHistogram;
+import br.com.moip.metrics.RouteStats;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Renders {@link ClientMetrics} and {@link ResourceCache} counters in the Prometheus text
+ * exposition format. Rendering only reads atomic counters, so a scrape never waits for, nor
+ * holds up, a request thread; values read during a scrape may be a few calls apart.
+ */
+public class PrometheusExporter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final String[] STATUS_CLASSES = {"none", "1xx", "2xx", "3xx", "4xx", "5xx"};
+    private static final long[] BOUNDS_MILLIS = LatencyHistogram.getBoundsMillis();
+
+    private ClientMetrics metrics;
+    private ResourceCache cache;
+
+    public PrometheusExporter metrics(ClientMetrics metrics) {
+        this.metrics = metrics;
+
+        return this;
+    }
+
+    public PrometheusExporter cache(ResourceCache cache) {
+        this.cache = cache;
+
+        return this;
+    }
+
+    public String render() {
+        StringBuilder out = new StringBuilder(4096);
+
+        if (metrics != null) {
+            renderMetrics(out, metrics.getRoutes());
+        }
+
+        if (cache != null) {
+            renderCache(out);
+        }
+
+        return out.toString();
+    }
+
+    private void renderMetrics(StringBuilder out, List<RouteStats> routes) {
+        header(out, "moip_requests_in_flight", "gauge", "Calls to the Moip API waiting for a response.");
+        out.append("moip_requests_in_flight ").append(metrics.getInFlight()).append('\n');
+
+        header(out, "moip_route_requests_in_flight", "gauge", "Calls waiting for a response, by route.");
+        for (RouteStats stats : routes) {
+            sample(out, "moip_route_requests_in_flight", stats.getRoute(), null, null, stats.getInFlight());
+        }
+
+        header(out, "moip_requests_total", "counter", "Calls to the Moip API by route and status class.");
+        for (RouteStats stats : routes) {
+            for (int statusClass = 0; statusClass < STATUS_CLASSES.length; statusClass++) {
+                long count = stats.getCount(statusClass);
+                if (count > 0) {
+                    sample(out, "moip_requests_total", stats.getRoute(), "status", STATUS_CLASSES[statusClass], count);
+                }
+            }
+        }
+
+        header(out, "moip_request_errors_total", "counter", "Failed calls by route and error type.");
+        for (RouteStats stats : routes) {
+            for (ErrorType error : ErrorType.values()) {
+                long count = error == ErrorType.NONE ? 0 : stats.getErrors(error);
+                if (count > 0) {
+                    sample(out, "moip_request_errors_total", stats.getRoute(), "error", error.name().toLowerCase(Locale.ROOT), count);
+                }
+            }
+        }
+
+        header(out, "moip_request_duration_seconds", "histogram", "Latency of calls by route.");
+        for (RouteStats stats : routes) {
+            histogram(out, stats.getRoute(), stats.getLatency());
+        }
+
+        header(out, "moip_request_bytes_total", "counter", "Request body bytes sent, by route.");
+        for (RouteStats stats : routes) {
+            sample(out, "moip_request_bytes_total", stats.getRoute(), null, null, stats.getBytesOut());
+        }
+
+        header(out, "moip_response_bytes_total", "counter", "Response body bytes received, by route.");
+        for (RouteStats stats : routes) {
+            sample(out, "moip_response_bytes_total", stats.getRoute(), null, null, stats.getBytesIn());
+        }
+
+        header(out, "moip_connections_total", "counter", "Connections used by calls, new or reused from the keep-alive cache.");
+        for (RouteStats stats : routes) {
+            sample(out, "moip_connections_total", stats.getRoute(), "reused", "false", stats.getConnectionsOpened());
+            sample(out, "moip_connections_total", stats.getRoute(), "reused", "true", stats.getConnectionsReused());
+        }
+
+        renderAccounting(out, routes);
+    }
+
+    private void renderAccounting(StringBuilder out, List<RouteStats> routes) {
+        header(out, "moip_request_accounted_total", "counter", "Calls whose allocations and CPU time were measured, by phase.");
+        for (RouteStats stats : routes) {
+            for (CallPhase phase : CallPhase.values()) {
+                if (stats.getAccounted(phase) > 0) {
+                    sample(out, "moip_request_accounted_total", stats.getRoute(), "phase", phaseName(phase), stats.getAccounted(phase));
+                }
+            }
+        }
+
+        header(out, "moip_request_allocated_bytes_total", "counter", "Bytes allocated by the calling thread, by phase.");
+        for (RouteStats stats : routes) {
+            for (CallPhase phase : CallPhase.values()) {
+                if (stats.getAccounted(phase) > 0) {
+                    sample(out, "moip_request_allocated_bytes_total", stats.getRoute(), "phase", phaseName(phase), stats.getAllocatedBytes(phase));
+                }
+            }
+        }
+
+        header(out, "moip_request_cpu_seconds_total", "counter", "CPU time of the calling thread, by phase.");
+        for (RouteStats stats : routes) {
+            for (CallPhase phase : CallPhase.values()) {
+                if (stats.getAccounted(phase) > 0) {
+                    labels(out.append("moip_request_cpu_seconds_total"), stats.getRoute(), "phase", phaseName(phase))
+                            .append(' ').append(stats.getCpuNanos(phase) / 1e9).append('\n');
+                }
+            }
+        }
+    }
+
+    private static String phaseName(CallPhase phase) {
+        return phase.name().toLowerCase(Locale.ROOT);
+    }
+
+    private void histogram(StringBuilder out, Route route, LatencyHistogram latency) {
+        long[] counts = latency.getCounts();
+        long cumulative = 0;
+
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            String bound = i < BOUNDS_MILLIS.length ? seconds(BOUNDS_MILLIS[i]) : "+Inf";
+            sample(out, "moip_request_duration_seconds_bucket", route, "le", bound, cumulative);
+        }
+
+        labels(out.append("moip_request_duration_seconds_sum"), route, null, null)
+                .append(' ').append(latency.getSumNanos() / 1e9).append('\n');
+        sample(out, "moip_request_duration_seconds_count", route, null, null, cumulative);
+    }
+
+    private void renderCache(StringBuilder out) {
+        counter(out, "moip_cache_hits_total", "Resources served from the in-memory cache.", cache.getHitCount());
+        counter(out, "moip_cache_secondary_hits_total", "Resources served from the secondary store.", cache.getSecondaryHitCount());
+        counter(out, "moip_cache_misses_total", "Cache lookups that went to the API.", cache.getMissCount());
+        counter(out, "moip_cache_evictions_total", "Resources evicted to respect the cache bounds.", cache.getEvictionCount());
+        counter(out, "moip_cache_invalidations_total", "Resources invalidated after a change.", cache.getInvalidationCount());
+        counter(out, "moip_cache_revalidations_total", "Expired resources the API confirmed as current.", cache.getRevalidationCount());
+
+        header(out, "moip_cache_hit_ratio", "gauge", "Share of cache lookups served without a download.");
+        out.append("moip_cache_hit_ratio ").append(cache.getHitRatio()).append('\n');
+    }
+
+    private static void counter(StringBuilder out, String name, String help, long value) {
+        header(out, name, "counter", help);
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, Route route, String label, String value, long sample) {
+        labels(out.append(name), route, label, value).append(' ').append(sample).append('\n');
+    }
+
+    private static StringBuilder labels(StringBuilder out, Route route, String label, String value) {
+        out.append("{method=\"");
+        escape(out, route.getMethod());
+        out.append("\",route=\"");
+        escape(out, route.getTemplate());
+        out.append('"');
+
+        if (label != null) {
+            out.append(',').append(label).append("=\"");
+            escape(out, value);
+            out.append('"');
+        }
+
+        return out.append('}');
+    }
+
+    private static void escape(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                out.append('\\').append(c);
+            } else if (c == '\n') {
+                out.append("\\n");
+            } else {
+                out.append(c);
+            }
+        }
+    }
+
+    private static String seconds(long millis) {
+        return millis % 1000 == 0 ? (millis / 1000) + ".0" : Double.toString(millis / 1000.0);
+    }
+}
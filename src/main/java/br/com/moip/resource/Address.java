@@ -1,5 +1,8 @@
 package br.com.moip.resource;
 
+import br.com.moip.util.InternedStringAdapter;
+import com.google.gson.annotations.JsonAdapter;
+
 public class Address {
 
     private String streetNumber;
@@ -9,6 +12,7 @@ public class Address {
     private String district;
     private String zipCode;
     private String state;
+    @JsonAdapter(InternedStringAdapter.class)
     private String type;
     private String country;
 
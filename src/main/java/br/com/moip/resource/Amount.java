@@ -1,5 +1,8 @@
 package br.com.moip.resource;
 
+import br.com.moip.util.InternedStringAdapter;
+import com.google.gson.annotations.JsonAdapter;
+
 public class Amount {
 
     private Integer paid;
@@ -8,6 +11,7 @@ public class Amount {
     private Integer refunds;
     private Integer liquid;
     private Integer otherReceivers;
+    @JsonAdapter(InternedStringAdapter.class)
     private String currency;
     private Subtotals subtotals;
 
@@ -37,6 +41,37 @@ public class Amount {
 
     public Subtotals getSubtotals() { return subtotals; }
 
+    public long getPaidCents() { return paid == null ? 0 : paid; }
+
+    public long getTotalCents() { return total == null ? 0 : total; }
+
+    public long getFeesCents() { return fees == null ? 0 : fees; }
+
+    public long getRefundsCents() { return refunds == null ? 0 : refunds; }
+
+    public long getLiquidCents() { return liquid == null ? 0 : liquid; }
+
+    public long getOtherReceiversCents() { return otherReceivers == null ? 0 : otherReceivers; }
+
+    /**
+     * @return the total, in reais when the currency is missing
+     */
+    public Money toMoney() { return Money.of(getTotalCents(), currency == null ? Money.BRL : currency); }
+
+    public void setPaid(Integer paid) { this.paid = paid; }
+
+    public void setTotal(Integer total) { this.total = total; }
+
+    public void setFees(Integer fees) { this.fees = fees; }
+
+    public void setRefunds(Integer refunds) { this.refunds = refunds; }
+
+    public void setLiquid(Integer liquid) { this.liquid = liquid; }
+
+    public void setOtherReceivers(Integer otherReceivers) { this.otherReceivers = otherReceivers; }
+
+    public void setCurrency(String currency) { this.currency = currency; }
+
     @Override
     public String toString() {
         return new StringBuilder("Amount{")
@@ -1,5 +1,8 @@
 package br.com.moip.resource;
 
+import br.com.moip.util.InternedStringAdapter;
+import com.google.gson.annotations.JsonAdapter;
+
 import java.util.Date;
 
 public class BankAccount {
@@ -7,12 +10,15 @@ public class BankAccount {
     private String id;
     private String agencyNumber;
     private String agencyCheckNumber;
+    @JsonAdapter(InternedStringAdapter.class)
     private String bankName;
+    @JsonAdapter(InternedStringAdapter.class)
     private String bankNumber;
     private String accountNumber;
     private String accountCheckNumber;
     private Holder holder;
     private Type type;
+    @JsonAdapter(InternedStringAdapter.class)
     private String status;
     private Date createdAt;
     private Links links;
@@ -1,5 +1,8 @@
 package br.com.moip.resource;
 
+import br.com.moip.util.InternedStringAdapter;
+import com.google.gson.annotations.JsonAdapter;
+
 public class CreditCard {
 
     private Holder holder;
@@ -8,6 +11,7 @@ public class CreditCard {
 
     private String id;
     //Used on MPOS
+    @JsonAdapter(InternedStringAdapter.class)
     private String brand;
     private String first6;
     private String last4;
@@ -14,7 +14,7 @@ public class Customer {
     private TaxDocument taxDocument;
     private Phone phone;
     private Date birthDate;
-    private List<Address> addresses = new ArrayList<>();
+    private List<Address> addresses;
     private ShippingAddress shippingAddress;
     private String id;
     private FundingInstrument fundingInstrument;
@@ -42,6 +42,24 @@ public class Customer {
         return email;
     }
 
+    public Customer setId(final String id) {
+        this.id = id;
+
+        return this;
+    }
+
+    public Customer setOwnId(final String ownId) {
+        this.ownId = ownId;
+
+        return this;
+    }
+
+    public Customer setFullname(final String fullname) {
+        this.fullname = fullname;
+
+        return this;
+    }
+
     public Customer setEmail(final String email) {
         this.email = email;
 
@@ -56,7 +74,13 @@ public class Customer {
         return phone;
     }
 
-    public List<Address> getAddresses() { return addresses; }
+    public List<Address> getAddresses() {
+        if (addresses == null) {
+            addresses = new ArrayList<>();
+        }
+
+        return addresses;
+    }
 
     public ShippingAddress getShippingAddress() {
         return shippingAddress;
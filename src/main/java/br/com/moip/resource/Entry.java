@@ -1,5 +1,8 @@
 package br.com.moip.resource;
 
+import br.com.moip.util.InternedStringAdapter;
+import com.google.gson.annotations.JsonAdapter;
+
 import java.util.List;
 
 public class Entry {
@@ -10,6 +13,7 @@ public class Entry {
     private Status status;
     private MoipAccount moipAccount;
     private List<Fees> fees;
+    @JsonAdapter(InternedStringAdapter.class)
     private String type;
     private int grossAmount;
     private int moipAccountId;
@@ -64,11 +68,17 @@ public class Entry {
 
     public int getLiquidAmount() { return liquidAmount; }
 
+    // The ledger only holds reais
+    public Money getGrossMoney() { return Money.brl(grossAmount); }
+
+    public Money getLiquidMoney() { return Money.brl(liquidAmount); }
+
     private class Reschedule {}
 
     public class References {
 
         private String value;
+        @JsonAdapter(InternedStringAdapter.class)
         private String type;
 
         public String getValue() { return value; }
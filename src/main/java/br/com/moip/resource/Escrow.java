@@ -9,7 +9,7 @@ public class Escrow {
     private String id;
     private EscrowStatus status;
     private String description;
-    private Integer amount;
+    private int amount;
     private Date createdAt;
     private Date updatedAt;
     private EscrowLinks _links;
@@ -1,9 +1,14 @@
 package br.com.moip.resource;
 
+import br.com.moip.util.InternedStringAdapter;
+import com.google.gson.annotations.JsonAdapter;
+
 public class Event {
 
     private String createdAt;
+    @JsonAdapter(InternedStringAdapter.class)
     private String type;
+    @JsonAdapter(InternedStringAdapter.class)
     private String description;
 
     public String getCreatedAt() {
@@ -1,8 +1,12 @@
 package br.com.moip.resource;
 
+import br.com.moip.util.InternedStringAdapter;
+import com.google.gson.annotations.JsonAdapter;
+
 public class Fees {
 
     private int amount;
+    @JsonAdapter(InternedStringAdapter.class)
     private String type;
 
     public int getAmount() { return amount; }
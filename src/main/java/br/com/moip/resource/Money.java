@@ -0,0 +1,101 @@
+package br.com.moip.resource;
+
+/**
+ * An amount of money in cents. Cents are kept in a {@code long}, so totals over any number of
+ * resources don't overflow the {@code int} cents the API uses for a single resource.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final String BRL = "BRL";
+
+    private final long cents;
+    private final String currency;
+
+    private Money(final long cents, final String currency) {
+        this.cents = cents;
+        this.currency = currency;
+    }
+
+    public static Money of(long cents, String currency) {
+        if (currency == null) {
+            throw new IllegalArgumentException("currency is required");
+        }
+
+        return new Money(cents, currency);
+    }
+
+    public static Money brl(long cents) {
+        return new Money(cents, BRL);
+    }
+
+    public long getCents() {
+        return cents;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public Money plus(Money other) {
+        checkCurrency(other);
+
+        return new Money(cents + other.cents, currency);
+    }
+
+    public Money minus(Money other) {
+        checkCurrency(other);
+
+        return new Money(cents - other.cents, currency);
+    }
+
+    public Money plus(long cents) {
+        return new Money(this.cents + cents, currency);
+    }
+
+    public boolean isZero() {
+        return cents == 0;
+    }
+
+    public boolean isNegative() {
+        return cents < 0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkCurrency(other);
+
+        return cents < other.cents ? -1 : cents == other.cents ? 0 : 1;
+    }
+
+    private void checkCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Can't combine " + currency + " with " + other.currency);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Money)) return false;
+
+        Money other = (Money) o;
+        return cents == other.cents && currency.equals(other.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * currency.hashCode() + (int) (cents ^ (cents >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        long units = Math.abs(cents / 100);
+        long fraction = Math.abs(cents % 100);
+
+        return new StringBuilder(currency).append(' ')
+                .append(cents < 0 ? "-" : "")
+                .append(units).append('.')
+                .append(fraction < 10 ? "0" : "").append(fraction)
+                .toString();
+    }
+}
@@ -9,7 +9,7 @@ public class Multiorder {
 
     private String id;
     private String ownId;
-    private final List<Order> orders = new ArrayList<>();
+    private List<Order> orders;
     private OrderStatus status;
     private ApiDate createdAt;
     private ApiDate updatedAt;
@@ -25,6 +25,10 @@ public class Multiorder {
     }
 
     public List<Order> getOrders() {
+        if (orders == null) {
+            orders = new ArrayList<>();
+        }
+
         return orders;
     }
 
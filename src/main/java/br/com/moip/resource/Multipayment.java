@@ -11,8 +11,8 @@ public class Multipayment {
     private PaymentStatus status;
     private Amount amount;
     private int installmentCount;
-    private final FundingInstrument fundingInstrument = new FundingInstrument();
-    private final List<Payment> payments = new ArrayList<Payment>();
+    private FundingInstrument fundingInstrument;
+    private List<Payment> payments;
     private MultipaymentLinks _links;
 
 
@@ -49,10 +49,18 @@ public class Multipayment {
     }
 
     public FundingInstrument getFundingInstrument() {
+        if (fundingInstrument == null) {
+            fundingInstrument = new FundingInstrument();
+        }
+
         return fundingInstrument;
     }
 
     public List<Payment> getPayments() {
+        if (payments == null) {
+            payments = new ArrayList<>();
+        }
+
         return payments;
     }
 
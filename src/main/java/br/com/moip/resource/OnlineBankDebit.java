@@ -1,7 +1,11 @@
 package br.com.moip.resource;
 
+import br.com.moip.util.InternedStringAdapter;
+import com.google.gson.annotations.JsonAdapter;
+
 public class OnlineBankDebit {
 
+    @JsonAdapter(InternedStringAdapter.class)
     private String bankNumber;
     private ApiDate expirationDate;
     private String returnUri;
@@ -1,6 +1,8 @@
 package br.com.moip.resource;
 
 import br.com.moip.resource.links.OrderLinks;
+import br.com.moip.util.InternedStringAdapter;
+import com.google.gson.annotations.JsonAdapter;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -11,31 +13,31 @@ public class Order {
     private String id;
     private String ownId;
     private OrderStatus status;
+    @JsonAdapter(InternedStringAdapter.class)
     private String platform;
     private Date createdAt, updatedAt;
     private Amount amount;
-    private final List<Item> items;
-    private final List<Address> addresses = new ArrayList<>();
+    // Lists are created on first use, so an order whose response has none carries no lists
+    private List<Item> items;
+    private List<Address> addresses;
     private Customer customer;
-    private final List<Payment> payments = new ArrayList<>();
-    private final List<Escrow> escrows = new ArrayList<>();
-    private final List<Refund> refunds = new ArrayList<>();
-    private final List<Entry> entries = new ArrayList<>();
-    private final List<Event> events = new ArrayList<>();
-    private final List<Receiver> receivers = new ArrayList<>();
+    private List<Payment> payments;
+    private List<Escrow> escrows;
+    private List<Refund> refunds;
+    private List<Entry> entries;
+    private List<Event> events;
+    private List<Receiver> receivers;
     private CheckoutPreferences checkoutPreferences;
     private OrderLinks _links;
 
-    public Order() {
-        items = new ArrayList<Item>();
-    }
+    public Order() {}
 
     protected Order(final Order order) {
         this.id = order.getId();
         this.amount = order.getAmount();
         this.ownId = order.getOwnId();
         this.customer = order.getCustomer();
-        this.items = order.getItems();
+        this.items = order.items;
     }
 
     public String getId() {
@@ -61,26 +63,70 @@ public class Order {
     }
 
     public List<Item> getItems() {
+        if (items == null) {
+            items = new ArrayList<>();
+        }
+
         return items;
     }
 
-    public List<Address> getAddresses() { return addresses; }
+    public List<Address> getAddresses() {
+        if (addresses == null) {
+            addresses = new ArrayList<>();
+        }
+
+        return addresses;
+    }
 
     public Customer getCustomer() {
         return customer;
     }
 
-    public List<Payment> getPayments() { return payments; }
+    public List<Payment> getPayments() {
+        if (payments == null) {
+            payments = new ArrayList<>();
+        }
 
-    public List<Escrow> getEscrows() { return escrows; }
+        return payments;
+    }
 
-    public List<Refund> getRefunds() { return refunds; }
+    public List<Escrow> getEscrows() {
+        if (escrows == null) {
+            escrows = new ArrayList<>();
+        }
 
-    public List<Entry> getEntries() { return entries; }
+        return escrows;
+    }
 
-    public List<Event> getEvents() { return events; }
+    public List<Refund> getRefunds() {
+        if (refunds == null) {
+            refunds = new ArrayList<>();
+        }
+
+        return refunds;
+    }
+
+    public List<Entry> getEntries() {
+        if (entries == null) {
+            entries = new ArrayList<>();
+        }
+
+        return entries;
+    }
+
+    public List<Event> getEvents() {
+        if (events == null) {
+            events = new ArrayList<>();
+        }
+
+        return events;
+    }
 
     public List<Receiver> getReceivers() {
+        if (receivers == null) {
+            receivers = new ArrayList<>();
+        }
+
         return receivers;
     }
 
@@ -92,10 +138,28 @@ public class Order {
         return _links;
     }
 
+    public void setId(String id) { this.id = id; }
+
+    public void setOwnId(String ownId) { this.ownId = ownId; }
+
     public void setStatus(OrderStatus status) {
         this.status = status;
     }
 
+    public void setPlatform(String platform) { this.platform = platform; }
+
+    public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
+
+    public void setUpdatedAt(Date updatedAt) { this.updatedAt = updatedAt; }
+
+    public void setAmount(Amount amount) { this.amount = amount; }
+
+    public void setCustomer(Customer customer) { this.customer = customer; }
+
+    public void setItems(List<Item> items) { this.items = items; }
+
+    public void setPayments(List<Payment> payments) { this.payments = payments; }
+
     public void setCheckoutPreferences(CheckoutPreferences checkoutPreferences) { this.checkoutPreferences = checkoutPreferences; }
 
     public void setLinks(OrderLinks _links) { this._links = _links; }
@@ -126,9 +190,10 @@ public class Order {
 
     public static final class Item {
         private String product;
-        private Integer quantity;
+        private int quantity;
         private String detail;
-        private Integer price;
+        private int price;
+        @JsonAdapter(InternedStringAdapter.class)
         private String category;
 
         public String getProduct() {
@@ -149,6 +214,16 @@ public class Order {
 
         public String getCategory() { return category; }
 
+        public void setProduct(String product) { this.product = product; }
+
+        public void setQuantity(int quantity) { this.quantity = quantity; }
+
+        public void setDetail(String detail) { this.detail = detail; }
+
+        public void setPrice(int price) { this.price = price; }
+
+        public void setCategory(String category) { this.category = category; }
+
         @Override
         public String toString() {
             return new StringBuilder("Item{")
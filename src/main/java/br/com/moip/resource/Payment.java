@@ -11,7 +11,7 @@ public class Payment {
     private Amount amount;
     private int installmentCount;
     private String statementDescriptor;
-    private final FundingInstrument fundingInstrument = new FundingInstrument();
+    private FundingInstrument fundingInstrument;
     private Geolocation geolocation;
     private Boolean delayCapture;
     private List<Escrow> escrows;
@@ -54,9 +54,18 @@ public class Payment {
     public void setStatementDescriptor(String statementDescriptor) { this.statementDescriptor = statementDescriptor; }
 
     public FundingInstrument getFundingInstrument() {
+        // Created on first use instead of for every payment that comes without one
+        if (fundingInstrument == null) {
+            fundingInstrument = new FundingInstrument();
+        }
+
         return fundingInstrument;
     }
 
+    public void setFundingInstrument(FundingInstrument fundingInstrument) {
+        this.fundingInstrument = fundingInstrument;
+    }
+
     public Geolocation getGeolocation() {
         return geolocation;
     }
@@ -14,7 +14,7 @@ public class Person {
     private String birthPlace;
     private ParentsName parentsName;
     private Phone phone;
-    private List<Phone> alternativePhones = new ArrayList<Phone>();
+    private List<Phone> alternativePhones;
     private ShippingAddress address;
 
     public String getName() {
@@ -42,6 +42,10 @@ public class Person {
     }
 
     public List<Phone> getAlternativePhones() {
+        if (alternativePhones == null) {
+            alternativePhones = new ArrayList<>();
+        }
+
         return alternativePhones;
     }
 
@@ -10,7 +10,7 @@ public class Refund {
 
     private String id;
     private Status status;
-    private List<Event> events = new ArrayList<Event>();
+    private List<Event> events;
     private Amount amount;
     private Type type;
     private RefundingInstrument refundingInstrument;
@@ -38,6 +38,10 @@ public class Refund {
     }
 
     public List<Event> getEvents() {
+        if (events == null) {
+            events = new ArrayList<>();
+        }
+
         return events;
     }
 
@@ -0,0 +1,101 @@
+package br.com.moip.resource;
+
+import java.util.List;
+
+/**
+ * Sums of cents over lists of resources. They read the primitive fields directly and walk
+ * random access lists by index, so summing allocates nothing, and they return {@code long} cents
+ * so large aggregates don't overflow. Missing amounts count as zero.
+ */
+public final class Totals {
+
+    private Totals() {}
+
+    public static long entriesGross(List<Entry> entries) {
+        long sum = 0;
+        for (int i = 0, size = entries.size(); i < size; i++) {
+            sum += entries.get(i).getGrossAmount();
+        }
+
+        return sum;
+    }
+
+    public static long entriesLiquid(List<Entry> entries) {
+        long sum = 0;
+        for (int i = 0, size = entries.size(); i < size; i++) {
+            sum += entries.get(i).getLiquidAmount();
+        }
+
+        return sum;
+    }
+
+    public static long entriesFees(List<Entry> entries) {
+        long sum = 0;
+        for (int i = 0, size = entries.size(); i < size; i++) {
+            List<Fees> fees = entries.get(i).getFees();
+            if (fees == null) {
+                continue;
+            }
+
+            for (int j = 0, count = fees.size(); j < count; j++) {
+                sum += fees.get(j).getAmount();
+            }
+        }
+
+        return sum;
+    }
+
+    public static long ordersTotal(List<Order> orders) {
+        long sum = 0;
+        for (int i = 0, size = orders.size(); i < size; i++) {
+            Amount amount = orders.get(i).getAmount();
+            if (amount != null) {
+                sum += amount.getTotalCents();
+            }
+        }
+
+        return sum;
+    }
+
+    public static long ordersFees(List<Order> orders) {
+        long sum = 0;
+        for (int i = 0, size = orders.size(); i < size; i++) {
+            Amount amount = orders.get(i).getAmount();
+            if (amount != null) {
+                sum += amount.getFeesCents();
+            }
+        }
+
+        return sum;
+    }
+
+    public static long ordersLiquid(List<Order> orders) {
+        long sum = 0;
+        for (int i = 0, size = orders.size(); i < size; i++) {
+            Amount amount = orders.get(i).getAmount();
+            if (amount != null) {
+                sum += amount.getLiquidCents();
+            }
+        }
+
+        return sum;
+    }
+
+    public static long transfersAmount(List<Transfer> transfers) {
+        long sum = 0;
+        for (int i = 0, size = transfers.size(); i < size; i++) {
+            sum += transfers.get(i).getAmount();
+        }
+
+        return sum;
+    }
+
+    public static long transfersFee(List<Transfer> transfers) {
+        long sum = 0;
+        for (int i = 0, size = transfers.size(); i < size; i++) {
+            sum += transfers.get(i).getFee();
+        }
+
+        return sum;
+    }
+}
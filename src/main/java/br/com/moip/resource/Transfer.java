@@ -39,6 +39,10 @@ public class Transfer {
         return fee;
     }
 
+    public Money getAmountMoney() {
+        return Money.brl(amount);
+    }
+
     public void setFee(int fee) {
         this.fee = fee;
     }
@@ -0,0 +1,11 @@
+package br.com.moip.response;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+
+public interface BodyReader<T> {
+
+    T read(JsonReader reader, Gson gson) throws IOException;
+}
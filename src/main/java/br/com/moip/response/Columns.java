@@ -0,0 +1,92 @@
+package br.com.moip.response;
+
+/**
+ * Aggregations over the primitive columns of {@link OrderBatch} and {@link EntryBatch}. Each one is
+ * a single pass over plain arrays without allocation, the kind of loop the JIT unrolls and
+ * vectorizes.
+ */
+public final class Columns {
+
+    /**
+     * Marks a missing timestamp in a time column.
+     */
+    public static final long NO_TIME = Long.MIN_VALUE;
+
+    private Columns() {}
+
+    public static long sum(long[] values, int size) {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += values[i];
+        }
+
+        return sum;
+    }
+
+    public static long sumWhere(long[] values, int[] codes, int code, int size) {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += codes[i] == code ? values[i] : 0;
+        }
+
+        return sum;
+    }
+
+    public static int countWhere(int[] codes, int code, int size) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += codes[i] == code ? 1 : 0;
+        }
+
+        return count;
+    }
+
+    /**
+     * @return the sum of the values for each code from zero to {@code cardinality - 1}; rows
+     * without a code are left out
+     */
+    public static long[] sumByCode(long[] values, int[] codes, int cardinality, int size) {
+        long[] sums = new long[cardinality];
+        for (int i = 0; i < size; i++) {
+            int code = codes[i];
+            if (code >= 0) {
+                sums[code] += values[i];
+            }
+        }
+
+        return sums;
+    }
+
+    /**
+     * @return the sum of the values whose time falls in {@code [from, to)}
+     */
+    public static long sumBetween(long[] values, long[] times, long from, long to, int size) {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            long time = times[i];
+            sum += time >= from && time < to ? values[i] : 0;
+        }
+
+        return sum;
+    }
+
+    /**
+     * @return the sum of the values for each 24 hour bucket starting at {@code from}
+     */
+    public static long[] sumByDay(long[] values, long[] times, long from, int days, int size) {
+        long[] sums = new long[days];
+        for (int i = 0; i < size; i++) {
+            long time = times[i];
+            if (time == NO_TIME || time < from) {
+                continue;
+            }
+
+            long day = (time - from) / 86400000L;
+            if (day < days) {
+                sums[(int) day] += values[i];
+            }
+        }
+
+        return sums;
+    }
+}
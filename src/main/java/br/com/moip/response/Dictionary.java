@@ -0,0 +1,55 @@
+package br.com.moip.response;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps the distinct values of a string column to dense codes, so the column itself is an
+ * {@code int[]}. Absent values are coded as {@link #NONE}.
+ */
+public class Dictionary {
+
+    public static final int NONE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    public int code(String value) {
+        if (value == null) {
+            return NONE;
+        }
+
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+
+        return code;
+    }
+
+    /**
+     * @return the code of the value, or {@link #NONE} when the column never had it
+     */
+    public int find(String value) {
+        Integer code = codes.get(value);
+
+        return code == null ? NONE : code;
+    }
+
+    public String value(int code) {
+        return code == NONE ? null : values.get(code);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
@@ -0,0 +1,172 @@
+package br.com.moip.response;
+
+import br.com.moip.resource.Entry;
+
+import java.util.Arrays;
+
+/**
+ * A page of ledger entries held column by column: amounts in cents and timestamps in epoch
+ * milliseconds as primitive arrays, statuses as {@link Entry.Status} ordinals and entry types as
+ * {@link Dictionary} codes. Filled straight from the list JSON by {@link EntryBatchReader}.
+ *
+ * <p>The column getters return the backing arrays, trimmed to {@link #size()}.
+ */
+public class EntryBatch {
+
+    public static final int NO_STATUS = -1;
+
+    private static final Entry.Status[] STATUSES = Entry.Status.values();
+
+    private int size;
+    private int[] ids;
+    private String[] externalIds;
+    private int[] statuses;
+    private int[] types;
+    private long[] grossAmounts;
+    private long[] liquidAmounts;
+    private long[] fees;
+    private long[] createdAts;
+    private long[] scheduledFors;
+    private long[] settledAts;
+    private final Dictionary typeDictionary = new Dictionary();
+
+    public EntryBatch() {
+        this(16);
+    }
+
+    public EntryBatch(int capacity) {
+        ids = new int[capacity];
+        externalIds = new String[capacity];
+        statuses = new int[capacity];
+        types = new int[capacity];
+        grossAmounts = new long[capacity];
+        liquidAmounts = new long[capacity];
+        fees = new long[capacity];
+        createdAts = new long[capacity];
+        scheduledFors = new long[capacity];
+        settledAts = new long[capacity];
+    }
+
+    /**
+     * Starts a row with every column absent and returns its index.
+     */
+    int addRow() {
+        if (size == ids.length) {
+            resize(Math.max(16, size * 2));
+        }
+
+        ids[size] = 0;
+        externalIds[size] = null;
+        statuses[size] = NO_STATUS;
+        types[size] = Dictionary.NONE;
+        grossAmounts[size] = 0;
+        liquidAmounts[size] = 0;
+        fees[size] = 0;
+        createdAts[size] = Columns.NO_TIME;
+        scheduledFors[size] = Columns.NO_TIME;
+        settledAts[size] = Columns.NO_TIME;
+
+        return size++;
+    }
+
+    void trim() {
+        if (size != ids.length) {
+            resize(size);
+        }
+    }
+
+    private void resize(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        externalIds = Arrays.copyOf(externalIds, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        types = Arrays.copyOf(types, capacity);
+        grossAmounts = Arrays.copyOf(grossAmounts, capacity);
+        liquidAmounts = Arrays.copyOf(liquidAmounts, capacity);
+        fees = Arrays.copyOf(fees, capacity);
+        createdAts = Arrays.copyOf(createdAts, capacity);
+        scheduledFors = Arrays.copyOf(scheduledFors, capacity);
+        settledAts = Arrays.copyOf(settledAts, capacity);
+    }
+
+    public int size() { return size; }
+
+    public int[] getIds() { return ids; }
+
+    public String[] getExternalIds() { return externalIds; }
+
+    public int[] getStatuses() { return statuses; }
+
+    public int[] getTypes() { return types; }
+
+    public long[] getGrossAmounts() { return grossAmounts; }
+
+    public long[] getLiquidAmounts() { return liquidAmounts; }
+
+    /**
+     * @return the sum of the fees of each entry
+     */
+    public long[] getFees() { return fees; }
+
+    public long[] getCreatedAts() { return createdAts; }
+
+    public long[] getScheduledFors() { return scheduledFors; }
+
+    public long[] getSettledAts() { return settledAts; }
+
+    public Dictionary getTypeDictionary() { return typeDictionary; }
+
+    public Entry.Status getStatus(int row) {
+        return statuses[row] == NO_STATUS ? null : STATUSES[statuses[row]];
+    }
+
+    public String getType(int row) {
+        return typeDictionary.value(types[row]);
+    }
+
+    public long grossAmount() {
+        return Columns.sum(grossAmounts, size);
+    }
+
+    public long liquidAmount() {
+        return Columns.sum(liquidAmounts, size);
+    }
+
+    public long feesAmount() {
+        return Columns.sum(fees, size);
+    }
+
+    public long liquidAmount(Entry.Status status) {
+        return Columns.sumWhere(liquidAmounts, statuses, status.ordinal(), size);
+    }
+
+    /**
+     * @return the liquid amount of the entries of the type, zero when there is none
+     */
+    public long liquidAmount(String type) {
+        int code = typeDictionary.find(type);
+
+        return code == Dictionary.NONE ? 0 : Columns.sumWhere(liquidAmounts, types, code, size);
+    }
+
+    /**
+     * @return the liquid amount of the entries indexed by {@link #getTypeDictionary()} code
+     */
+    public long[] liquidAmountByType() {
+        return Columns.sumByCode(liquidAmounts, types, typeDictionary.size(), size);
+    }
+
+    /**
+     * @return the liquid amount scheduled for each 24 hour bucket starting at {@code from}
+     */
+    public long[] liquidAmountScheduledByDay(long from, int days) {
+        return Columns.sumByDay(liquidAmounts, scheduledFors, from, days, size);
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("EntryBatch{")
+                .append("size=").append(size)
+                .append(", types=").append(typeDictionary)
+                .append('}').toString();
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.moip.response;
+
+import br.com.moip.resource.Entry;
+import br.com.moip.util.IsoDates;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Reads an entry list response into an {@link EntryBatch}, one token at a time. Only the columns
+ * of the batch are read; every other value of an entry is skipped without being bound.
+ */
+public class EntryBatchReader implements BodyReader<EntryBatch> {
+
+    private final int capacity;
+
+    public EntryBatchReader() {
+        this(16);
+    }
+
+    public EntryBatchReader(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public EntryBatch read(JsonReader reader, Gson gson) throws IOException {
+        EntryBatch batch = new EntryBatch(capacity);
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            readEntry(reader, batch);
+        }
+        reader.endArray();
+
+        batch.trim();
+
+        return batch;
+    }
+
+    private void readEntry(JsonReader reader, EntryBatch batch) throws IOException {
+        int row = batch.addRow();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+
+            switch (name) {
+                case "id":
+                    batch.getIds()[row] = reader.nextInt();
+                    break;
+                case "external_id":
+                    batch.getExternalIds()[row] = reader.nextString();
+                    break;
+                case "status":
+                    batch.getStatuses()[row] = status(reader.nextString());
+                    break;
+                case "type":
+                    batch.getTypes()[row] = batch.getTypeDictionary().code(reader.nextString());
+                    break;
+                case "grossAmount":
+                    batch.getGrossAmounts()[row] = reader.nextLong();
+                    break;
+                case "liquidAmount":
+                    batch.getLiquidAmounts()[row] = reader.nextLong();
+                    break;
+                case "fees":
+                    batch.getFees()[row] = readFees(reader);
+                    break;
+                case "createdAt":
+                    batch.getCreatedAts()[row] = time(reader.nextString());
+                    break;
+                case "scheduledFor":
+                    batch.getScheduledFors()[row] = time(reader.nextString());
+                    break;
+                case "settledAt":
+                    batch.getSettledAts()[row] = time(reader.nextString());
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private long readFees(JsonReader reader) throws IOException {
+        long fees = 0;
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("amount") && reader.peek() == JsonToken.NUMBER) {
+                    fees += reader.nextLong();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        reader.endArray();
+
+        return fees;
+    }
+
+    private static int status(String value) {
+        try {
+            return Entry.Status.valueOf(value).ordinal();
+        } catch (IllegalArgumentException e) {
+            return EntryBatch.NO_STATUS;
+        }
+    }
+
+    private static long time(String value) {
+        long time = IsoDates.parse(value);
+
+        return time == IsoDates.INVALID ? Columns.NO_TIME : time;
+    }
+}
@@ -0,0 +1,177 @@
+package br.com.moip.response;
+
+import java.util.Arrays;
+
+/**
+ * Locates the elements of a JSON array without binding them: a single pass over the text that
+ * only tracks nesting depth and string boundaries.
+ */
+final class JsonArraySlicer {
+
+    private int[] bounds = new int[32];
+    private int count;
+    private int arrayStart = -1;
+    private int arrayEnd = -1;
+
+    private JsonArraySlicer() {
+    }
+
+    static JsonArraySlicer slice(final String json, final String field) {
+        JsonArraySlicer slicer = new JsonArraySlicer();
+        int start = field == null ? topLevelArray(json) : fieldArray(json, field);
+
+        if (start >= 0) {
+            slicer.scan(json, start);
+        }
+
+        return slicer;
+    }
+
+    boolean found() {
+        return arrayEnd > 0;
+    }
+
+    int count() {
+        return count;
+    }
+
+    int start(int index) {
+        return bounds[index * 2];
+    }
+
+    int end(int index) {
+        return bounds[index * 2 + 1];
+    }
+
+    int arrayStart() {
+        return arrayStart;
+    }
+
+    int arrayEnd() {
+        return arrayEnd;
+    }
+
+    private void scan(final String json, final int start) {
+        int length = json.length();
+        int depth = 0;
+        int elementStart = -1;
+        int i = start + 1;
+
+        while (i < length) {
+            char c = json.charAt(i);
+
+            if (c == '"') {
+                if (elementStart < 0) elementStart = i;
+                i = skipString(json, i);
+                continue;
+            }
+
+            if (depth == 0 && (c == ',' || c == ']')) {
+                if (elementStart >= 0) {
+                    add(elementStart, trimEnd(json, i));
+                }
+                elementStart = -1;
+
+                if (c == ']') {
+                    arrayStart = start;
+                    arrayEnd = i + 1;
+                    return;
+                }
+            } else if (!isWhitespace(c)) {
+                if (elementStart < 0) elementStart = i;
+
+                if (c == '{' || c == '[') depth++;
+                else if (c == '}' || c == ']') depth--;
+            }
+
+            i++;
+        }
+    }
+
+    private void add(int start, int end) {
+        if (count * 2 + 1 >= bounds.length) {
+            bounds = Arrays.copyOf(bounds, bounds.length * 2);
+        }
+
+        bounds[count * 2] = start;
+        bounds[count * 2 + 1] = end;
+        count++;
+    }
+
+    private static int topLevelArray(final String json) {
+        int i = skipWhitespace(json, 0);
+
+        return i < json.length() && json.charAt(i) == '[' ? i : -1;
+    }
+
+    private static int fieldArray(final String json, final String field) {
+        int length = json.length();
+        int depth = 0;
+        int i = 0;
+
+        while (i < length) {
+            char c = json.charAt(i);
+
+            if (c == '"') {
+                int end = skipString(json, i);
+
+                if (depth == 1 && end - i - 2 == field.length() && json.regionMatches(i + 1, field, 0, field.length())) {
+                    int colon = skipWhitespace(json, end);
+
+                    if (colon < length && json.charAt(colon) == ':') {
+                        int value = skipWhitespace(json, colon + 1);
+
+                        if (value < length && json.charAt(value) == '[') {
+                            return value;
+                        }
+                    }
+                }
+
+                i = end;
+                continue;
+            }
+
+            if (c == '{' || c == '[') depth++;
+            else if (c == '}' || c == ']') depth--;
+
+            i++;
+        }
+
+        return -1;
+    }
+
+    private static int skipString(final String json, final int quote) {
+        int length = json.length();
+        int i = quote + 1;
+
+        while (i < length) {
+            char c = json.charAt(i);
+
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '"') {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+
+        return length;
+    }
+
+    private static int skipWhitespace(final String json, int i) {
+        while (i < json.length() && isWhitespace(json.charAt(i))) i++;
+
+        return i;
+    }
+
+    private static int trimEnd(final String json, int end) {
+        while (end > 0 && isWhitespace(json.charAt(end - 1))) end--;
+
+        return end;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.moip.response;
+
+import br.com.moip.resource.invoice.Summary;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Decodes a list response one element at a time, handing each resource to the consumer as soon
+ * as it is bound, so only a single element of the page is alive at any moment.
+ */
+public class ListStreamReader<T> implements BodyReader<StreamedListResponse> {
+
+    private static final String SUMMARY = "summary";
+
+    private final Class<T> type;
+    private final String field;
+    private final ResourceConsumer<? super T> consumer;
+
+    public ListStreamReader(final Class<T> type, final String field, final ResourceConsumer<? super T> consumer) {
+        this.type = type;
+        this.field = field;
+        this.consumer = consumer;
+    }
+
+    @Override
+    public StreamedListResponse read(JsonReader reader, Gson gson) throws IOException {
+        TypeAdapter<T> adapter = gson.getAdapter(type);
+
+        if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+            return new StreamedListResponse(null, readArray(reader, adapter));
+        }
+
+        Summary summary = null;
+        int count = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+
+            if (name.equals(field) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                count = readArray(reader, adapter);
+            } else if (name.equals(SUMMARY) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                summary = gson.getAdapter(Summary.class).read(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new StreamedListResponse(summary, count);
+    }
+
+    private int readArray(JsonReader reader, TypeAdapter<T> adapter) throws IOException {
+        int count = 0;
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            consumer.accept(adapter.read(reader));
+            count++;
+        }
+        reader.endArray();
+
+        return count;
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.moip.response;
+
+import br.com.moip.resource.OrderStatus;
+import br.com.moip.resource.invoice.Summary;
+
+import java.util.Arrays;
+
+/**
+ * A page of orders held column by column: amounts in cents and timestamps in epoch milliseconds
+ * as primitive arrays, statuses as {@link OrderStatus} ordinals and currencies as
+ * {@link Dictionary} codes. Filled straight from the list JSON by {@link OrderBatchReader}, it
+ * is meant for aggregating over many orders without binding an {@code Order} graph for each.
+ *
+ * <p>The column getters return the backing arrays, trimmed to {@link #size()}.
+ */
+public class OrderBatch {
+
+    public static final int NO_STATUS = -1;
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private int size;
+    private String[] ids;
+    private int[] statuses;
+    private long[] totals;
+    private long[] fees;
+    private long[] liquids;
+    private long[] paids;
+    private long[] refunds;
+    private int[] currencies;
+    private long[] createdAts;
+    private long[] updatedAts;
+    private final Dictionary currencyDictionary = new Dictionary();
+    private Summary summary;
+
+    public OrderBatch() {
+        this(16);
+    }
+
+    public OrderBatch(int capacity) {
+        ids = new String[capacity];
+        statuses = new int[capacity];
+        totals = new long[capacity];
+        fees = new long[capacity];
+        liquids = new long[capacity];
+        paids = new long[capacity];
+        refunds = new long[capacity];
+        currencies = new int[capacity];
+        createdAts = new long[capacity];
+        updatedAts = new long[capacity];
+    }
+
+    /**
+     * Starts a row with every column absent and returns its index.
+     */
+    int addRow() {
+        if (size == ids.length) {
+            resize(Math.max(16, size * 2));
+        }
+
+        ids[size] = null;
+        statuses[size] = NO_STATUS;
+        totals[size] = 0;
+        fees[size] = 0;
+        liquids[size] = 0;
+        paids[size] = 0;
+        refunds[size] = 0;
+        currencies[size] = Dictionary.NONE;
+        createdAts[size] = Columns.NO_TIME;
+        updatedAts[size] = Columns.NO_TIME;
+
+        return size++;
+    }
+
+    void trim() {
+        if (size != ids.length) {
+            resize(size);
+        }
+    }
+
+    private void resize(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        totals = Arrays.copyOf(totals, capacity);
+        fees = Arrays.copyOf(fees, capacity);
+        liquids = Arrays.copyOf(liquids, capacity);
+        paids = Arrays.copyOf(paids, capacity);
+        refunds = Arrays.copyOf(refunds, capacity);
+        currencies = Arrays.copyOf(currencies, capacity);
+        createdAts = Arrays.copyOf(createdAts, capacity);
+        updatedAts = Arrays.copyOf(updatedAts, capacity);
+    }
+
+    void setSummary(Summary summary) {
+        this.summary = summary;
+    }
+
+    public int size() { return size; }
+
+    public String[] getIds() { return ids; }
+
+    public int[] getStatuses() { return statuses; }
+
+    public long[] getTotals() { return totals; }
+
+    public long[] getFees() { return fees; }
+
+    public long[] getLiquids() { return liquids; }
+
+    public long[] getPaids() { return paids; }
+
+    public long[] getRefunds() { return refunds; }
+
+    public int[] getCurrencies() { return currencies; }
+
+    public long[] getCreatedAts() { return createdAts; }
+
+    public long[] getUpdatedAts() { return updatedAts; }
+
+    public Dictionary getCurrencyDictionary() { return currencyDictionary; }
+
+    public Summary getSummary() { return summary; }
+
+    public OrderStatus getStatus(int row) {
+        return statuses[row] == NO_STATUS ? null : STATUSES[statuses[row]];
+    }
+
+    public String getCurrency(int row) {
+        return currencyDictionary.value(currencies[row]);
+    }
+
+    public long totalAmount() {
+        return Columns.sum(totals, size);
+    }
+
+    public long totalAmount(OrderStatus status) {
+        return Columns.sumWhere(totals, statuses, status.ordinal(), size);
+    }
+
+    public int count(OrderStatus status) {
+        return Columns.countWhere(statuses, status.ordinal(), size);
+    }
+
+    /**
+     * @return the total amount of the orders indexed by {@link OrderStatus} ordinal
+     */
+    public long[] totalAmountByStatus() {
+        return Columns.sumByCode(totals, statuses, STATUSES.length, size);
+    }
+
+    public long totalAmountCreatedBetween(long from, long to) {
+        return Columns.sumBetween(totals, createdAts, from, to, size);
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("OrderBatch{")
+                .append("size=").append(size)
+                .append(", currencies=").append(currencyDictionary)
+                .append('}').toString();
+    }
+}
@@ -0,0 +1,142 @@
+package br.com.moip.response;
+
+import br.com.moip.resource.OrderStatus;
+import br.com.moip.resource.invoice.Summary;
+import br.com.moip.util.IsoDates;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Reads an order list response into an {@link OrderBatch}, one token at a time. Only the columns
+ * of the batch are read; every other value of an order is skipped without being bound.
+ */
+public class OrderBatchReader implements BodyReader<OrderBatch> {
+
+    private static final String ORDERS = "orders";
+    private static final String SUMMARY = "summary";
+
+    private final int capacity;
+
+    public OrderBatchReader() {
+        this(16);
+    }
+
+    public OrderBatchReader(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public OrderBatch read(JsonReader reader, Gson gson) throws IOException {
+        OrderBatch batch = new OrderBatch(capacity);
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+
+            if (name.equals(ORDERS) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    readOrder(reader, batch);
+                }
+                reader.endArray();
+            } else if (name.equals(SUMMARY) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                batch.setSummary(gson.getAdapter(Summary.class).read(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        batch.trim();
+
+        return batch;
+    }
+
+    private void readOrder(JsonReader reader, OrderBatch batch) throws IOException {
+        int row = batch.addRow();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+
+            switch (name) {
+                case "id":
+                    batch.getIds()[row] = reader.nextString();
+                    break;
+                case "status":
+                    batch.getStatuses()[row] = status(reader.nextString());
+                    break;
+                case "amount":
+                    readAmount(reader, batch, row);
+                    break;
+                case "createdAt":
+                    batch.getCreatedAts()[row] = time(reader.nextString());
+                    break;
+                case "updatedAt":
+                    batch.getUpdatedAts()[row] = time(reader.nextString());
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private void readAmount(JsonReader reader, OrderBatch batch, int row) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+
+            switch (name) {
+                case "total":
+                    batch.getTotals()[row] = reader.nextLong();
+                    break;
+                case "fees":
+                    batch.getFees()[row] = reader.nextLong();
+                    break;
+                case "liquid":
+                    batch.getLiquids()[row] = reader.nextLong();
+                    break;
+                case "paid":
+                    batch.getPaids()[row] = reader.nextLong();
+                    break;
+                case "refunds":
+                    batch.getRefunds()[row] = reader.nextLong();
+                    break;
+                case "currency":
+                    batch.getCurrencies()[row] = batch.getCurrencyDictionary().code(reader.nextString());
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static int status(String value) {
+        try {
+            return OrderStatus.valueOf(value).ordinal();
+        } catch (IllegalArgumentException e) {
+            return OrderBatch.NO_STATUS;
+        }
+    }
+
+    private static long time(String value) {
+        long time = IsoDates.parse(value);
+
+        return time == IsoDates.INVALID ? Columns.NO_TIME : time;
+    }
+}
@@ -27,6 +27,10 @@ public class OrderListResponse {
         return orders;
     }
 
+    public void setOrders(List<Order> orders) {
+        this.orders = orders;
+    }
+
     public Summary getSummary() {
         return summary;
     }
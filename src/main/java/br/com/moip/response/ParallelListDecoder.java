@@ -0,0 +1,172 @@
+package br.com.moip.response;
+
+import br.com.moip.resource.Entry;
+import br.com.moip.resource.Order;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Binds the elements of large {@link OrderListResponse} and {@link EntriesListResponse} pages on
+ * a fork-join pool. The array is sliced in a single pass, each chunk of elements is decoded on a
+ * worker and written back to its own index, so the original order is preserved. Pages smaller
+ * than the threshold are decoded on the calling thread as usual.
+ *
+ * <p>Without a pool the decoder creates one sized to the processors; {@link #close()} shuts that
+ * one down, while a pool passed in is left to its owner.
+ */
+public class ParallelListDecoder implements Closeable {
+
+    public static final int DEFAULT_THRESHOLD = 64;
+
+    private static final String ORDERS = "orders";
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final int threshold;
+
+    public ParallelListDecoder() {
+        this(DEFAULT_THRESHOLD);
+    }
+
+    public ParallelListDecoder(final int threshold) {
+        this(new ForkJoinPool(), true, threshold);
+    }
+
+    public ParallelListDecoder(final ForkJoinPool pool, final int threshold) {
+        this(pool, false, threshold);
+    }
+
+    private ParallelListDecoder(final ForkJoinPool pool, final boolean ownsPool, final int threshold) {
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.threshold = threshold;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public boolean supports(final Class<?> type) {
+        return type == OrderListResponse.class || type == EntriesListResponse.class;
+    }
+
+    public <T> T decode(final String body, final Class<T> type, final Gson gson) {
+        if (type == OrderListResponse.class) {
+            return type.cast(decodeOrders(body, gson));
+        }
+
+        if (type == EntriesListResponse.class) {
+            return type.cast(decodeEntries(body, gson));
+        }
+
+        return gson.fromJson(body, type);
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    private OrderListResponse decodeOrders(final String body, final Gson gson) {
+        JsonArraySlicer slicer = JsonArraySlicer.slice(body, ORDERS);
+
+        if (!worthSplitting(slicer)) {
+            return gson.fromJson(body, OrderListResponse.class);
+        }
+
+        String envelope = body.substring(0, slicer.arrayStart()) + "[]" + body.substring(slicer.arrayEnd());
+        OrderListResponse response = gson.fromJson(envelope, OrderListResponse.class);
+        response.setOrders(bind(body, slicer, Order.class, gson));
+
+        return response;
+    }
+
+    private EntriesListResponse decodeEntries(final String body, final Gson gson) {
+        JsonArraySlicer slicer = JsonArraySlicer.slice(body, null);
+
+        if (!worthSplitting(slicer)) {
+            return gson.fromJson(body, EntriesListResponse.class);
+        }
+
+        EntriesListResponse response = new EntriesListResponse();
+        response.addAll(bind(body, slicer, Entry.class, gson));
+
+        return response;
+    }
+
+    private boolean worthSplitting(final JsonArraySlicer slicer) {
+        return slicer.found() && slicer.count() >= threshold && pool.getParallelism() > 1;
+    }
+
+    private <T> List<T> bind(final String body, final JsonArraySlicer slicer, final Class<T> type, final Gson gson) {
+        Object[] results = new Object[slicer.count()];
+        int chunk = Math.max(1, slicer.count() / (pool.getParallelism() * CHUNKS_PER_WORKER));
+
+        pool.invoke(new BindTask<>(body, slicer, gson.getAdapter(type), results, 0, slicer.count(), chunk));
+
+        @SuppressWarnings("unchecked")
+        List<T> list = (List<T>) new ArrayList<>(Arrays.asList(results));
+
+        return list;
+    }
+
+    private static class BindTask<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String body;
+        private final JsonArraySlicer slicer;
+        private final TypeAdapter<T> adapter;
+        private final Object[] results;
+        private final int from, to, chunk;
+
+        BindTask(String body, JsonArraySlicer slicer, TypeAdapter<T> adapter, Object[] results, int from, int to, int chunk) {
+            this.body = body;
+            this.slicer = slicer;
+            this.adapter = adapter;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                for (int i = from; i < to; i++) {
+                    results[i] = read(body.substring(slicer.start(i), slicer.end(i)));
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new BindTask<>(body, slicer, adapter, results, from, middle, chunk),
+                    new BindTask<>(body, slicer, adapter, results, middle, to, chunk));
+        }
+
+        private T read(String json) {
+            try {
+                JsonReader reader = new JsonReader(new StringReader(json));
+                reader.setLenient(true);
+
+                return adapter.read(reader);
+            } catch (IOException e) {
+                throw new JsonParseException(e);
+            }
+        }
+    }
+}
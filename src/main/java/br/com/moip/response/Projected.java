@@ -0,0 +1,90 @@
+package br.com.moip.response;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A resource bound with only the fields of its {@link Projection}, plus the raw JSON of the lazy
+ * ones.
+ */
+public class Projected<T> {
+
+    private final T resource;
+    private final Map<String, String> raw;
+    private final Map<String, List<?>> decoded = new HashMap<>();
+    private final Gson gson;
+
+    Projected(final T resource, final Map<String, String> raw, final Gson gson) {
+        this.resource = resource;
+        this.raw = raw;
+        this.gson = gson;
+    }
+
+    public T get() {
+        return resource;
+    }
+
+    public boolean has(String field) {
+        return raw.containsKey(field);
+    }
+
+    /**
+     * Decodes a lazy list field on first access.
+     *
+     * @return the elements, or an empty list when the field was null, absent or not lazy
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <E> List<E> list(String field, Class<E> type) {
+        List<?> list = decoded.get(field);
+
+        if (list == null) {
+            list = decode(raw.get(field), type);
+            decoded.put(field, list);
+        }
+
+        return (List<E>) list;
+    }
+
+    private <E> List<E> decode(String json, Class<E> type) {
+        if (json == null) {
+            return Collections.emptyList();
+        }
+
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            if (reader.peek() == JsonToken.NULL) {
+                return Collections.emptyList();
+            }
+
+            TypeAdapter<E> adapter = gson.getAdapter(type);
+            List<E> list = new ArrayList<>();
+
+            reader.beginArray();
+            while (reader.hasNext()) {
+                list.add(adapter.read(reader));
+            }
+            reader.endArray();
+
+            return list;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not decode " + json, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("Projected{")
+                .append("resource=").append(resource)
+                .append(", lazy=").append(raw.keySet())
+                .append('}').toString();
+    }
+}
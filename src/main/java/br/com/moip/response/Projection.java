@@ -0,0 +1,96 @@
+package br.com.moip.response;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The fields of a resource a caller actually reads, as dotted paths such as {@code amount.total}.
+ * A path through a list applies to each of its elements, so {@code payments.status} keeps the
+ * status of every payment. Naming a field keeps it whole.
+ *
+ * Top level fields declared {@link #lazy(String...) lazy} aren't bound at all; their JSON is kept
+ * and decoded the first time {@link Projected#list(String, Class)} asks for them.
+ */
+public class Projection {
+
+    private final Node root = new Node();
+    private final Set<String> lazy = new HashSet<>();
+
+    public static Projection fields(String... paths) {
+        Projection projection = new Projection();
+        for (String path : paths) {
+            projection.field(path);
+        }
+
+        return projection;
+    }
+
+    public Projection field(String path) {
+        Node node = root;
+        for (String name : path.split("\\.")) {
+            if (node.whole) {
+                return this;
+            }
+            node = node.child(name);
+        }
+        node.whole = true;
+        node.children.clear();
+
+        return this;
+    }
+
+    public Projection lazy(String... fields) {
+        lazy.addAll(Arrays.asList(fields));
+
+        return this;
+    }
+
+    public Set<String> getLazyFields() {
+        return Collections.unmodifiableSet(lazy);
+    }
+
+    Node root() {
+        return root;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("Projection{")
+                .append("fields=").append(root)
+                .append(", lazy=").append(lazy)
+                .append('}').toString();
+    }
+
+    static final class Node {
+
+        private boolean whole;
+        private final Map<String, Node> children = new LinkedHashMap<>();
+
+        boolean isWhole() {
+            return whole;
+        }
+
+        Node get(String name) {
+            return children.get(name);
+        }
+
+        private Node child(String name) {
+            Node child = children.get(name);
+            if (child == null) {
+                child = new Node();
+                children.put(name, child);
+            }
+
+            return child;
+        }
+
+        @Override
+        public String toString() {
+            return children.toString();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package br.com.moip.response;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads a resource keeping only the fields of a {@link Projection}. Everything else is passed over
+ * with {@link JsonReader#skipValue()}, so the objects behind it are never built.
+ */
+public class ProjectionReader<T> implements BodyReader<Projected<T>> {
+
+    private final Class<T> type;
+    private final Projection projection;
+    private final JsonParser parser = new JsonParser();
+
+    public ProjectionReader(final Class<T> type, final Projection projection) {
+        this.type = type;
+        this.projection = projection;
+    }
+
+    @Override
+    public Projected<T> read(JsonReader reader, Gson gson) throws IOException {
+        Map<String, String> raw = new HashMap<>();
+        JsonObject kept = new JsonObject();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            Projection.Node node = projection.root().get(name);
+
+            if (projection.getLazyFields().contains(name)) {
+                raw.put(name, copy(reader));
+            } else if (node == null) {
+                reader.skipValue();
+            } else {
+                kept.add(name, read(reader, node));
+            }
+        }
+        reader.endObject();
+
+        return new Projected<>(gson.fromJson(kept, type), raw, gson);
+    }
+
+    private JsonElement read(JsonReader reader, Projection.Node node) throws IOException {
+        if (node.isWhole()) {
+            return parser.parse(reader);
+        }
+
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                JsonObject object = new JsonObject();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    Projection.Node child = node.get(name);
+
+                    if (child == null) {
+                        reader.skipValue();
+                    } else {
+                        object.add(name, read(reader, child));
+                    }
+                }
+                reader.endObject();
+
+                return object;
+            case BEGIN_ARRAY:
+                JsonArray array = new JsonArray();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    array.add(read(reader, node));
+                }
+                reader.endArray();
+
+                return array;
+            default:
+                return parser.parse(reader);
+        }
+    }
+
+    /**
+     * Copies the next value token by token, which keeps its text without binding it.
+     */
+    private static String copy(JsonReader reader) throws IOException {
+        StringWriter text = new StringWriter();
+        JsonWriter writer = new JsonWriter(text);
+        writer.setLenient(true);
+        int depth = 0;
+
+        do {
+            switch (reader.peek()) {
+                case BEGIN_ARRAY:
+                    reader.beginArray();
+                    writer.beginArray();
+                    depth++;
+                    break;
+                case END_ARRAY:
+                    reader.endArray();
+                    writer.endArray();
+                    depth--;
+                    break;
+                case BEGIN_OBJECT:
+                    reader.beginObject();
+                    writer.beginObject();
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    reader.endObject();
+                    writer.endObject();
+                    depth--;
+                    break;
+                case NAME:
+                    writer.name(reader.nextName());
+                    break;
+                case STRING:
+                    writer.value(reader.nextString());
+                    break;
+                case NUMBER:
+                    writer.jsonValue(reader.nextString());
+                    break;
+                case BOOLEAN:
+                    writer.value(reader.nextBoolean());
+                    break;
+                case NULL:
+                    reader.nextNull();
+                    writer.nullValue();
+                    break;
+                default:
+                    throw new IOException("Unexpected " + reader.peek() + " at " + reader.getPath());
+            }
+        } while (depth > 0);
+
+        writer.flush();
+
+        return text.toString();
+    }
+}
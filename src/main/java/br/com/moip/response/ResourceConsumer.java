@@ -0,0 +1,6 @@
+package br.com.moip.response;
+
+public interface ResourceConsumer<T> {
+
+    void accept(T resource);
+}
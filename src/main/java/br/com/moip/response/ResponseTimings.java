@@ -0,0 +1,48 @@
+package br.com.moip.response;
+
+/**
+ * Time spent on each phase of a single call: until the status line arrived, reading the body and
+ * binding it to objects. When the body is decoded while it is read, decoding is reported as part
+ * of the transfer.
+ */
+public class ResponseTimings {
+
+    private long timeToFirstByteNanos;
+    private long transferNanos;
+    private long decodeNanos;
+
+    public void record(long timeToFirstByteNanos, long transferNanos, long decodeNanos) {
+        this.timeToFirstByteNanos = timeToFirstByteNanos;
+        this.transferNanos = transferNanos;
+        this.decodeNanos = decodeNanos;
+    }
+
+    public void reset() {
+        record(0, 0, 0);
+    }
+
+    public long getTimeToFirstByteNanos() {
+        return timeToFirstByteNanos;
+    }
+
+    public long getTransferNanos() {
+        return transferNanos;
+    }
+
+    public long getDecodeNanos() {
+        return decodeNanos;
+    }
+
+    public long getTotalNanos() {
+        return timeToFirstByteNanos + transferNanos + decodeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("ResponseTimings{")
+                .append("timeToFirstByteNanos=").append(timeToFirstByteNanos)
+                .append(", transferNanos=").append(transferNanos)
+                .append(", decodeNanos=").append(decodeNanos)
+                .append('}').toString();
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.moip.response;
+
+import br.com.moip.resource.invoice.Summary;
+
+public class StreamedListResponse {
+
+    private final Summary summary;
+    private final int count;
+
+    public StreamedListResponse(final Summary summary, final int count) {
+        this.summary = summary;
+        this.count = count;
+    }
+
+    public Summary getSummary() {
+        return summary;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("StreamedListResponse{")
+                .append("summary=").append(summary)
+                .append(", count=").append(count)
+                .append('}').toString();
+    }
+}
@@ -1,5 +1,8 @@
 package br.com.moip.ssl;
 
+import br.com.moip.event.Call;
+import br.com.moip.event.EventListener;
+
 import javax.net.ssl.*;
 import java.io.IOException;
 import java.net.InetAddress;
@@ -19,6 +22,9 @@ public class SSLSupport extends SSLSocketFactory {
     private String[] mCiphers;
     private String[] mProtocols;
 
+    // State of the connection being opened on each thread, as one factory serves every call of a client
+    private final ThreadLocal<Connecting> connecting = new ThreadLocal<>();
+
     public SSLSupport() throws NoSuchAlgorithmException, KeyManagementException, IOException {
         initSSLSocketFactoryEx(null,null,null);
     }
@@ -51,6 +57,28 @@ public class SSLSupport extends SSLSocketFactory {
         return mProtocols;
     }
 
+    /**
+     * Starts watching the sockets this thread creates until {@link #connected()}. The listener
+     * hears when TLS is layered over a connected socket, which is where the TCP connect ends and
+     * the handshake begins.
+     */
+    public void connecting(EventListener eventListener, Call call)
+    {
+        connecting.set(new Connecting(eventListener, call));
+    }
+
+    /**
+     * @return whether this thread created a socket since {@link #connecting(EventListener, Call)},
+     * which tells a new connection from one the JDK kept alive
+     */
+    public boolean connected()
+    {
+        Connecting current = connecting.get();
+        connecting.remove();
+
+        return current != null && current.socketCreated;
+    }
+
     public Socket createSocket(Socket s, String host, int port, boolean autoClose) throws IOException
     {
         SSLSocketFactory factory = mCtx.getSocketFactory();
@@ -59,6 +87,13 @@ public class SSLSupport extends SSLSocketFactory {
         ss.setEnabledProtocols(mProtocols);
         ss.setEnabledCipherSuites(mCiphers);
 
+        Connecting current = connecting.get();
+        if (current != null)
+        {
+            current.socketCreated = true;
+            current.eventListener.secureConnectStart(current.call, System.nanoTime());
+        }
+
         return ss;
     }
 
@@ -69,6 +104,7 @@ public class SSLSupport extends SSLSocketFactory {
 
         ss.setEnabledProtocols(mProtocols);
         ss.setEnabledCipherSuites(mCiphers);
+        socketCreated();
 
         return ss;
     }
@@ -80,6 +116,7 @@ public class SSLSupport extends SSLSocketFactory {
 
         ss.setEnabledProtocols(mProtocols);
         ss.setEnabledCipherSuites(mCiphers);
+        socketCreated();
 
         return ss;
     }
@@ -91,6 +128,7 @@ public class SSLSupport extends SSLSocketFactory {
 
         ss.setEnabledProtocols(mProtocols);
         ss.setEnabledCipherSuites(mCiphers);
+        socketCreated();
 
         return ss;
     }
@@ -102,6 +140,7 @@ public class SSLSupport extends SSLSocketFactory {
 
         ss.setEnabledProtocols(mProtocols);
         ss.setEnabledCipherSuites(mCiphers);
+        socketCreated();
 
         return ss;
     }
@@ -246,4 +285,26 @@ public class SSLSupport extends SSLSocketFactory {
 
         return aa.toArray(new String[0]);
     }
+
+    private void socketCreated()
+    {
+        Connecting current = connecting.get();
+        if (current != null)
+        {
+            current.socketCreated = true;
+        }
+    }
+
+    private static final class Connecting
+    {
+        private final EventListener eventListener;
+        private final Call call;
+        private boolean socketCreated;
+
+        Connecting(EventListener eventListener, Call call)
+        {
+            this.eventListener = eventListener;
+            this.call = call;
+        }
+    }
 }
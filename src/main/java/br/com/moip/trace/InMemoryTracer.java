@@ -0,0 +1,105 @@
+package br.com.moip.trace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps every span it opens in memory once it ends, so tests can assert on what a call traced.
+ * Spans without a parent start a new, sampled trace.
+ */
+public class InMemoryTracer implements Tracer {
+
+    private final List<RecordedSpan> finished = new ArrayList<>();
+
+    @Override
+    public Span startSpan(String name, TraceContext parent) {
+        TraceContext context = parent == null ? TraceContext.root(true) : parent.child();
+
+        return new RecordedSpan(name, context, parent);
+    }
+
+    /**
+     * @return the spans ended so far, in the order they ended
+     */
+    public synchronized List<RecordedSpan> getFinishedSpans() {
+        return new ArrayList<>(finished);
+    }
+
+    public synchronized void reset() {
+        finished.clear();
+    }
+
+    private synchronized void finish(RecordedSpan span) {
+        finished.add(span);
+    }
+
+    public class RecordedSpan implements Span {
+
+        private final String name;
+        private final TraceContext context;
+        private final TraceContext parent;
+        private final long startNanos = System.nanoTime();
+        private final Map<String, Object> attributes = new LinkedHashMap<>();
+        private Exception exception;
+        private long endNanos;
+
+        RecordedSpan(String name, TraceContext context, TraceContext parent) {
+            this.name = name;
+            this.context = context;
+            this.parent = parent;
+        }
+
+        public String getName() { return name; }
+
+        @Override
+        public TraceContext getContext() { return context; }
+
+        /**
+         * @return the context the span was opened under, or null for a root span
+         */
+        public TraceContext getParent() { return parent; }
+
+        public synchronized Map<String, Object> getAttributes() {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+        }
+
+        public synchronized Exception getException() { return exception; }
+
+        public synchronized long getDurationNanos() { return endNanos - startNanos; }
+
+        @Override
+        public synchronized void setAttribute(String key, String value) {
+            attributes.put(key, value);
+        }
+
+        @Override
+        public synchronized void setAttribute(String key, long value) {
+            attributes.put(key, value);
+        }
+
+        @Override
+        public synchronized void recordException(Exception e) {
+            exception = e;
+        }
+
+        @Override
+        public void end() {
+            synchronized (this) {
+                if (endNanos != 0) {
+                    return;
+                }
+                endNanos = System.nanoTime();
+            }
+            finish(this);
+        }
+
+        @Override
+        public String toString() {
+            return "RecordedSpan{name='" + name + "', context=" + context + ", parent=" + parent
+                    + ", attributes=" + getAttributes() + "}";
+        }
+    }
+}
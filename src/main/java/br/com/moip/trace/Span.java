@@ -0,0 +1,39 @@
+package br.com.moip.trace;
+
+/**
+ * A span opened by a {@link Tracer} for one call. {@code Client} ends it exactly once, when the
+ * call ends or fails.
+ */
+public interface Span {
+
+    Span NONE = new Span() {
+        @Override
+        public TraceContext getContext() { return null; }
+
+        @Override
+        public void setAttribute(String key, String value) {}
+
+        @Override
+        public void setAttribute(String key, long value) {}
+
+        @Override
+        public void recordException(Exception e) {}
+
+        @Override
+        public void end() {}
+    };
+
+    /**
+     * @return the context sent to the server in the {@code traceparent} header, or null to send
+     * none
+     */
+    TraceContext getContext();
+
+    void setAttribute(String key, String value);
+
+    void setAttribute(String key, long value);
+
+    void recordException(Exception e);
+
+    void end();
+}
@@ -0,0 +1,208 @@
+package br.com.moip.trace;
+
+import java.io.Closeable;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The trace and span ids of a span, as carried by a W3C {@code traceparent} header. The context
+ * made current on a thread becomes the parent of the spans {@code Client} opens there; as it lives
+ * in a thread local, work handed to an executor takes it along through {@link #wrap(Runnable)}.
+ *
+ * <pre>
+ * try (TraceContext.Scope scope = TraceContext.parse(request.getHeader("traceparent")).makeCurrent()) {
+ *     Moip.API.orders().get("ORD-1", setup);
+ * }
+ * </pre>
+ */
+public final class TraceContext {
+
+    public static final String HEADER = "traceparent";
+
+    private static final ThreadLocal<TraceContext> CURRENT = new ThreadLocal<>();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String traceId;
+    private final String spanId;
+    private final boolean sampled;
+
+    private TraceContext(String traceId, String spanId, boolean sampled) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.sampled = sampled;
+    }
+
+    /**
+     * @return a context starting a new trace
+     */
+    public static TraceContext root(boolean sampled) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new TraceContext(hex(random.nextLong()) + hex(random.nextLong()), hex(random.nextLong()), sampled);
+    }
+
+    /**
+     * @return a context for a span under this one, in the same trace
+     */
+    public TraceContext child() {
+        return new TraceContext(traceId, hex(ThreadLocalRandom.current().nextLong()), sampled);
+    }
+
+    /**
+     * @return the context of a {@code traceparent} header, or null when it is missing or malformed
+     */
+    public static TraceContext parse(String traceparent) {
+        if (traceparent == null) {
+            return null;
+        }
+
+        String value = traceparent.trim();
+        if (value.length() < 55 || value.charAt(2) != '-' || value.charAt(35) != '-' || value.charAt(52) != '-'
+                || (value.length() > 55 && value.charAt(55) != '-') || value.startsWith("ff")) {
+            return null;
+        }
+
+        String traceId = value.substring(3, 35);
+        String spanId = value.substring(36, 52);
+        String flags = value.substring(53, 55);
+        if (!isHex(value.substring(0, 2)) || !isHex(traceId) || !isHex(spanId) || !isHex(flags)
+                || isZero(traceId) || isZero(spanId)) {
+            return null;
+        }
+
+        return new TraceContext(traceId, spanId, (Character.digit(flags.charAt(1), 16) & 1) == 1);
+    }
+
+    /**
+     * @return the context made current on this thread, or null
+     */
+    public static TraceContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes this the current context of the thread until the scope is closed, which brings the
+     * previous one back. A null context makes the thread have none.
+     */
+    public Scope makeCurrent() {
+        return makeCurrent(this);
+    }
+
+    private static Scope makeCurrent(TraceContext context) {
+        TraceContext previous = CURRENT.get();
+        CURRENT.set(context);
+
+        return new Scope(previous);
+    }
+
+    /**
+     * @return a task that runs with the context current on this thread at the time of the call
+     */
+    public static Runnable wrap(final Runnable task) {
+        final TraceContext context = current();
+        return new Runnable() {
+            @Override
+            public void run() {
+                Scope scope = makeCurrent(context);
+                try {
+                    task.run();
+                } finally {
+                    scope.close();
+                }
+            }
+        };
+    }
+
+    public static <T> Callable<T> wrap(final Callable<T> task) {
+        final TraceContext context = current();
+        return new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                Scope scope = makeCurrent(context);
+                try {
+                    return task.call();
+                } finally {
+                    scope.close();
+                }
+            }
+        };
+    }
+
+    public String getTraceId() { return traceId; }
+
+    public String getSpanId() { return spanId; }
+
+    public boolean isSampled() { return sampled; }
+
+    /**
+     * @return the value of the {@code traceparent} header naming this span as the parent
+     */
+    public String toTraceparent() {
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    private static String hex(long value) {
+        char[] chars = new char[16];
+        for (int i = 15; i >= 0; i--) {
+            chars[i] = HEX[(int) (value & 0xf)];
+            value >>>= 4;
+        }
+
+        return new String(chars);
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isZero(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != '0') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TraceContext)) return false;
+        TraceContext that = (TraceContext) o;
+        return sampled == that.sampled && traceId.equals(that.traceId) && spanId.equals(that.spanId);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * traceId.hashCode() + spanId.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toTraceparent();
+    }
+
+    /**
+     * Restores the context that was current before {@link #makeCurrent()}.
+     */
+    public static final class Scope implements Closeable {
+
+        private final TraceContext previous;
+
+        private Scope(TraceContext previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            CURRENT.set(previous);
+        }
+    }
+}
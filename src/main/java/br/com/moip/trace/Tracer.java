@@ -0,0 +1,22 @@
+package br.com.moip.trace;
+
+/**
+ * Opens the span of every call of a {@code Client} set up with {@code Client.setTracer}.
+ * Implementations adapt it to a tracing library; {@link InMemoryTracer} keeps the spans for tests.
+ */
+public interface Tracer {
+
+    Tracer NONE = new Tracer() {
+        @Override
+        public Span startSpan(String name, TraceContext parent) {
+            return Span.NONE;
+        }
+    };
+
+    /**
+     * @param name the name of the span, such as {@code GET /v2/orders/{id}}
+     * @param parent the {@link TraceContext#current() current} context of the calling thread, or
+     * null; an adapter may take the parent from its own library instead
+     */
+    Span startSpan(String name, TraceContext parent);
+}
@@ -0,0 +1,67 @@
+package br.com.moip.trace;
+
+import br.com.moip.event.Call;
+import br.com.moip.event.EventListener;
+
+/**
+ * Opens a {@link Span} per call, as a child of the thread's {@link TraceContext#current() current}
+ * context, and asks the client to send its context in a {@code traceparent} header. The span
+ * carries the method, route template and status, and the exception of a failed call.
+ */
+public class TracingListener extends EventListener {
+
+    private final Tracer tracer;
+
+    public TracingListener(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    public Tracer getTracer() {
+        return tracer;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        String template = call.getRoute().getTemplate();
+        Span span = tracer.startSpan(call.getMethod() + " " + template, TraceContext.current());
+        span.setAttribute("http.method", call.getMethod());
+        span.setAttribute("http.route", template);
+        call.attach(Span.class, span);
+
+        TraceContext context = span.getContext();
+        if (context != null) {
+            call.setHeader(TraceContext.HEADER, context.toTraceparent());
+        }
+    }
+
+    @Override
+    public void callEnd(Call call, long nanoTime) {
+        end(call, null);
+    }
+
+    @Override
+    public void callFailed(Call call, long nanoTime, Exception e) {
+        end(call, e);
+    }
+
+    private void end(Call call, Exception e) {
+        Span span = call.attachment(Span.class);
+        if (span == null) {
+            return;
+        }
+
+        if (call.getStatus() != 0) {
+            span.setAttribute("http.status_code", call.getStatus());
+        }
+        if (call.getRetryCount() > 0) {
+            span.setAttribute("moip.retry_count", call.getRetryCount());
+        }
+        if (call.isCacheHit()) {
+            span.setAttribute("moip.cache_hit", "true");
+        }
+        if (e != null) {
+            span.recordException(e);
+        }
+        span.end();
+    }
+}
@@ -25,6 +25,7 @@ public class GsonFactory {
                 .registerTypeAdapter(Date.class, new BirthdateRequestSerializer())
                 .registerTypeAdapter(ApiDateRequest.class, new ApiDateSerializer())
                 .registerTypeAdapter(ApiDate.class, new ApiDateDeserializer())
+                .registerTypeAdapterFactory(new RightSizedListTypeAdapterFactory())
                 .create();
     }
 }
@@ -0,0 +1,30 @@
+package br.com.moip.util;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Reads string fields through the {@link StringPool}. Meant for fields with few distinct values,
+ * with {@code @JsonAdapter(InternedStringAdapter.class)}.
+ */
+public class InternedStringAdapter extends TypeAdapter<String> {
+
+    @Override
+    public void write(JsonWriter out, String value) throws IOException {
+        out.value(value);
+    }
+
+    @Override
+    public String read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        return StringPool.intern(in.nextString());
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.moip.util;
+
+/**
+ * Parses the ISO 8601 timestamps of the API, such as {@code 2017-08-11T06:53:09.000Z} or
+ * {@code 2015-10-30T17:26:59-0200}, straight into epoch milliseconds without allocating. A
+ * timestamp without an offset is taken as UTC, and a bare date as its midnight.
+ */
+public final class IsoDates {
+
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private IsoDates() {}
+
+    public static long parse(String value) {
+        if (value == null || value.length() < 10 || value.charAt(4) != '-' || value.charAt(7) != '-') {
+            return INVALID;
+        }
+
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 2);
+        int day = digits(value, 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return INVALID;
+        }
+
+        long millis = daysFromCivil(year, month, day) * 86400000L;
+        int length = value.length();
+        if (length == 10) {
+            return millis;
+        }
+
+        if (length < 19 || value.charAt(10) != 'T' || value.charAt(13) != ':' || value.charAt(16) != ':') {
+            return INVALID;
+        }
+
+        int hour = digits(value, 11, 2);
+        int minute = digits(value, 14, 2);
+        int second = digits(value, 17, 2);
+        if (hour < 0 || minute < 0 || second < 0) {
+            return INVALID;
+        }
+        millis += hour * 3600000L + minute * 60000L + second * 1000L;
+
+        int position = 19;
+        if (position < length && value.charAt(position) == '.') {
+            int scale = 100;
+            position++;
+            while (position < length && Character.isDigit(value.charAt(position))) {
+                millis += (value.charAt(position) - '0') * scale;
+                scale /= 10;
+                position++;
+            }
+        }
+
+        if (position == length || value.charAt(position) == 'Z') {
+            return millis;
+        }
+
+        char sign = value.charAt(position);
+        if ((sign != '+' && sign != '-') || position + 3 > length) {
+            return INVALID;
+        }
+
+        int offsetHours = digits(value, position + 1, 2);
+        int offsetMinutes = 0;
+        position += 3;
+        if (position < length && value.charAt(position) == ':') {
+            position++;
+        }
+        if (position + 2 <= length) {
+            offsetMinutes = digits(value, position, 2);
+        }
+        if (offsetHours < 0 || offsetMinutes < 0) {
+            return INVALID;
+        }
+
+        long offset = offsetHours * 3600000L + offsetMinutes * 60000L;
+
+        return sign == '+' ? millis - offset : millis + offset;
+    }
+
+    private static int digits(String value, int start, int count) {
+        int result = 0;
+
+        for (int i = start; i < start + count; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+
+        return result;
+    }
+
+    // Days since 1970-01-01 in the proleptic Gregorian calendar
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+
+        return era * 146097L + dayOfEra - 719468;
+    }
+}
@@ -0,0 +1,177 @@
+package br.com.moip.util;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Masks what must never reach a log: card numbers, CVV, card {@code hash}, tax and identity
+ * document numbers, e-mails, tokens and secrets in JSON or form encoded bodies and in query
+ * strings, and the {@code Authorization} header. Fields are found by name, so a phone {@code number} is masked as
+ * well.
+ */
+public abstract class Redactor {
+
+    public static final String MASK = "****";
+
+    private static final Set<String> FIELDS = new HashSet<>(Arrays.asList(
+            "number", "cvc", "cvv", "hash", "accesstoken", "access_token", "refresh_token",
+            "client_secret", "password", "tax_document", "email"));
+
+    public static boolean isSensitiveHeader(String name) {
+        return "Authorization".equalsIgnoreCase(name);
+    }
+
+    public static String header(String name, String value) {
+        return isSensitiveHeader(name) ? MASK : value;
+    }
+
+    /**
+     * @return the path or URL with the values of sensitive query parameters masked, as in
+     * {@code /v2/accounts/exists?tax_document=****}
+     */
+    public static String path(String path) {
+        int query = path == null ? -1 : path.indexOf('?');
+        if (query < 0) {
+            return path;
+        }
+
+        StringBuilder out = new StringBuilder(path.length()).append(path, 0, query + 1);
+        form(path.substring(query + 1), out, Integer.MAX_VALUE);
+
+        return out.toString();
+    }
+
+    /**
+     * @return the body with sensitive values masked, cut at {@code maxLength} characters with a
+     * note of how many were left out
+     */
+    public static String body(CharSequence body, int maxLength) {
+        if (body == null) {
+            return null;
+        }
+
+        StringBuilder out = new StringBuilder(Math.min(body.length(), maxLength) + 32);
+        int first = firstNonSpace(body, 0);
+        int read = first < body.length() && (body.charAt(first) == '{' || body.charAt(first) == '[')
+                ? json(body, out, maxLength)
+                : form(body, out, maxLength);
+
+        if (read < body.length() || out.length() > maxLength) {
+            out.setLength(Math.min(out.length(), maxLength));
+            out.append("...(").append(body.length()).append(" chars)");
+        }
+
+        return out.toString();
+    }
+
+    private static int json(CharSequence body, StringBuilder out, int maxLength) {
+        int i = 0;
+        while (i < body.length() && out.length() < maxLength) {
+            char c = body.charAt(i);
+            if (c != '"') {
+                out.append(c);
+                i++;
+                continue;
+            }
+
+            int end = endOfString(body, i);
+            out.append(body, i, end);
+            int colon = firstNonSpace(body, end);
+            if (colon >= body.length() || body.charAt(colon) != ':' || !isSensitive(body, i + 1, end - 1)) {
+                i = end;
+                continue;
+            }
+
+            int value = firstNonSpace(body, colon + 1);
+            out.append(body, end, value);
+            if (value < body.length() && body.charAt(value) == '"') {
+                out.append('"').append(MASK).append('"');
+                i = endOfString(body, value);
+            } else if (value < body.length() && isScalar(body.charAt(value))) {
+                out.append('"').append(MASK).append('"');
+                i = value;
+                while (i < body.length() && isScalar(body.charAt(i))) {
+                    i++;
+                }
+            } else {
+                i = value;
+            }
+        }
+
+        return i;
+    }
+
+    private static int form(CharSequence body, StringBuilder out, int maxLength) {
+        int i = 0;
+        while (i < body.length() && out.length() < maxLength) {
+            int end = i;
+            while (end < body.length() && body.charAt(end) != '&') {
+                end++;
+            }
+
+            int equals = i;
+            while (equals < end && body.charAt(equals) != '=') {
+                equals++;
+            }
+
+            // creditCard[number]=... is named by its last segment
+            int name = equals;
+            int nameEnd = equals;
+            if (nameEnd > i && body.charAt(nameEnd - 1) == ']') {
+                nameEnd--;
+                while (name > i && body.charAt(name - 1) != '[') {
+                    name--;
+                }
+            } else {
+                name = i;
+            }
+
+            if (equals < end && isSensitive(body, name, nameEnd)) {
+                out.append(body, i, equals + 1).append(MASK);
+            } else {
+                out.append(body, i, end);
+            }
+            if (end < body.length()) {
+                out.append('&');
+            }
+            i = end + 1;
+        }
+
+        return Math.min(i, body.length());
+    }
+
+    private static boolean isSensitive(CharSequence body, int start, int end) {
+        return end - start <= 13 && FIELDS.contains(body.subSequence(start, end).toString().toLowerCase(Locale.ROOT));
+    }
+
+    private static boolean isScalar(char c) {
+        return c == '-' || c == '+' || c == '.' || (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || c == 'E';
+    }
+
+    private static int endOfString(CharSequence body, int quote) {
+        int i = quote + 1;
+        while (i < body.length()) {
+            char c = body.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '"') {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+
+        return body.length();
+    }
+
+    private static int firstNonSpace(CharSequence body, int from) {
+        int i = from;
+        while (i < body.length() && Character.isWhitespace(body.charAt(i))) {
+            i++;
+        }
+
+        return i;
+    }
+}
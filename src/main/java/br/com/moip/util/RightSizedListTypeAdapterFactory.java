@@ -0,0 +1,104 @@
+package br.com.moip.util;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Reads {@code List} fields into lists sized to the JSON array instead of growing them. Empty
+ * arrays become empty lists with no backing array. The lists stay mutable {@code ArrayList}s, as
+ * Gson's own are. Elements are gathered in a per thread scratch
+ * list first, one per nesting level, so the only array left behind is the final one.
+ */
+class RightSizedListTypeAdapterFactory implements TypeAdapterFactory {
+
+    // Larger scratch lists are dropped after use rather than kept around by the thread
+    private static final int MAXIMUM_RETAINED_SCRATCH = 1024;
+
+    private static final ThreadLocal<Deque<ArrayList<Object>>> SCRATCH = new ThreadLocal<Deque<ArrayList<Object>>>() {
+        @Override
+        protected Deque<ArrayList<Object>> initialValue() {
+            return new ArrayDeque<>();
+        }
+    };
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+        if (typeToken.getRawType() != List.class) {
+            return null;
+        }
+
+        Type type = typeToken.getType();
+        Type elementType = type instanceof ParameterizedType ? ((ParameterizedType) type).getActualTypeArguments()[0] : Object.class;
+        if (!(elementType instanceof Class) && !(elementType instanceof ParameterizedType)) {
+            return null;
+        }
+
+        TypeAdapter<T> delegate = gson.getDelegateAdapter(this, typeToken);
+        TypeAdapter<Object> elementAdapter = (TypeAdapter<Object>) gson.getAdapter(TypeToken.get(elementType));
+
+        return (TypeAdapter<T>) new ListAdapter(delegate, elementAdapter);
+    }
+
+    private static final class ListAdapter extends TypeAdapter<List<Object>> {
+
+        private final TypeAdapter<List<Object>> delegate;
+        private final TypeAdapter<Object> elementAdapter;
+
+        @SuppressWarnings("unchecked")
+        ListAdapter(TypeAdapter<?> delegate, TypeAdapter<Object> elementAdapter) {
+            this.delegate = (TypeAdapter<List<Object>>) delegate;
+            this.elementAdapter = elementAdapter;
+        }
+
+        @Override
+        public void write(JsonWriter out, List<Object> value) throws IOException {
+            delegate.write(out, value);
+        }
+
+        @Override
+        public List<Object> read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            in.beginArray();
+            if (!in.hasNext()) {
+                in.endArray();
+                return new ArrayList<>(0);
+            }
+
+            Deque<ArrayList<Object>> stack = SCRATCH.get();
+            ArrayList<Object> scratch = stack.isEmpty() ? new ArrayList<>() : stack.pop();
+
+            try {
+                while (in.hasNext()) {
+                    scratch.add(elementAdapter.read(in));
+                }
+                in.endArray();
+
+                return new ArrayList<>(scratch);
+            } finally {
+                int size = scratch.size();
+                scratch.clear();
+                if (size <= MAXIMUM_RETAINED_SCRATCH) {
+                    stack.push(scratch);
+                }
+            }
+        }
+    }
+}
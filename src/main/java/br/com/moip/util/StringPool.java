@@ -0,0 +1,38 @@
+package br.com.moip.util;
+
+/**
+ * Bounded, lossy intern table for the low cardinality strings of API responses, such as
+ * currencies, event types and card brands, so that resources kept around share one instance of
+ * each value instead of one per resource.
+ *
+ * Each value maps to a single slot and replaces whatever the slot held, so the table never grows
+ * and needs no locking; a collision only costs a duplicate string.
+ */
+public final class StringPool {
+
+    public static final int MAXIMUM_LENGTH = 48;
+
+    private static final int SLOTS = 4096;
+
+    private static final String[] TABLE = new String[SLOTS];
+
+    private StringPool() {}
+
+    public static String intern(String value) {
+        if (value == null || value.length() > MAXIMUM_LENGTH) {
+            return value;
+        }
+
+        int hash = value.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & (SLOTS - 1);
+        String pooled = TABLE[slot];
+
+        if (value.equals(pooled)) {
+            return pooled;
+        }
+
+        TABLE[slot] = value;
+
+        return value;
+    }
+}
@@ -0,0 +1,208 @@
+package br.com.moip.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Emits a JDK Flight Recorder event for every call, its connection and its TLS handshake. Loaded
+ * by {@link FlightRecorderEvents} on Java 11 and later.
+ *
+ * <p>The state of a call is only created when its event type is enabled in a running recording;
+ * otherwise every callback returns after one check.
+ */
+class JfrEventListener extends EventListener {
+
+    private static final EventType CALL = EventType.getEventType(CallEvent.class);
+    private static final EventType CONNECT = EventType.getEventType(ConnectEvent.class);
+    private static final EventType TLS_HANDSHAKE = EventType.getEventType(TlsHandshakeEvent.class);
+
+    public JfrEventListener() {}
+
+    @Override
+    public void callStart(Call call) {
+        if (!CALL.isEnabled() && !CONNECT.isEnabled() && !TLS_HANDSHAKE.isEnabled()) {
+            return;
+        }
+
+        Events events = new Events();
+        if (CALL.isEnabled()) {
+            events.call = new CallEvent();
+            events.call.begin();
+        }
+        call.attach(Events.class, events);
+    }
+
+    @Override
+    public void connectStart(Call call, long nanoTime) {
+        Events events = call.attachment(Events.class);
+        if (events != null && CONNECT.isEnabled()) {
+            events.connect = new ConnectEvent();
+            events.connect.begin();
+        }
+    }
+
+    @Override
+    public void secureConnectStart(Call call, long nanoTime) {
+        Events events = call.attachment(Events.class);
+        if (events != null && TLS_HANDSHAKE.isEnabled()) {
+            events.tlsHandshake = new TlsHandshakeEvent();
+            events.tlsHandshake.begin();
+        }
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, long nanoTime) {
+        Events events = call.attachment(Events.class);
+        if (events != null && events.tlsHandshake != null) {
+            events.tlsHandshake.end();
+            if (events.tlsHandshake.shouldCommit()) {
+                events.tlsHandshake.route = call.getRoute().getName();
+                events.tlsHandshake.commit();
+            }
+            events.tlsHandshake = null;
+        }
+    }
+
+    @Override
+    public void connectEnd(Call call, long nanoTime, boolean connectionReused) {
+        Events events = call.attachment(Events.class);
+        if (events != null && events.connect != null) {
+            events.connect.end();
+            if (events.connect.shouldCommit()) {
+                events.connect.route = call.getRoute().getName();
+                events.connect.connectionReused = connectionReused;
+                events.connect.commit();
+            }
+            events.connect = null;
+        }
+    }
+
+    @Override
+    public void decodeStart(Call call, long nanoTime) {
+        Events events = call.attachment(Events.class);
+        if (events != null) {
+            events.decodeStart = nanoTime;
+        }
+    }
+
+    @Override
+    public void decodeEnd(Call call, long nanoTime) {
+        Events events = call.attachment(Events.class);
+        if (events != null && events.call != null) {
+            events.call.decodeTime = nanoTime - events.decodeStart;
+        }
+    }
+
+    @Override
+    public void callEnd(Call call, long nanoTime) {
+        commit(call, null);
+    }
+
+    @Override
+    public void callFailed(Call call, long nanoTime, Exception e) {
+        commit(call, e);
+    }
+
+    private void commit(Call call, Exception e) {
+        Events events = call.attachment(Events.class);
+        if (events == null || events.call == null) {
+            return;
+        }
+
+        CallEvent event = events.call;
+        event.end();
+        if (event.shouldCommit()) {
+            event.route = call.getRoute().getTemplate();
+            event.method = call.getMethod();
+            event.status = call.getStatus();
+            event.bytesOut = call.getRequestBytes();
+            event.bytesIn = call.getResponseBytes();
+            event.retryCount = call.getRetryCount();
+            event.cacheHit = call.isCacheHit();
+            event.error = e == null ? null : e.getClass().getName();
+            event.commit();
+        }
+        events.call = null;
+    }
+
+    private static class Events {
+
+        private CallEvent call;
+        private ConnectEvent connect;
+        private TlsHandshakeEvent tlsHandshake;
+        private long decodeStart;
+    }
+
+    @Name("br.com.moip.Call")
+    @Label("Moip Call")
+    @Description("A request to the Moip API, from building it to decoding the response")
+    @Category({"Moip", "HTTP"})
+    @Enabled(false)
+    @StackTrace(false)
+    static class CallEvent extends Event {
+
+        @Label("Route")
+        String route;
+
+        @Label("Method")
+        String method;
+
+        @Label("Status")
+        int status;
+
+        @Label("Bytes Out")
+        @DataAmount
+        long bytesOut;
+
+        @Label("Bytes In")
+        @DataAmount
+        long bytesIn;
+
+        @Label("Retry Count")
+        int retryCount;
+
+        @Label("Cache Hit")
+        boolean cacheHit;
+
+        @Label("Decode Time")
+        @Timespan
+        long decodeTime;
+
+        @Label("Error")
+        String error;
+    }
+
+    @Name("br.com.moip.Connect")
+    @Label("Moip Connect")
+    @Description("Getting a connection for a call: a new one or one from the keep-alive cache")
+    @Category({"Moip", "HTTP"})
+    @Enabled(false)
+    @StackTrace(false)
+    static class ConnectEvent extends Event {
+
+        @Label("Route")
+        String route;
+
+        @Label("Connection Reused")
+        boolean connectionReused;
+    }
+
+    @Name("br.com.moip.TlsHandshake")
+    @Label("Moip TLS Handshake")
+    @Category({"Moip", "HTTP"})
+    @Enabled(false)
+    @StackTrace(false)
+    static class TlsHandshakeEvent extends Event {
+
+        @Label("Route")
+        String route;
+    }
+}
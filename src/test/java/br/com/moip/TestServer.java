@@ -0,0 +1,128 @@
+package br.com.moip;
+
+import br.com.moip.authentication.BasicAuth;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.rules.ExternalResource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A local HTTP server for tests that need to shape responses call by call, which recorded plays
+ * can't do. Use it as a {@code @Rule}: it starts before each test and stops after it, and the
+ * test only says how to answer with {@link #respond(Responder)}.
+ */
+public class TestServer extends ExternalResource {
+
+    public interface Responder {
+
+        Response respond(HttpExchange exchange) throws IOException;
+    }
+
+    public static class Response {
+
+        private final int status;
+        private final byte[] body;
+        private final Map<String, String> headers = new LinkedHashMap<>();
+
+        private Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        public static Response of(int status, byte[] body) {
+            return new Response(status, body);
+        }
+
+        public static Response of(int status, String body) {
+            return new Response(status, body.getBytes());
+        }
+
+        /**
+         * @return a response with no body, such as a 304
+         */
+        public static Response empty(int status) {
+            return new Response(status, null);
+        }
+
+        public Response header(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+    }
+
+    private HttpServer server;
+    private volatile Responder responder = new Responder() {
+        @Override
+        public Response respond(HttpExchange exchange) {
+            return Response.of(200, "{}");
+        }
+    };
+
+    public TestServer respond(Responder responder) {
+        this.responder = responder;
+        return this;
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public Client client() {
+        return new Client(url(), new BasicAuth("token", "key"));
+    }
+
+    /**
+     * @return the bytes of the request body, read to its end
+     */
+    public static byte[] body(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        InputStream in = exchange.getRequestBody();
+        byte[] buffer = new byte[1024];
+        for (int n; (n = in.read(buffer)) > 0; ) {
+            body.write(buffer, 0, n);
+        }
+
+        return body.toByteArray();
+    }
+
+    @Override
+    protected void before() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                try {
+                    Response response = responder.respond(exchange);
+                    for (Map.Entry<String, String> header : response.headers.entrySet()) {
+                        exchange.getResponseHeaders().add(header.getKey(), header.getValue());
+                    }
+
+                    if (response.body == null) {
+                        exchange.sendResponseHeaders(response.status, -1);
+                    } else {
+                        exchange.sendResponseHeaders(response.status, response.body.length);
+                        OutputStream out = exchange.getResponseBody();
+                        out.write(response.body);
+                        out.close();
+                    }
+                } finally {
+                    exchange.close();
+                }
+            }
+        });
+        server.start();
+    }
+
+    @Override
+    protected void after() {
+        server.stop(0);
+    }
+}
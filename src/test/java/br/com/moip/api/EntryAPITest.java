@@ -4,13 +4,20 @@ import br.com.moip.api.filter.Filters;
 import br.com.moip.api.filter.Pagination;
 import br.com.moip.resource.Entry;
 import br.com.moip.response.EntriesListResponse;
+import br.com.moip.response.EntryBatch;
+import br.com.moip.response.ResourceConsumer;
+import br.com.moip.response.StreamedListResponse;
 import com.rodrigosaito.mockwebserver.player.Play;
 import com.rodrigosaito.mockwebserver.player.Player;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 public class EntryAPITest {
 
@@ -107,4 +114,43 @@ public class EntryAPITest {
         assertEquals(179, entriesListResponse.get(2).getFees().get(0).getAmount());
         assertEquals("PAY-1RPZO7YWZROC", entriesListResponse.get(3).getReferences().get(2).getValue());
     }
+
+    @Play("entries/list")
+    @Test
+    public void shouldStreamEntriesList() {
+        final List<String> ids = new ArrayList<>();
+
+        StreamedListResponse response = api.stream(new ResourceConsumer<Entry>() {
+            @Override
+            public void accept(Entry entry) {
+                ids.add(entry.getExternalId());
+            }
+        });
+
+        assertEquals(ids.size(), response.getCount());
+        assertEquals("ENT-BH4NJAVN65FB", ids.get(0));
+        assertEquals("ENT-HXQZX5NILT2E", ids.get(3));
+        assertNull(response.getSummary());
+    }
+
+    @Play("entries/list")
+    @Test
+    public void shouldReadEntriesListIntoColumns() {
+        EntryBatch batch = api.batch(null);
+
+        assertEquals(15, batch.size());
+        assertEquals(15, batch.getIds().length);
+        assertEquals(36523041, batch.getIds()[0]);
+        assertEquals("ENT-BH4NJAVN65FB", batch.getExternalIds()[0]);
+        assertEquals(Entry.Status.SETTLED, batch.getStatus(0));
+        assertEquals("CREDIT_CARD", batch.getType(0));
+        assertEquals(179, batch.getFees()[0]);
+        assertEquals(2, batch.getTypeDictionary().size());
+
+        assertEquals(144154545 - 9502, batch.liquidAmount());
+        assertEquals(144133310, batch.liquidAmount(Entry.Status.SCHEDULED));
+        assertEquals(-9502, batch.liquidAmount("PAYMENT_REFUND"));
+        assertEquals(0, batch.liquidAmount("BOLETO"));
+        assertEquals(batch.grossAmount(), batch.liquidAmount() + batch.feesAmount());
+    }
 }
@@ -1,5 +1,9 @@
 package br.com.moip.api;
 
+import br.com.moip.Client;
+import br.com.moip.cache.CacheKey;
+import br.com.moip.cache.ResourceCache;
+import br.com.moip.cache.ResourceType;
 import br.com.moip.request.ApiDateRequest;
 import br.com.moip.request.BoletoRequest;
 import br.com.moip.request.CreditCardRequest;
@@ -11,6 +15,8 @@ import br.com.moip.request.PhoneRequest;
 import br.com.moip.request.TaxDocumentRequest;
 import br.com.moip.resource.FundingInstrument;
 import br.com.moip.resource.Multipayment;
+import br.com.moip.resource.Order;
+import br.com.moip.resource.Payment;
 import br.com.moip.resource.PaymentStatus;
 import com.rodrigosaito.mockwebserver.player.Play;
 import com.rodrigosaito.mockwebserver.player.Player;
@@ -23,6 +29,7 @@ import java.util.GregorianCalendar;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 public class MultipaymentAPITest {
 
@@ -134,6 +141,25 @@ public class MultipaymentAPITest {
         assertEquals(PaymentStatus.AUTHORIZED, multipayment.getStatus());
     }
 
+    @Play("multipayment/capture")
+    @Test
+    public void testCaptureInvalidatesCachedPaymentsAndOrders() {
+        ResourceCache cache = new ResourceCache();
+        String endpoint = player.getURL("").toString();
+        Client client = new ClientFactory().client(endpoint);
+        client.setResourceCache(cache);
+        String account = CacheKey.account(endpoint, client.getAuthentication());
+        CacheKey payment = new CacheKey(account, ResourceType.PAYMENT, "PAY-9GG93Z35GIL9");
+        CacheKey order = new CacheKey(account, ResourceType.ORDER, "ORD-AKHZSK8LS19F");
+        cache.put(payment, new Payment(), 100);
+        cache.put(order, new Order(), 100);
+
+        new MultipaymentAPI(client).capture("MPY-UGZLJMVJ37LX");
+
+        assertNull(cache.get(payment, Payment.class));
+        assertNull(cache.get(order, Order.class));
+    }
+
     @Play("multipayment/cancel_pre_authorized")
     @Test
     public void testCancelMultipayment() {
@@ -1,5 +1,9 @@
 package br.com.moip.api;
 
+import br.com.moip.Client;
+import br.com.moip.api.filter.OrderQuery;
+import br.com.moip.cache.ResourceCache;
+import br.com.moip.cache.ResourceType;
 import br.com.moip.request.AmountRequest;
 import br.com.moip.request.ApiDateRequest;
 import br.com.moip.request.CustomerRequest;
@@ -10,11 +14,17 @@ import br.com.moip.request.ShippingAddressRequest;
 import br.com.moip.request.TaxDocumentRequest;
 import br.com.moip.request.CheckoutPreferencesRequest;
 import br.com.moip.request.InstallmentRequest;
+import br.com.moip.resource.Event;
 import br.com.moip.resource.FundingInstrument;
 import br.com.moip.resource.Order;
 import br.com.moip.resource.OrderStatus;
 import br.com.moip.resource.Receiver;
 import br.com.moip.response.OrderListResponse;
+import br.com.moip.response.Projected;
+import br.com.moip.response.Projection;
+import br.com.moip.response.OrderBatch;
+import br.com.moip.response.ResourceConsumer;
+import br.com.moip.response.StreamedListResponse;
 import com.rodrigosaito.mockwebserver.player.Play;
 import com.rodrigosaito.mockwebserver.player.Player;
 import org.junit.Before;
@@ -22,15 +32,21 @@ import org.junit.Rule;
 import org.junit.Test;
 
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 public class OrderAPITest {
 
@@ -55,6 +71,21 @@ public class OrderAPITest {
         assertEquals(OrderStatus.CREATED, order.getStatus());
     }
 
+    @Play("orders/get")
+    @Test
+    public void testGetProjected() {
+        Projected<Order> projected = api.get("ORD-HCOWQ2QJKTAT", Projection.fields("id", "status", "amount.total").lazy("events"));
+        Order order = projected.get();
+
+        assertEquals("ORD-HCOWQ2QJKTAT", order.getId());
+        assertEquals(OrderStatus.CREATED, order.getStatus());
+        assertEquals(100, order.getAmount().getTotal().intValue());
+        assertNull(order.getAmount().getCurrency());
+        assertNull(order.getCustomer());
+        assertTrue(order.getItems().isEmpty());
+        assertEquals("ORDER.CREATED", projected.list("events", Event.class).get(0).getType());
+    }
+
     @Play("orders/create")
     @Test
     public void testCreate() {
@@ -280,4 +311,91 @@ public class OrderAPITest {
         assertEquals("jose silva", orderListResponse.getOrders().get(0).getCustomer().getFullname());
     }
 
+    @Play("orders/query")
+    @Test
+    public void testQueryWalksAllPages() {
+        OrderQuery query = new OrderQuery()
+                .statusIn(OrderStatus.PAID, OrderStatus.WAITING)
+                .amountGreaterThanOrEqual(1000);
+
+        List<String> ids = new ArrayList<>();
+        for (Order order : api.query(query, 2)) {
+            ids.add(order.getId());
+        }
+
+        assertEquals(Arrays.asList("ORD-PQFI9C2JGCWN", "ORD-C1MSJ0U8ZTSZ", "ORD-7NQSF6Z1R5RE"), ids);
+    }
+
+    @Play("orders/query")
+    @Test
+    public void testQueryAppliesClientPredicates() {
+        OrderQuery query = new OrderQuery()
+                .statusIn(OrderStatus.PAID, OrderStatus.WAITING)
+                .amountGreaterThanOrEqual(1000)
+                .statusNotIn(OrderStatus.WAITING);
+
+        List<String> ids = new ArrayList<>();
+        for (Order order : api.query(query, 2)) {
+            ids.add(order.getId());
+        }
+
+        assertEquals(Arrays.asList("ORD-PQFI9C2JGCWN", "ORD-7NQSF6Z1R5RE"), ids);
+    }
+
+    @Play("orders/list")
+    @Test
+    public void testStreamOrderList() {
+        final List<Order> orders = new ArrayList<>();
+
+        StreamedListResponse response = api.stream(new ResourceConsumer<Order>() {
+            @Override
+            public void accept(Order order) {
+                orders.add(order);
+            }
+        });
+
+        assertEquals(20, response.getCount());
+        assertEquals(20, orders.size());
+        assertEquals(1972, response.getSummary().getCount());
+        assertEquals("ORD-UQUCZIB66I4U", orders.get(0).getId());
+        assertEquals("jose silva", orders.get(0).getCustomer().getFullname());
+    }
+
+    @Play("orders/list")
+    @Test
+    public void testBatchOrderList() {
+        OrderBatch batch = api.batch(null);
+
+        assertEquals(20, batch.size());
+        assertEquals(1972, batch.getSummary().getCount());
+        assertEquals("ORD-UQUCZIB66I4U", batch.getIds()[0]);
+        assertEquals(OrderStatus.WAITING, batch.getStatus(0));
+        assertEquals("BRL", batch.getCurrency(0));
+        assertEquals(102470, batch.getTotals()[0]);
+        assertEquals(1506076090000L, batch.getCreatedAts()[0]);
+
+        assertEquals(2049400, batch.totalAmount());
+        assertEquals(1639520, batch.totalAmount(OrderStatus.PAID));
+        assertEquals(409880, batch.totalAmountByStatus()[OrderStatus.WAITING.ordinal()]);
+        assertEquals(4, batch.count(OrderStatus.WAITING));
+    }
+
+    @Play("orders/get")
+    @Test
+    public void testGetReadsThroughCache() {
+        ResourceCache cache = new ResourceCache();
+        Client client = new ClientFactory().client(player.getURL("").toString());
+        client.setResourceCache(cache);
+        OrderAPI cachedApi = new OrderAPI(client);
+
+        Order first = cachedApi.get("ORD-HCOWQ2QJKTAT");
+        Order second = cachedApi.get("ORD-HCOWQ2QJKTAT");
+
+        assertSame(first, second);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        client.invalidate(ResourceType.ORDER, "ORD-HCOWQ2QJKTAT");
+        assertNotSame(first, cachedApi.get("ORD-HCOWQ2QJKTAT"));
+    }
 }
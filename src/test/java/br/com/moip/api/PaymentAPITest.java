@@ -1,6 +1,9 @@
 package br.com.moip.api;
 
 import br.com.moip.Client;
+import br.com.moip.cache.CacheKey;
+import br.com.moip.cache.ResourceCache;
+import br.com.moip.cache.ResourceType;
 import br.com.moip.request.ApiDateRequest;
 import br.com.moip.request.BoletoRequest;
 import br.com.moip.request.CreditCardRequest;
@@ -15,6 +18,7 @@ import br.com.moip.request.TaxDocumentRequest;
 import br.com.moip.request.OnlineBankDebitRequest;
 import br.com.moip.resource.EscrowStatus;
 import br.com.moip.resource.FundingInstrument;
+import br.com.moip.resource.Order;
 import br.com.moip.resource.Payment;
 import br.com.moip.resource.PaymentStatus;
 import com.rodrigosaito.mockwebserver.player.Play;
@@ -28,6 +32,7 @@ import java.util.GregorianCalendar;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class PaymentAPITest {
@@ -283,6 +288,21 @@ public class PaymentAPITest {
         assertEquals(capturedPayment.getStatus(), PaymentStatus.AUTHORIZED);
     }
 
+    @Play("payments/capture")
+    @Test
+    public void testCaptureInvalidatesCachedOrder() {
+        ResourceCache cache = new ResourceCache();
+        String endpoint = player.getURL("").toString();
+        Client client = clientFactory.client(endpoint);
+        client.setResourceCache(cache);
+        CacheKey order = new CacheKey(CacheKey.account(endpoint, client.getAuthentication()), ResourceType.ORDER, "ORD-IUWYL83HN8V4");
+        cache.put(order, new Order(), 100);
+
+        new PaymentAPI(client).capture("PAY-FRAAY8GN1HSB");
+
+        assertNull(cache.get(order, Order.class));
+    }
+
     @Play("payments/cancel_pre_authorized")
     @Test
     public void testCancelPayment() {
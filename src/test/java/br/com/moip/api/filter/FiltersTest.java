@@ -29,6 +29,20 @@ public class FiltersTest {
         assertEquals("value::lt(100000)", filter.toString());
     }
 
+    @Test
+    public void testLessThanOrEqualFilter() {
+        Filters filter = new Filters();
+        filter.lessThanOrEqual("value", "100000");
+        assertEquals("value::le(100000)", filter.toString());
+    }
+
+    @Test
+    public void testEqualFilter() {
+        Filters filter = new Filters();
+        filter.equal("status", "PAID");
+        assertEquals("status::eq(PAID)", filter.toString());
+    }
+
     @Test
     public void testInFilter() {
         Filters filter = new Filters();
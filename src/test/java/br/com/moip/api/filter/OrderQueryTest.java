@@ -0,0 +1,54 @@
+package br.com.moip.api.filter;
+
+import br.com.moip.resource.Order;
+import br.com.moip.resource.OrderStatus;
+import org.junit.Test;
+
+import java.util.GregorianCalendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OrderQueryTest {
+
+    @Test
+    public void testPushableConditionsCompileToFilters() {
+        OrderQuery query = new OrderQuery()
+                .statusIn(OrderStatus.PAID, OrderStatus.WAITING)
+                .amountGreaterThanOrEqual(5000)
+                .createdAtBetween(new GregorianCalendar(2018, 0, 1).getTime(), new GregorianCalendar(2018, 0, 31).getTime())
+                .search("jose silva");
+
+        assertEquals("status::in(PAID,WAITING)|value::ge(5000)|createdAt::bt(2018-01-01,2018-01-31)", query.getFilters().toString());
+        assertEquals("jose silva", query.getSearch());
+        assertFalse(query.hasClientPredicates());
+    }
+
+    @Test
+    public void testEmptyQueryHasNoFilters() {
+        OrderQuery query = new OrderQuery();
+
+        assertNull(query.getFilters());
+        assertNull(query.getSearch());
+        assertTrue(query.test(new Order()));
+    }
+
+    @Test
+    public void testNonPushableConditionsStayOnClient() {
+        OrderQuery query = new OrderQuery()
+                .amountLessThanOrEqual(10000)
+                .statusNotIn(OrderStatus.NOT_PAID);
+
+        Order paid = new Order();
+        paid.setStatus(OrderStatus.PAID);
+        Order notPaid = new Order();
+        notPaid.setStatus(OrderStatus.NOT_PAID);
+
+        assertEquals("value::le(10000)", query.getFilters().toString());
+        assertTrue(query.hasClientPredicates());
+        assertTrue(query.test(paid));
+        assertFalse(query.test(notPaid));
+    }
+}
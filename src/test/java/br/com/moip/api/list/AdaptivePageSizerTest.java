@@ -0,0 +1,115 @@
+package br.com.moip.api.list;
+
+import br.com.moip.api.filter.Pagination;
+import br.com.moip.response.ResponseTimings;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptivePageSizerTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void testGrowsTowardsLatencyCeiling() {
+        AdaptivePageSizer sizer = new AdaptivePageSizer(10, 500, 200, TimeUnit.MILLISECONDS);
+
+        assertEquals(10, sizer.nextLimit());
+        for (int i = 0; i < 10; i++) {
+            observe(sizer, 50 * MILLIS, MILLIS);
+        }
+
+        // 80% of the 200ms ceiling minus 50ms of fixed cost at 1ms per item
+        assertEquals(110, sizer.nextLimit());
+    }
+
+    @Test
+    public void testGrowsAtMostTwicePerPage() {
+        AdaptivePageSizer sizer = new AdaptivePageSizer(10, 500, 10, TimeUnit.SECONDS);
+
+        observe(sizer, MILLIS, MILLIS / 10);
+        assertEquals(20, sizer.nextLimit());
+        observe(sizer, MILLIS, MILLIS / 10);
+        assertEquals(40, sizer.nextLimit());
+    }
+
+    @Test
+    public void testHalvesWhenCeilingIsExceeded() {
+        AdaptivePageSizer sizer = new AdaptivePageSizer(10, 500, 200, TimeUnit.MILLISECONDS, 400);
+
+        observe(sizer, 100 * MILLIS, MILLIS);
+
+        assertEquals(200, sizer.nextLimit());
+    }
+
+    @Test
+    public void testStaysWithinBounds() {
+        AdaptivePageSizer sizer = new AdaptivePageSizer(20, 100, 50, TimeUnit.MILLISECONDS, 100);
+
+        for (int i = 0; i < 10; i++) {
+            observe(sizer, 500 * MILLIS, 10 * MILLIS);
+        }
+        assertEquals(20, sizer.nextLimit());
+
+        AdaptivePageSizer fast = new AdaptivePageSizer(20, 100, 10, TimeUnit.SECONDS);
+        for (int i = 0; i < 10; i++) {
+            observe(fast, MILLIS, 1000);
+        }
+        assertEquals(100, fast.nextLimit());
+    }
+
+    @Test
+    public void testBacksOffWhenBiggerPagesAreSlowerPerItem() {
+        AdaptivePageSizer sizer = new AdaptivePageSizer(10, 1000, 10, TimeUnit.SECONDS, 100);
+        ResponseTimings timings = new ResponseTimings();
+
+        timings.record(10 * MILLIS, 100 * MILLIS, 0);
+        sizer.record(100, 100, timings);
+        assertEquals(200, sizer.nextLimit());
+
+        timings.record(10 * MILLIS, 800 * MILLIS, 0);
+        sizer.record(200, 200, timings);
+        assertEquals(100, sizer.nextLimit());
+    }
+
+    @Test
+    public void testDrivesAutoPagerLimits() {
+        final AdaptivePageSizer sizer = new AdaptivePageSizer(5, 50, 10, TimeUnit.SECONDS);
+        final StringBuilder limits = new StringBuilder();
+
+        AutoPager<Integer> pager = new AutoPager<>(new PageFetcher<Integer>() {
+            @Override
+            public List<Integer> fetch(Pagination pagination, ResponseTimings timings) {
+                limits.append(pagination.getLimit()).append(',');
+                List<Integer> page = new ArrayList<>();
+                for (int i = pagination.getOffset(); i < Math.min(100, pagination.getOffset() + pagination.getLimit()); i++) {
+                    page.add(i);
+                }
+                timings.record(MILLIS, page.size() * 1000L, 0);
+
+                return page;
+            }
+        }, null, sizer);
+
+        int count = 0;
+        for (Integer ignored : pager) {
+            count++;
+        }
+
+        assertEquals(100, count);
+        assertTrue(limits.toString(), limits.toString().startsWith("5,10,20,40,50,"));
+    }
+
+    private static void observe(AdaptivePageSizer sizer, long fixedNanos, long perItemNanos) {
+        int limit = sizer.nextLimit();
+        ResponseTimings timings = new ResponseTimings();
+        timings.record(fixedNanos, limit * perItemNanos, 0);
+
+        sizer.record(limit, limit, timings);
+    }
+}
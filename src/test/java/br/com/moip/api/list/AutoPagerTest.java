@@ -0,0 +1,98 @@
+package br.com.moip.api.list;
+
+import br.com.moip.api.filter.Pagination;
+import br.com.moip.api.filter.Predicate;
+import br.com.moip.response.ResponseTimings;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class AutoPagerTest {
+
+    @Test
+    public void testWalksAllPages() {
+        RangeFetcher fetcher = new RangeFetcher(7);
+        List<Integer> result = collect(new AutoPager<>(fetcher, null, 3));
+
+        assertEquals(7, result.size());
+        assertEquals(Integer.valueOf(0), result.get(0));
+        assertEquals(Integer.valueOf(6), result.get(6));
+        assertEquals(3, fetcher.requests);
+    }
+
+    @Test
+    public void testStopsOnEmptyPage() {
+        RangeFetcher fetcher = new RangeFetcher(6);
+        List<Integer> result = collect(new AutoPager<>(fetcher, null, 3));
+
+        assertEquals(6, result.size());
+        assertEquals(3, fetcher.requests);
+    }
+
+    @Test
+    public void testAppliesClientPredicate() {
+        List<Integer> result = collect(new AutoPager<>(new RangeFetcher(10), new Predicate<Integer>() {
+            @Override
+            public boolean test(Integer value) {
+                return value % 2 == 0;
+            }
+        }, 4));
+
+        assertEquals(5, result.size());
+        assertEquals(Integer.valueOf(8), result.get(4));
+    }
+
+    @Test
+    public void testFetchesLazily() {
+        RangeFetcher fetcher = new RangeFetcher(100);
+        Iterator<Integer> iterator = new AutoPager<>(fetcher, null, 10).iterator();
+
+        assertEquals(0, fetcher.requests);
+        iterator.next();
+        assertEquals(1, fetcher.requests);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNextAfterLastElement() {
+        Iterator<Integer> iterator = new AutoPager<>(new RangeFetcher(0), null, 10).iterator();
+
+        assertFalse(iterator.hasNext());
+        iterator.next();
+    }
+
+    private static List<Integer> collect(Iterable<Integer> iterable) {
+        List<Integer> result = new ArrayList<>();
+        for (Integer value : iterable) {
+            result.add(value);
+        }
+
+        return result;
+    }
+
+    private static class RangeFetcher implements PageFetcher<Integer> {
+
+        private final int total;
+        private int requests;
+
+        RangeFetcher(int total) {
+            this.total = total;
+        }
+
+        @Override
+        public List<Integer> fetch(Pagination pagination, ResponseTimings timings) {
+            requests++;
+            List<Integer> page = new ArrayList<>();
+            for (int i = pagination.getOffset(); i < Math.min(total, pagination.getOffset() + pagination.getLimit()); i++) {
+                page.add(i);
+            }
+
+            return page;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package br.com.moip.cache;
+
+import br.com.moip.Client;
+import br.com.moip.api.ClientFactory;
+import br.com.moip.api.OrderAPI;
+import br.com.moip.api.PaymentAPI;
+import br.com.moip.api.TransferApi;
+import br.com.moip.resource.Customer;
+import br.com.moip.resource.FundingInstrument;
+import br.com.moip.resource.Order;
+import br.com.moip.resource.OrderStatus;
+import br.com.moip.resource.Payment;
+import br.com.moip.resource.PaymentStatus;
+import br.com.moip.resource.Transfer;
+import br.com.moip.resource.TransferStatus;
+import br.com.moip.util.GsonFactory;
+import com.rodrigosaito.mockwebserver.player.Play;
+import com.rodrigosaito.mockwebserver.player.Player;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BinaryResourceCodecTest {
+
+    private static final String ORDER = "{\"id\":\"ORD-1\",\"ownId\":\"ord-1\",\"status\":\"PAID\",\"platform\":\"V2\","
+            + "\"createdAt\":\"2018-02-22T10:04:32.000-03\","
+            + "\"amount\":{\"paid\":10000,\"total\":10000,\"fees\":499,\"refunds\":0,\"liquid\":9501,\"otherReceivers\":0,\"currency\":\"BRL\"},"
+            + "\"items\":[{\"product\":\"Descrição do pedido\",\"quantity\":1,\"detail\":\"Mais info...\",\"price\":9000}],"
+            + "\"customer\":{\"id\":\"CUS-1\",\"ownId\":\"customer_1\",\"fullname\":\"Jose da Silva\",\"email\":\"jose@email.com\"},"
+            + "\"payments\":[{\"id\":\"PAY-1\",\"status\":\"SETTLED\",\"installmentCount\":3,"
+            + "\"amount\":{\"total\":10000,\"fees\":499,\"currency\":\"BRL\"},\"fundingInstrument\":{\"method\":\"CREDIT_CARD\"}}]}";
+
+    @Rule
+    public Player player = new Player();
+
+    private final BinaryResourceCodec codec = new BinaryResourceCodec();
+
+    @Play("orders/get")
+    @Test
+    public void testKeepsEveryOrderField() throws Exception {
+        Order original = new OrderAPI(client()).get("ORD-HCOWQ2QJKTAT");
+        String json = GsonFactory.gson().toJson(original);
+
+        Order order = codec.decode(codec.encode(original), Order.class);
+
+        assertSameFields("order", GsonFactory.gson().fromJson(json, Order.class), order);
+    }
+
+    @Play("payments/get")
+    @Test
+    public void testKeepsEveryPaymentField() throws Exception {
+        Payment original = new PaymentAPI(client()).get("PAY-FRAAY8GN1HSB");
+        String json = GsonFactory.gson().toJson(original);
+
+        Payment payment = codec.decode(codec.encode(original), Payment.class);
+
+        assertSameFields("payment", GsonFactory.gson().fromJson(json, Payment.class), payment);
+    }
+
+    @Play("transfers/get")
+    @Test
+    public void testKeepsEveryTransferField() throws Exception {
+        Transfer original = new TransferApi(client()).get("TRA-28HRLYNLMUFH");
+        String json = GsonFactory.gson().toJson(original);
+
+        Transfer transfer = codec.decode(codec.encode(original), Transfer.class);
+
+        assertSameFields("transfer", GsonFactory.gson().fromJson(json, Transfer.class), transfer);
+    }
+
+    @Test
+    public void testWorksAsOffHeapStoreCodec() {
+        OffHeapResourceStore store = OffHeapResourceStore.direct(64 * 1024, codec);
+        CacheKey key = new CacheKey("account", ResourceType.ORDER, "ORD-1");
+        store.put(key, GsonFactory.gson().fromJson(ORDER, Order.class));
+
+        assertEquals(OrderStatus.PAID, store.get(key, Order.class).getStatus());
+    }
+
+    @Test
+    public void testRoundTripsOrder() {
+        Order original = GsonFactory.gson().fromJson(ORDER, Order.class);
+        Order order = codec.decode(codec.encode(original), Order.class);
+
+        assertEquals("ORD-1", order.getId());
+        assertEquals("ord-1", order.getOwnId());
+        assertEquals(OrderStatus.PAID, order.getStatus());
+        assertEquals("V2", order.getPlatform());
+        assertEquals(original.getCreatedAt(), order.getCreatedAt());
+        assertNull(order.getUpdatedAt());
+        assertEquals(Integer.valueOf(9501), order.getAmount().getLiquid());
+        assertEquals("BRL", order.getAmount().getCurrency());
+        assertEquals("Descrição do pedido", order.getItems().get(0).getProduct());
+        assertEquals(Integer.valueOf(9000), order.getItems().get(0).getPrice());
+        assertNull(order.getItems().get(0).getCategory());
+        assertEquals("CUS-1", order.getCustomer().getId());
+        assertEquals("jose@email.com", order.getCustomer().getEmail());
+
+        Payment payment = order.getPayments().get(0);
+        assertEquals("PAY-1", payment.getId());
+        assertEquals(PaymentStatus.SETTLED, payment.getStatus());
+        assertEquals(3, payment.getInstallmentCount());
+        assertNull(payment.getAmount().getLiquid());
+        assertEquals(FundingInstrument.Method.CREDIT_CARD, payment.getFundingInstrument().getMethod());
+    }
+
+    @Test
+    public void testIsSmallerThanJson() {
+        Order order = GsonFactory.gson().fromJson(ORDER, Order.class);
+
+        int json = new JsonResourceCodec().encode(order).length;
+        int binary = codec.encode(order).length;
+
+        assertTrue(binary + " should be under " + json, binary < json);
+    }
+
+    @Test
+    public void testRoundTripsTransfer() {
+        Transfer original = new Transfer();
+        original.setId("TRA-1");
+        original.setAmount(-150000);
+        original.setFee(0);
+        original.setStatus(TransferStatus.COMPLETED);
+        original.setCreatedAt(new Date(1519304672000L));
+        original.setRole(Transfer.Role.PAYER);
+
+        Transfer transfer = codec.decode(codec.encode(original), Transfer.class);
+
+        assertEquals("TRA-1", transfer.getId());
+        assertEquals(-150000, transfer.getAmount());
+        assertEquals(TransferStatus.COMPLETED, transfer.getStatus());
+        assertEquals(new Date(1519304672000L), transfer.getCreatedAt());
+        assertEquals(Transfer.Role.PAYER, transfer.getRole());
+    }
+
+    @Test
+    public void testFallsBackToJsonForOtherResources() {
+        Customer customer = new Customer().setId("CUS-1").setFullname("Jose da Silva");
+
+        Customer decoded = codec.decode(codec.encode(customer), Customer.class);
+
+        assertEquals("CUS-1", decoded.getId());
+        assertEquals("Jose da Silva", decoded.getFullname());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsUnknownVersion() {
+        byte[] encoded = codec.encode(new Payment());
+        encoded[0] = (byte) (BinaryResourceCodec.VERSION + 1);
+
+        codec.decode(encoded, Payment.class);
+    }
+
+    private Client client() {
+        return new ClientFactory().client(player.getURL("").toString());
+    }
+
+    // Compares field by field; a missing list or object equals an empty one, as the getters create those on first use
+    private static void assertSameFields(String path, Object expected, Object actual) throws IllegalAccessException {
+        if (expected == null || actual == null) {
+            assertTrue(path + ": expected " + expected + " but was " + actual, isEmpty(expected) && isEmpty(actual));
+            return;
+        }
+
+        if (expected instanceof Collection) {
+            Collection<?> expectedItems = (Collection<?>) expected;
+            Collection<?> actualItems = (Collection<?>) actual;
+            assertEquals(path + " size", expectedItems.size(), actualItems.size());
+
+            Iterator<?> actualIterator = actualItems.iterator();
+            int i = 0;
+            for (Object item : expectedItems) {
+                assertSameFields(path + "[" + i++ + "]", item, actualIterator.next());
+            }
+
+            return;
+        }
+
+        if (!expected.getClass().getName().startsWith("br.com.moip.") || expected.getClass().isEnum()) {
+            assertEquals(path, expected, actual);
+            return;
+        }
+
+        assertEquals(path + " type", expected.getClass(), actual.getClass());
+        for (Class<?> type = expected.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+
+                field.setAccessible(true);
+                assertSameFields(path + "." + field.getName(), field.get(expected), field.get(actual));
+            }
+        }
+    }
+
+    private static boolean isEmpty(Object value) throws IllegalAccessException {
+        if (value == null) {
+            return true;
+        }
+
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).isEmpty();
+        }
+
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).isEmpty();
+        }
+
+        if (!value.getClass().getName().startsWith("br.com.moip.") || value.getClass().isEnum()) {
+            return false;
+        }
+
+        for (Class<?> type = value.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+
+                field.setAccessible(true);
+                if (!isEmpty(field.get(value))) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+}
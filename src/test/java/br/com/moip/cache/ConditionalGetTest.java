@@ -0,0 +1,128 @@
+package br.com.moip.cache;
+
+import br.com.moip.Client;
+import br.com.moip.TestServer;
+import br.com.moip.resource.Order;
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ConditionalGetTest {
+
+    private static final byte[] ORDER = "{\"id\":\"ORD-1\",\"status\":\"WAITING\"}".getBytes();
+
+    @Rule
+    public TestServer server = new TestServer();
+
+    private final StubResponder handler = new StubResponder();
+    private long time = 1000;
+    private ResourceCache cache;
+    private Client client;
+
+    @Before
+    public void setUp() {
+        server.respond(handler);
+
+        cache = new ResourceCache() {
+            @Override
+            protected long now() {
+                return time;
+            }
+        };
+        client = server.client();
+        client.setResourceCache(cache);
+    }
+
+    @Test
+    public void testRevalidatesWithEtag() {
+        handler.etag = "\"v1\"";
+
+        Order first = get();
+        time += TimeUnit.MINUTES.toMillis(2);
+        Order second = get();
+
+        assertSame(first, second);
+        assertEquals(2, handler.conditions.size());
+        assertNull(handler.conditions.get(0));
+        assertEquals("\"v1\"", handler.conditions.get(1));
+        assertEquals(1, handler.bodies);
+        assertEquals(1, cache.getRevalidationCount());
+    }
+
+    @Test
+    public void testRevalidatesWithLastModified() {
+        handler.lastModified = "Wed, 21 Oct 2015 07:28:00 GMT";
+
+        Order first = get();
+        time += TimeUnit.MINUTES.toMillis(2);
+
+        assertSame(first, get());
+        assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", handler.conditions.get(1));
+        assertEquals(1, handler.bodies);
+    }
+
+    @Test
+    public void testDownloadsAgainWhenServerSendsNoValidators() {
+        Order first = get();
+        time += TimeUnit.MINUTES.toMillis(2);
+        Order second = get();
+
+        assertNotSame(first, second);
+        assertEquals("ORD-1", second.getId());
+        assertNull(handler.conditions.get(1));
+        assertEquals(2, handler.bodies);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testServesFreshEntryWithoutRequest() {
+        handler.etag = "\"v1\"";
+
+        assertSame(get(), get());
+        assertEquals(1, handler.conditions.size());
+    }
+
+    private Order get() {
+        return client.get("/v2/orders/ORD-1", Order.class, ResourceType.ORDER, "ORD-1");
+    }
+
+    private static class StubResponder implements TestServer.Responder {
+
+        private String etag;
+        private String lastModified;
+        private final List<String> conditions = new ArrayList<>();
+        private int bodies;
+
+        @Override
+        public TestServer.Response respond(HttpExchange exchange) {
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            String ifModifiedSince = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+            conditions.add(ifNoneMatch != null ? ifNoneMatch : ifModifiedSince);
+
+            boolean notModified = (etag != null && etag.equals(ifNoneMatch))
+                    || (lastModified != null && lastModified.equals(ifModifiedSince));
+
+            TestServer.Response response;
+            if (notModified) {
+                response = TestServer.Response.empty(304);
+            } else {
+                bodies++;
+                response = TestServer.Response.of(200, ORDER);
+            }
+            if (etag != null) response.header("ETag", etag);
+            if (lastModified != null) response.header("Last-Modified", lastModified);
+
+            return response;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.moip.cache;
+
+import br.com.moip.resource.Order;
+import br.com.moip.resource.OrderStatus;
+import br.com.moip.resource.Payment;
+import br.com.moip.resource.PaymentStatus;
+import br.com.moip.util.GsonFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class OffHeapResourceStoreTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("moip-store", ".bin");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testStoresAndDecodesOnRead() {
+        OffHeapResourceStore store = OffHeapResourceStore.direct(64 * 1024, new JsonResourceCodec());
+        store.put(key(ResourceType.ORDER, "ORD-1"), order("ORD-1", OrderStatus.NOT_PAID));
+        store.put(key(ResourceType.PAYMENT, "PAY-1"), payment("PAY-1", PaymentStatus.SETTLED));
+
+        assertEquals(OrderStatus.NOT_PAID, store.get(key(ResourceType.ORDER, "ORD-1"), Order.class).getStatus());
+        assertEquals(PaymentStatus.SETTLED, store.get(key(ResourceType.PAYMENT, "PAY-1"), Payment.class).getStatus());
+        assertNull(store.get(key(ResourceType.ORDER, "PAY-1"), Order.class));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    public void testReplacesAndRemoves() {
+        OffHeapResourceStore store = OffHeapResourceStore.direct(64 * 1024, new JsonResourceCodec());
+        store.put(key(ResourceType.ORDER, "ORD-1"), order("ORD-1", OrderStatus.WAITING));
+        store.put(key(ResourceType.ORDER, "ORD-1"), order("ORD-1", OrderStatus.REVERTED));
+
+        assertEquals(OrderStatus.REVERTED, store.get(key(ResourceType.ORDER, "ORD-1"), Order.class).getStatus());
+        assertEquals(1, store.size());
+
+        store.remove(key(ResourceType.ORDER, "ORD-1"));
+        assertNull(store.get(key(ResourceType.ORDER, "ORD-1"), Order.class));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testIndexGrowsAndCompactsWhenFull() {
+        OffHeapResourceStore store = OffHeapResourceStore.direct(1024 * 1024, new JsonResourceCodec());
+
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 2000; i++) {
+                store.put(key(ResourceType.ORDER, "ORD-" + i), order("ORD-" + i, OrderStatus.NOT_PAID));
+            }
+        }
+
+        assertEquals(2000, store.size());
+        assertEquals("ORD-1999", store.get(key(ResourceType.ORDER, "ORD-1999"), Order.class).getId());
+        assertEquals("ORD-0", store.get(key(ResourceType.ORDER, "ORD-0"), Order.class).getId());
+    }
+
+    @Test
+    public void testKeepsEntriesWhenRemovalsTriggerRehash() {
+        OffHeapResourceStore store = OffHeapResourceStore.direct(1024 * 1024, new JsonResourceCodec());
+
+        for (int i = 0; i < 500; i++) {
+            store.put(key(ResourceType.ORDER, "ORD-" + i), order("ORD-" + i, OrderStatus.NOT_PAID));
+        }
+        for (int i = 0; i < 400; i++) {
+            store.remove(key(ResourceType.ORDER, "ORD-" + i));
+        }
+        for (int i = 500; i < 600; i++) {
+            store.put(key(ResourceType.ORDER, "ORD-" + i), order("ORD-" + i, OrderStatus.NOT_PAID));
+        }
+
+        assertEquals(200, store.size());
+        for (int i = 400; i < 600; i++) {
+            assertEquals("ORD-" + i, store.get(key(ResourceType.ORDER, "ORD-" + i), Order.class).getId());
+        }
+    }
+
+    @Test
+    public void testSurvivesRestart() throws IOException {
+        OffHeapResourceStore store = OffHeapResourceStore.mapped(file, 64 * 1024, new JsonResourceCodec());
+        store.put(key(ResourceType.ORDER, "ORD-1"), order("ORD-1", OrderStatus.NOT_PAID));
+        store.put(key(ResourceType.ORDER, "ORD-2"), order("ORD-2", OrderStatus.NOT_PAID));
+        store.remove(key(ResourceType.ORDER, "ORD-2"));
+        store.close();
+
+        OffHeapResourceStore reopened = OffHeapResourceStore.mapped(file, 64 * 1024, new JsonResourceCodec());
+        assertEquals(1, reopened.size());
+        assertEquals(OrderStatus.NOT_PAID, reopened.get(key(ResourceType.ORDER, "ORD-1"), Order.class).getStatus());
+        assertNull(reopened.get(key(ResourceType.ORDER, "ORD-2"), Order.class));
+        reopened.close();
+    }
+
+    @Test
+    public void testDiscardsFileWrittenWithAnotherCodec() throws IOException {
+        OffHeapResourceStore store = OffHeapResourceStore.mapped(file, 64 * 1024, new JsonResourceCodec());
+        store.put(key(ResourceType.ORDER, "ORD-1"), order("ORD-1", OrderStatus.NOT_PAID));
+        store.close();
+
+        OffHeapResourceStore reopened = OffHeapResourceStore.mapped(file, 64 * 1024, new JsonResourceCodec() {
+            @Override
+            public String getName() {
+                return "other";
+            }
+        });
+        assertEquals(0, reopened.size());
+        reopened.close();
+    }
+
+    private static Order order(String id, OrderStatus status) {
+        return GsonFactory.gson().fromJson("{\"id\":\"" + id + "\",\"status\":\"" + status + "\"}", Order.class);
+    }
+
+    private static Payment payment(String id, PaymentStatus status) {
+        Payment payment = new Payment();
+        payment.setId(id);
+        payment.setStatus(status);
+
+        return payment;
+    }
+
+    private static CacheKey key(ResourceType type, String id) {
+        return new CacheKey("account", type, id);
+    }
+}
@@ -0,0 +1,286 @@
+package br.com.moip.cache;
+
+import br.com.moip.resource.Customer;
+import br.com.moip.resource.Order;
+import br.com.moip.resource.OrderStatus;
+import br.com.moip.resource.Payment;
+import br.com.moip.resource.PaymentStatus;
+import br.com.moip.util.GsonFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResourceCacheTest {
+
+    private ManualClockCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new ManualClockCache();
+    }
+
+    @Test
+    public void testReturnsCachedResource() {
+        Order order = new Order();
+        cache.put(key(ResourceType.ORDER, "ORD-1"), order, 100);
+
+        assertSame(order, cache.get(key(ResourceType.ORDER, "ORD-1"), Order.class));
+        assertNull(cache.get(key(ResourceType.ORDER, "ORD-2"), Order.class));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRatio(), 0.001);
+    }
+
+    @Test
+    public void testKeysAreScopedByAccount() {
+        cache.put(new CacheKey("account-a", ResourceType.ORDER, "ORD-1"), new Order(), 100);
+
+        assertNull(cache.get(new CacheKey("account-b", ResourceType.ORDER, "ORD-1"), Order.class));
+    }
+
+    @Test
+    public void testInvalidatesResourcesEmbeddingEachOther() {
+        Payment payment = payment(PaymentStatus.AUTHORIZED);
+        payment.setId("PAY-1");
+        Order order = order(OrderStatus.WAITING);
+        order.setPayments(Collections.singletonList(payment));
+        cache.put(key(ResourceType.ORDER, "ORD-1"), order, 100);
+        cache.put(key(ResourceType.PAYMENT, "PAY-1"), payment, 100);
+        cache.put(key(ResourceType.CUSTOMER, "CUS-1"), GsonFactory.gson().fromJson(
+                "{\"id\":\"CUS-1\",\"fundingInstruments\":[{\"method\":\"CREDIT_CARD\",\"creditCard\":{\"id\":\"CRC-1\"}}]}",
+                Customer.class), 100);
+
+        cache.invalidate(key(ResourceType.PAYMENT, "PAY-1"));
+        assertNull(cache.get(key(ResourceType.ORDER, "ORD-1"), Order.class));
+
+        cache.put(key(ResourceType.ORDER, "ORD-1"), order, 100);
+        cache.put(key(ResourceType.PAYMENT, "PAY-1"), payment, 100);
+        cache.invalidate(key(ResourceType.ORDER, "ORD-1"));
+        assertNull(cache.get(key(ResourceType.PAYMENT, "PAY-1"), Payment.class));
+
+        cache.invalidate(key(ResourceType.FUNDING_INSTRUMENT, "CRC-1"));
+        assertNull(cache.get(key(ResourceType.CUSTOMER, "CUS-1"), Customer.class));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testExpiresAfterTtlOfItsType() {
+        cache.ttl(ResourceType.PAYMENT, 10, TimeUnit.SECONDS);
+        cache.put(key(ResourceType.PAYMENT, "PAY-1"), new Payment(), 100);
+        cache.put(key(ResourceType.ORDER, "ORD-1"), new Order(), 100);
+
+        cache.time += TimeUnit.SECONDS.toMillis(11);
+
+        assertNull(cache.get(key(ResourceType.PAYMENT, "PAY-1"), Payment.class));
+        assertNotNull(cache.get(key(ResourceType.ORDER, "ORD-1"), Order.class));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testTypeWithoutTtlIsNotCached() {
+        cache.ttl(ResourceType.CUSTOMER, 0, TimeUnit.SECONDS);
+
+        assertFalse(cache.isCached(ResourceType.CUSTOMER));
+        cache.put(key(ResourceType.CUSTOMER, "CUS-1"), new Object(), 100);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedEntry() {
+        cache.maximumEntries(2);
+        cache.put(key(ResourceType.ORDER, "ORD-1"), new Order(), 100);
+        cache.put(key(ResourceType.ORDER, "ORD-2"), new Order(), 100);
+
+        cache.get(key(ResourceType.ORDER, "ORD-1"), Order.class);
+        cache.put(key(ResourceType.ORDER, "ORD-3"), new Order(), 100);
+
+        assertNotNull(cache.get(key(ResourceType.ORDER, "ORD-1"), Order.class));
+        assertNull(cache.get(key(ResourceType.ORDER, "ORD-2"), Order.class));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testEvictsWhenOverEstimatedBytes() {
+        cache.maximumBytes(1000);
+        cache.put(key(ResourceType.ORDER, "ORD-1"), new Order(), 100);
+        cache.put(key(ResourceType.ORDER, "ORD-2"), new Order(), 100);
+        cache.put(key(ResourceType.ORDER, "ORD-3"), new Order(), 100);
+
+        assertEquals(2, cache.size());
+        assertEquals(800, cache.getEstimatedBytes());
+    }
+
+    @Test
+    public void testInvalidate() {
+        cache.put(key(ResourceType.ORDER, "ORD-1"), new Order(), 100);
+        cache.invalidate(key(ResourceType.ORDER, "ORD-1"));
+
+        assertNull(cache.get(key(ResourceType.ORDER, "ORD-1"), Order.class));
+        assertEquals(1, cache.getInvalidationCount());
+        assertEquals(0, cache.getEstimatedBytes());
+    }
+
+    @Test
+    public void testPinsFinalStatesAndShortensInFlightOnes() {
+        cache.policy(new TerminalStatePolicy(5, TimeUnit.SECONDS));
+        cache.put(key(ResourceType.PAYMENT, "PAY-1"), payment(PaymentStatus.SETTLED), 100);
+        cache.put(key(ResourceType.PAYMENT, "PAY-2"), payment(PaymentStatus.AUTHORIZED), 100);
+        cache.put(key(ResourceType.ORDER, "ORD-1"), order(OrderStatus.NOT_PAID), 100);
+
+        cache.time += TimeUnit.SECONDS.toMillis(6);
+        assertNull(cache.get(key(ResourceType.PAYMENT, "PAY-2"), Payment.class));
+
+        cache.time += TimeUnit.DAYS.toMillis(365);
+        assertNotNull(cache.get(key(ResourceType.PAYMENT, "PAY-1"), Payment.class));
+        assertNotNull(cache.get(key(ResourceType.ORDER, "ORD-1"), Order.class));
+    }
+
+    @Test
+    public void testSpillsEvictedPinnedEntriesToSecondaryStore() {
+        JsonResourceStore store = new JsonResourceStore();
+        cache.policy(new TerminalStatePolicy()).secondaryStore(store).maximumEntries(1);
+        cache.put(key(ResourceType.ORDER, "ORD-1"), order(OrderStatus.NOT_PAID), 100);
+        cache.put(key(ResourceType.ORDER, "ORD-2"), order(OrderStatus.WAITING), 100);
+        cache.put(key(ResourceType.ORDER, "ORD-3"), order(OrderStatus.PAID), 100);
+
+        assertEquals(1, store.size());
+        Order spilled = cache.get(key(ResourceType.ORDER, "ORD-1"), Order.class);
+        assertEquals(OrderStatus.NOT_PAID, spilled.getStatus());
+        assertNull(cache.get(key(ResourceType.ORDER, "ORD-2"), Order.class));
+        assertEquals(1, cache.getSecondaryHitCount());
+
+        cache.invalidate(key(ResourceType.ORDER, "ORD-1"));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testRecognizesFinalStates() {
+        assertTrue(TerminalStatePolicy.isFinal(payment(PaymentStatus.REFUNDED)));
+        assertTrue(TerminalStatePolicy.isFinal(order(OrderStatus.REVERTED)));
+        assertFalse(TerminalStatePolicy.isFinal(order(OrderStatus.PAID)));
+        assertFalse(TerminalStatePolicy.isFinal(payment(PaymentStatus.IN_ANALYSIS)));
+    }
+
+    @Test
+    public void testRestoresFreshEntriesFromSnapshot() throws IOException {
+        File file = File.createTempFile("moip-cache", ".snapshot");
+        try {
+            cache.policy(new TerminalStatePolicy(5, TimeUnit.SECONDS));
+            cache.put(key(ResourceType.ORDER, "ORD-1"), order(OrderStatus.NOT_PAID), 100);
+            cache.put(key(ResourceType.ORDER, "ORD-2"), order(OrderStatus.WAITING), 100);
+            cache.put(key(ResourceType.PAYMENT, "PAY-1"), payment(PaymentStatus.AUTHORIZED), 100, new Validators("\"v1\"", null));
+            assertEquals(3, cache.snapshot(file, new JsonResourceCodec()));
+
+            ManualClockCache restored = new ManualClockCache();
+            restored.time = cache.time + TimeUnit.SECONDS.toMillis(10);
+
+            assertEquals(2, restored.restore(file, new JsonResourceCodec()));
+            assertEquals(OrderStatus.NOT_PAID, restored.get(key(ResourceType.ORDER, "ORD-1"), Order.class).getStatus());
+            assertNull(restored.get(key(ResourceType.ORDER, "ORD-2"), Order.class));
+            assertEquals("\"v1\"", restored.getStale(key(ResourceType.PAYMENT, "PAY-1"), Payment.class).getValidators().getEtag());
+            assertEquals(800, restored.getEstimatedBytes());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testRejectsSnapshotWithCorruptLengths() throws IOException {
+        File file = File.createTempFile("moip-cache", ".snapshot");
+        try {
+            cache.put(key(ResourceType.ORDER, "ORD-1"), order(OrderStatus.PAID), 100);
+            cache.snapshot(file, new JsonResourceCodec());
+
+            // Header of 20 bytes, then the type, account and id strings, dates, flags and validators
+            int typeLength = 20;
+            int entryLength = typeLength + 9 + 11 + 9 + 8 + 1 + 8 + 4 + 4;
+
+            assertCorrupt(file, typeLength, -5);
+            assertCorrupt(file, entryLength, -1);
+            assertCorrupt(file, entryLength, Integer.MAX_VALUE);
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static void assertCorrupt(File snapshot, int offset, int value) throws IOException {
+        File corrupt = File.createTempFile("moip-cache", ".corrupt");
+        try {
+            Files.copy(snapshot.toPath(), corrupt.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            try (RandomAccessFile file = new RandomAccessFile(corrupt, "rw")) {
+                file.seek(offset);
+                file.writeInt(value);
+            }
+
+            new ManualClockCache().restore(corrupt, new JsonResourceCodec());
+            fail("Restored a snapshot with " + value + " at " + offset);
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Corrupt cache snapshot"));
+        } finally {
+            corrupt.delete();
+        }
+    }
+
+    @Test
+    public void testIgnoresSnapshotOfAnotherCodec() throws IOException {
+        File file = File.createTempFile("moip-cache", ".snapshot");
+        try {
+            cache.put(key(ResourceType.ORDER, "ORD-1"), order(OrderStatus.PAID), 100);
+            cache.snapshot(file, new JsonResourceCodec());
+
+            ResourceCodec other = new JsonResourceCodec() {
+                @Override
+                public String getName() {
+                    return "other";
+                }
+            };
+            assertEquals(0, new ManualClockCache().restore(file, other));
+            assertEquals(0, new ManualClockCache().restore(new File(file.getPath() + ".missing"), new JsonResourceCodec()));
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static Order order(OrderStatus status) {
+        Order order = new Order();
+        order.setStatus(status);
+
+        return order;
+    }
+
+    private static Payment payment(PaymentStatus status) {
+        Payment payment = new Payment();
+        payment.setStatus(status);
+
+        return payment;
+    }
+
+    private static CacheKey key(ResourceType type, String id) {
+        return new CacheKey("account", type, id);
+    }
+
+    private static class ManualClockCache extends ResourceCache {
+
+        private long time = 1000;
+
+        @Override
+        protected long now() {
+            return time;
+        }
+    }
+}
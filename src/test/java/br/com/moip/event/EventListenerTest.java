@@ -0,0 +1,191 @@
+package br.com.moip.event;
+
+import br.com.moip.Client;
+import br.com.moip.TestServer;
+import br.com.moip.exception.ValidationException;
+import br.com.moip.resource.Order;
+import br.com.moip.response.ListStreamReader;
+import br.com.moip.response.ResourceConsumer;
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class EventListenerTest {
+
+    private static final byte[] ORDER = "{\"id\":\"ORD-1\",\"status\":\"WAITING\"}".getBytes();
+    private static final byte[] ORDERS = "{\"orders\":[{\"id\":\"ORD-1\"},{\"id\":\"ORD-2\"}]}".getBytes();
+    private static final byte[] ERRORS = "{\"errors\":[{\"code\":\"ORD-001\",\"path\":\"ownId\",\"description\":\"required\"}]}".getBytes();
+
+    @Rule
+    public TestServer server = new TestServer();
+
+    private final StubResponder handler = new StubResponder();
+    private RecordingListener listener;
+    private Client client;
+
+    @Before
+    public void setUp() {
+        server.respond(handler);
+
+        listener = new RecordingListener();
+        client = server.client();
+        client.setEventListener(listener);
+    }
+
+    @Test
+    public void testReportsEveryPhaseInOrder() {
+        handler.status = 200;
+        handler.body = ORDER;
+
+        client.get("/v2/orders/ORD-1", Order.class);
+
+        assertEquals(Arrays.asList("callStart", "dnsStart localhost", "dnsEnd", "connectStart", "connectEnd false",
+                "requestStart", "requestEnd 0", "responseStart 200", "responseEnd " + ORDER.length,
+                "decodeStart", "decodeEnd", "callEnd"), listener.events);
+        assertMonotonic(listener.times);
+        assertEquals(200, listener.call.getStatus());
+        assertEquals("/v2/orders/ORD-1", listener.call.getPath());
+        assertEquals(ORDER.length, listener.call.getResponseBytes());
+    }
+
+    @Test
+    public void testCountsRequestBytes() {
+        handler.status = 201;
+        handler.body = ORDER;
+
+        client.post("/v2/orders", new Order(), Order.class);
+
+        assertEquals("POST", listener.call.getMethod());
+        assertEquals(handler.received, listener.call.getRequestBytes());
+        assertEquals(Arrays.asList("callStart", "encodeStart", "encodeEnd " + handler.received, "dnsStart localhost"),
+                listener.events.subList(0, 4));
+        assertTrue(listener.events.contains("requestEnd " + handler.received));
+    }
+
+    @Test
+    public void testDecodesWhileReadingAStreamedBody() {
+        handler.status = 200;
+        handler.body = ORDERS;
+
+        client.get("/v2/orders", new ListStreamReader<>(Order.class, "orders", new ResourceConsumer<Order>() {
+            @Override
+            public void accept(Order order) {}
+        }));
+
+        List<String> tail = listener.events.subList(listener.events.size() - 4, listener.events.size());
+        assertEquals(Arrays.asList("decodeStart", "responseEnd " + ORDERS.length, "decodeEnd", "callEnd"), tail);
+    }
+
+    @Test
+    public void testReportsFailedCall() {
+        handler.status = 400;
+        handler.body = ERRORS;
+
+        try {
+            client.get("/v2/orders/ORD-1", Order.class);
+            fail();
+        } catch (ValidationException e) {
+            assertEquals("callFailed ValidationException", listener.events.get(listener.events.size() - 1));
+            assertFalse(listener.events.contains("callEnd"));
+            assertEquals(400, listener.call.getStatus());
+            assertEquals(ERRORS.length, listener.call.getResponseBytes());
+        }
+    }
+
+    private static void assertMonotonic(List<Long> times) {
+        for (int i = 1; i < times.size(); i++) {
+            assertTrue(times.get(i - 1) <= times.get(i));
+        }
+    }
+
+    private static class RecordingListener extends EventListener {
+
+        private final List<String> events = new ArrayList<>();
+        private final List<Long> times = new ArrayList<>();
+        private Call call;
+
+        private void record(String event, long nanoTime) {
+            events.add(event);
+            times.add(nanoTime);
+        }
+
+        @Override
+        public void callStart(Call call) {
+            this.call = call;
+            record("callStart", call.getStartNanos());
+        }
+
+        @Override
+        public void encodeStart(Call call, long nanoTime) { record("encodeStart", nanoTime); }
+
+        @Override
+        public void encodeEnd(Call call, long nanoTime, long bodyBytes) { record("encodeEnd " + bodyBytes, nanoTime); }
+
+        @Override
+        public void dnsStart(Call call, long nanoTime, String host) { record("dnsStart " + host, nanoTime); }
+
+        @Override
+        public void dnsEnd(Call call, long nanoTime) { record("dnsEnd", nanoTime); }
+
+        @Override
+        public void connectStart(Call call, long nanoTime) { record("connectStart", nanoTime); }
+
+        @Override
+        public void secureConnectStart(Call call, long nanoTime) { record("secureConnectStart", nanoTime); }
+
+        @Override
+        public void secureConnectEnd(Call call, long nanoTime) { record("secureConnectEnd", nanoTime); }
+
+        @Override
+        public void connectEnd(Call call, long nanoTime, boolean connectionReused) { record("connectEnd " + connectionReused, nanoTime); }
+
+        @Override
+        public void requestStart(Call call, long nanoTime) { record("requestStart", nanoTime); }
+
+        @Override
+        public void requestEnd(Call call, long nanoTime, long bodyBytes) { record("requestEnd " + bodyBytes, nanoTime); }
+
+        @Override
+        public void responseStart(Call call, long nanoTime, int status) { record("responseStart " + status, nanoTime); }
+
+        @Override
+        public void responseEnd(Call call, long nanoTime, long bodyBytes) { record("responseEnd " + bodyBytes, nanoTime); }
+
+        @Override
+        public void decodeStart(Call call, long nanoTime) { record("decodeStart", nanoTime); }
+
+        @Override
+        public void decodeEnd(Call call, long nanoTime) { record("decodeEnd", nanoTime); }
+
+        @Override
+        public void callEnd(Call call, long nanoTime) { record("callEnd", nanoTime); }
+
+        @Override
+        public void callFailed(Call call, long nanoTime, Exception e) { record("callFailed " + e.getClass().getSimpleName(), nanoTime); }
+    }
+
+    private static class StubResponder implements TestServer.Responder {
+
+        private int status;
+        private byte[] body;
+        private long received;
+
+        @Override
+        public TestServer.Response respond(HttpExchange exchange) throws IOException {
+            received = TestServer.body(exchange).length;
+
+            return TestServer.Response.of(status, body);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.moip.event;
+
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class RouteTableTest {
+
+    private final RouteTable routes = new RouteTable();
+
+    @Test
+    public void testReplacesIdentifiersWithPlaceholders() {
+        assertEquals("/v2/orders/{id}", routes.route("GET", "/v2/orders/ORD-HCOWQ2QJKTAT").getTemplate());
+        assertEquals("/v2/payments/{id}/capture", routes.route("POST", "/v2/payments/PAY-1A2B3C/capture").getTemplate());
+        assertEquals("/v2/entries/{id}", routes.route("GET", "/v2/entries/36523041").getTemplate());
+        assertEquals("/v2/preferences/notifications", routes.route("GET", "/v2/preferences/notifications").getTemplate());
+        assertEquals("/v2/accounts/exists", routes.route("GET", "/v2/accounts/exists?tax_document=123.456.789-00").getTemplate());
+        assertEquals("/oauth/token", routes.route("POST", "/oauth/token").getTemplate());
+        assertEquals("/v2/multiorders/", routes.route("GET", "/v2/multiorders/").getTemplate());
+    }
+
+    @Test
+    public void testReturnsTheSameRouteForEveryIdentifier() {
+        Route first = routes.route("GET", "/v2/orders/ORD-HCOWQ2QJKTAT");
+
+        assertSame(first, routes.route("GET", "/v2/orders/ORD-ABC123"));
+        assertSame(first, routes.route("GET", "/v2/orders/ORD-ABC123?limit=10"));
+        assertNotSame(first, routes.route("DELETE", "/v2/orders/ORD-ABC123"));
+        assertNotSame(first, routes.route("GET", "/v2/orders/ORD-ABC123/payments"));
+        assertNotSame(first, routes.route("GET", "/v2/orders"));
+        assertEquals(4, routes.size());
+        assertEquals("GET /v2/orders/{id}", first.getName());
+    }
+
+    @Test
+    public void testGivesDenseIds() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, routes.route("GET", "/v2/resource" + (char) ('a' + i % 26) + (char) ('a' + i / 26)).getId());
+        }
+    }
+
+    @Test
+    public void testFoldsTemplatesPastTheLimit() {
+        for (int i = 0; i < RouteTable.MAXIMUM_ROUTES; i++) {
+            routes.route("GET", "/v2/" + name(i));
+        }
+
+        Route other = routes.route("GET", "/v2/another");
+        assertEquals(RouteTable.OTHER, other.getTemplate());
+        assertSame(other, routes.route("GET", "/v2/yetanother"));
+        assertEquals(RouteTable.MAXIMUM_ROUTES + 1, routes.size());
+    }
+
+    @Test
+    public void testFindsTheOtherRouteWithoutLocking() throws Exception {
+        for (int i = 0; i < RouteTable.MAXIMUM_ROUTES; i++) {
+            routes.route("GET", "/v2/" + name(i));
+        }
+        final Route other = routes.route("GET", "/v2/another");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            synchronized (routes) {
+                Future<Route> lookup = executor.submit(new Callable<Route>() {
+                    @Override
+                    public Route call() {
+                        return routes.route("GET", "/v2/yetanother");
+                    }
+                });
+
+                assertSame(other, lookup.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String name(int i) {
+        StringBuilder name = new StringBuilder();
+        do {
+            name.append((char) ('a' + i % 26));
+            i /= 26;
+        } while (i > 0);
+
+        return name.toString();
+    }
+}
@@ -0,0 +1,136 @@
+package br.com.moip.interceptor;
+
+import br.com.moip.Client;
+import br.com.moip.TestServer;
+import br.com.moip.exception.UnexpectedException;
+import br.com.moip.resource.Order;
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class InterceptorTest {
+
+    @Rule
+    public TestServer server = new TestServer();
+
+    private Client client;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final List<String> headers = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        server.respond(new TestServer.Responder() {
+            @Override
+            public TestServer.Response respond(HttpExchange exchange) {
+                requests.incrementAndGet();
+                headers.add(exchange.getRequestHeaders().getFirst("X-Request-Id"));
+
+                return failures.getAndDecrement() > 0
+                        ? TestServer.Response.of(503, "{}").header("Content-Type", "application/json")
+                        : TestServer.Response.of(200, "{\"id\":\"ORD-1\"}").header("Content-Type", "application/json");
+            }
+        });
+        client = server.client();
+    }
+
+    @Test
+    public void testRunsInterceptorsInOrderOnOneChain() {
+        final List<Object> chains = new ArrayList<>();
+        client.addInterceptor(new Interceptor() {
+            @Override
+            public <T> T intercept(Chain<T> chain) {
+                chains.add(chain);
+                chain.call().setHeader("X-Request-Id", "first");
+                return chain.proceed();
+            }
+        });
+        client.addInterceptor(new Interceptor() {
+            @Override
+            public <T> T intercept(Chain<T> chain) {
+                chains.add(chain);
+                chain.call().setHeader("X-Request-Id", "second");
+                T result = chain.proceed();
+                assertEquals("application/json", chain.getResponseHeader("Content-Type"));
+                return result;
+            }
+        });
+
+        Order order = client.get("/v2/orders/ORD-1", Order.class);
+
+        assertEquals("ORD-1", order.getId());
+        assertEquals(2, chains.size());
+        assertSame(chains.get(0), chains.get(1));
+        assertEquals("second", headers.get(0));
+        assertEquals(2, client.getInterceptors().size());
+    }
+
+    @Test
+    public void testShortCircuitsWithoutReachingTheApi() {
+        final Order mocked = new Order();
+        client.addInterceptor(new Interceptor() {
+            @Override
+            public <T> T intercept(Chain<T> chain) {
+                return chain.getResponseType().cast(mocked);
+            }
+        });
+
+        assertSame(mocked, client.get("/v2/orders/ORD-1", Order.class));
+        assertEquals(0, requests.get());
+    }
+
+    @Test
+    public void testRetriesIdempotentCallsOnServerErrors() {
+        failures.set(2);
+        final List<Integer> retryCounts = new ArrayList<>();
+        client.addInterceptor(new RetryInterceptor().backoff(1, TimeUnit.MILLISECONDS));
+        client.addInterceptor(new Interceptor() {
+            @Override
+            public <T> T intercept(Chain<T> chain) {
+                retryCounts.add(chain.call().getRetryCount());
+                return chain.proceed();
+            }
+        });
+
+        assertEquals("ORD-1", client.get("/v2/orders/ORD-1", Order.class).getId());
+        assertEquals(3, requests.get());
+        assertEquals(3, retryCounts.size());
+        assertEquals(2, (int) retryCounts.get(2));
+    }
+
+    @Test
+    public void testGivesUpAfterMaxRetries() {
+        failures.set(5);
+        client.addInterceptor(new RetryInterceptor().maxRetries(1).backoff(0, TimeUnit.MILLISECONDS));
+
+        try {
+            client.get("/v2/orders/ORD-1", Order.class);
+            fail();
+        } catch (UnexpectedException e) {
+            assertEquals(2, requests.get());
+        }
+    }
+
+    @Test
+    public void testDoesNotRetryPosts() {
+        failures.set(1);
+        client.addInterceptor(new RetryInterceptor().backoff(0, TimeUnit.MILLISECONDS));
+
+        try {
+            client.post("/v2/orders", new Order(), Order.class);
+            fail();
+        } catch (UnexpectedException e) {
+            assertEquals(1, requests.get());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.moip.log;
+
+import br.com.moip.Client;
+import br.com.moip.TestServer;
+import br.com.moip.exception.ValidationException;
+import br.com.moip.request.CreditCardRequest;
+import br.com.moip.resource.Order;
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SlowCallLogTest {
+
+    @Rule
+    public TestServer server = new TestServer();
+
+    private Client client;
+    private final List<SlowCall> records = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        server.respond(new TestServer.Responder() {
+            @Override
+            public TestServer.Response respond(HttpExchange exchange) {
+                if (exchange.getRequestURI().getPath().endsWith("SLOW")) {
+                    try {
+                        Thread.sleep(60);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+                return exchange.getRequestURI().getPath().endsWith("INVALID")
+                        ? TestServer.Response.of(400, "{\"errors\":[{\"code\":\"CC-1\",\"description\":\"bad\"}],\"hash\":\"secret\"}")
+                        : TestServer.Response.of(200, "{\"id\":\"ORD-1\",\"status\":\"WAITING\"}");
+            }
+        });
+
+        client = server.client();
+    }
+
+    @Test
+    public void testRecordsCallsOverTheThreshold() {
+        // Warms the client up, so the first call below is not slow for loading classes
+        client.get("/v2/orders/ORD-1", Order.class);
+        client.setSlowCallLog(new SlowCallLog().threshold(50, TimeUnit.MILLISECONDS).handler(collect()));
+
+        client.get("/v2/orders/ORD-1", Order.class);
+        assertTrue(records.isEmpty());
+
+        client.post("/v2/orders/SLOW", new CreditCardRequest().number("5555666677778884").hash("abc"), Order.class);
+        assertEquals(1, records.size());
+
+        SlowCall call = records.get(0);
+        assertEquals("POST", call.getMethod());
+        assertEquals("/v2/orders/{id}", call.getRoute());
+        assertEquals(200, call.getStatus());
+        assertFalse(call.isSampled());
+        assertNull(call.getError());
+        assertTrue(call.getDurationMillis() >= 50);
+        assertTrue(call.getPhasesMillis().get("wait") >= 50);
+        assertTrue(call.getPhasesMillis().containsKey("encode"));
+        assertTrue(call.getPhasesMillis().containsKey("decode"));
+        assertEquals("{\"hash\":\"****\",\"number\":\"****\"}", call.getRequestBody());
+        assertEquals("{\"id\":\"ORD-1\",\"status\":\"WAITING\"}", call.getResponseBody());
+        assertTrue(call.toString().startsWith("{\"method\":\"POST\""));
+    }
+
+    @Test
+    public void testRecordsSampledAndFailedCalls() {
+        client.setSlowCallLog(new SlowCallLog().threshold(1, TimeUnit.MINUTES).sampleRate(1).handler(collect()));
+
+        try {
+            client.get("/v2/orders/INVALID", Order.class);
+            fail();
+        } catch (ValidationException e) {
+            SlowCall call = records.get(0);
+
+            assertTrue(call.isSampled());
+            assertEquals(400, call.getStatus());
+            assertTrue(call.getError().startsWith(ValidationException.class.getName()));
+            assertTrue(call.getResponseBody().endsWith("\"hash\":\"****\"}"));
+            assertNull(call.getRequestBody());
+        }
+    }
+
+    @Test
+    public void testMasksTaxDocumentsInThePath() {
+        client.setSlowCallLog(new SlowCallLog().threshold(1, TimeUnit.MINUTES).sampleRate(1).handler(collect()));
+
+        client.get("/v2/accounts/exists?tax_document=123.456.789-00", Order.class);
+
+        assertEquals("/v2/accounts/exists?tax_document=****", records.get(0).getPath());
+        assertFalse(records.get(0).toString().contains("123.456.789-00"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsSampleRatesOutOfRange() {
+        new SlowCallLog().sampleRate(2);
+    }
+
+    private SlowCallLog.Handler collect() {
+        return new SlowCallLog.Handler() {
+            @Override
+            public void record(SlowCall call) {
+                records.add(call);
+            }
+        };
+    }
+}
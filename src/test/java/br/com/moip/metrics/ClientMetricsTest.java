@@ -0,0 +1,148 @@
+package br.com.moip.metrics;
+
+import br.com.moip.Client;
+import br.com.moip.TestServer;
+import br.com.moip.authentication.BasicAuth;
+import br.com.moip.event.Route;
+import br.com.moip.event.RouteTable;
+import br.com.moip.exception.ValidationException;
+import br.com.moip.resource.Order;
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ClientMetricsTest {
+
+    private static final byte[] ORDER = "{\"id\":\"ORD-1\",\"status\":\"WAITING\"}".getBytes();
+
+    @Rule
+    public TestServer server = new TestServer();
+
+    private ClientMetrics metrics;
+    private Client client;
+
+    @Before
+    public void setUp() {
+        server.respond(new TestServer.Responder() {
+            @Override
+            public TestServer.Response respond(HttpExchange exchange) {
+                return exchange.getRequestURI().getPath().endsWith("MISSING")
+                        ? TestServer.Response.of(404, "{}")
+                        : TestServer.Response.of(200, ORDER);
+            }
+        });
+
+        metrics = new ClientMetrics();
+        client = server.client();
+        client.setMetrics(metrics);
+    }
+
+    @Test
+    public void testRecordsByRouteTemplate() {
+        client.get("/v2/orders/ORD-1", Order.class);
+        client.get("/v2/orders/ORD-2", Order.class);
+
+        RouteStats stats = metrics.get(route("GET", "/v2/orders/{id}"));
+
+        assertEquals(2, stats.getCount());
+        assertEquals(2, stats.getCount(2));
+        assertEquals(2, stats.getLatency().getCount());
+        assertEquals(2 * ORDER.length, stats.getBytesIn());
+        assertEquals(0, stats.getBytesOut());
+        assertEquals(2, stats.getConnectionsOpened() + stats.getConnectionsReused());
+        assertEquals(0, stats.getInFlight());
+        assertEquals(0, metrics.getInFlight());
+        assertEquals(1, metrics.getRoutes().size());
+    }
+
+    @Test
+    public void testCountsErrorsByType() {
+        try {
+            client.get("/v2/orders/MISSING", Order.class);
+            fail();
+        } catch (ValidationException e) {
+            RouteStats stats = metrics.get(route("GET", "/v2/orders/{id}"));
+
+            assertEquals(1, stats.getCount(4));
+            assertEquals(1, stats.getErrors(ErrorType.VALIDATION));
+            assertEquals(0, stats.getErrors(ErrorType.IO));
+        }
+    }
+
+    @Test
+    public void testCountsConnectionFailuresAsIo() {
+        client = new Client("http://localhost:1", new BasicAuth("token", "key"));
+        client.setMetrics(metrics);
+
+        try {
+            client.post("/v2/orders", new Order(), Order.class);
+            fail();
+        } catch (RuntimeException e) {
+            RouteStats stats = metrics.get(route("POST", "/v2/orders"));
+
+            assertEquals(1, stats.getCount(0));
+            assertEquals(1, stats.getErrors(ErrorType.IO));
+            assertEquals(0, metrics.getInFlight());
+        }
+    }
+
+    @Test
+    public void testAccountsAllocationsByPhase() {
+        client.setResourceAccounting(true);
+        client.post("/v2/orders", new Order(), Order.class);
+
+        RouteStats stats = metrics.get(route("POST", "/v2/orders"));
+
+        for (CallPhase phase : CallPhase.values()) {
+            assertEquals(1, stats.getAccounted(phase));
+            assertTrue(stats.getAllocatedBytes(phase) > 0);
+            assertTrue(stats.getCpuNanos(phase) >= 0);
+        }
+    }
+
+    @Test
+    public void testDoesNotAccountUnlessAsked() {
+        client.post("/v2/orders", new Order(), Order.class);
+
+        RouteStats stats = metrics.get(route("POST", "/v2/orders"));
+
+        assertEquals(1, stats.getCount());
+        assertEquals(0, stats.getAccounted(CallPhase.TRANSPORT));
+        assertEquals(0, stats.getAllocatedBytes(CallPhase.TRANSPORT));
+    }
+
+    @Test
+    public void testOnlyCreatesStatsForRoutesCalled() {
+        assertNull(metrics.get(route("GET", "/v2/payments/{id}")));
+    }
+
+    @Test
+    public void testHistogramBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(500));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(40));
+        histogram.record(TimeUnit.MINUTES.toNanos(5));
+
+        long[] counts = histogram.getCounts();
+        assertEquals(2, counts[0]);
+        assertEquals(1, counts[5]);
+        assertEquals(1, counts[counts.length - 1]);
+        assertEquals(4, histogram.getCount());
+        assertEquals(1, histogram.getPercentileMillis(50));
+        assertEquals(50, histogram.getPercentileMillis(75));
+        assertEquals(Long.MAX_VALUE, histogram.getPercentileMillis(99));
+    }
+
+    private static Route route(String method, String template) {
+        return RouteTable.shared().route(method, template.replace("{id}", "ORD-1"));
+    }
+}
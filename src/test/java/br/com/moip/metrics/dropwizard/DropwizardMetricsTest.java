@@ -0,0 +1,37 @@
+package br.com.moip.metrics.dropwizard;
+
+import br.com.moip.event.Route;
+import br.com.moip.event.RouteTable;
+import br.com.moip.metrics.ErrorType;
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class DropwizardMetricsTest {
+
+    private final MetricRegistry registry = new MetricRegistry();
+    private final DropwizardMetrics metrics = new DropwizardMetrics(registry);
+
+    @Test
+    public void testRecordsIntoTheRegistry() {
+        Route route = new RouteTable().route("POST", "/v2/payments/PAY-1/capture");
+
+        metrics.callStarted(route);
+        assertEquals(1, registry.counter("moip.inFlight").getCount());
+
+        metrics.callEnded(route, 400, ErrorType.VALIDATION, 1000000, 120, 80);
+        metrics.callStarted(route);
+        metrics.callEnded(route, 200, ErrorType.NONE, 2000000, 120, 300);
+
+        String name = "moip.POST./v2/payments/{id}/capture";
+        assertEquals(2, registry.timer(name + ".latency").getCount());
+        assertEquals(1, registry.meter(name + ".responses.2xx").getCount());
+        assertEquals(1, registry.meter(name + ".responses.4xx").getCount());
+        assertEquals(1, registry.meter(name + ".errors.validation").getCount());
+        assertEquals(240, registry.counter(name + ".bytesOut").getCount());
+        assertEquals(380, registry.counter(name + ".bytesIn").getCount());
+        assertEquals(0, registry.counter(name + ".inFlight").getCount());
+        assertEquals(0, registry.counter("moip.inFlight").getCount());
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.moip.metrics.prometheus;
+
+import br.com.moip.cache.CacheKey;
+import br.com.moip.cache.ResourceCache;
+import br.com.moip.cache.ResourceType;
+import br.com.moip.event.Route;
+import br.com.moip.event.RouteTable;
+import br.com.moip.metrics.ClientMetrics;
+import br.com.moip.metrics.ErrorType;
+import br.com.moip.resource.Order;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PrometheusExporterTest {
+
+    private final RouteTable routes = new RouteTable();
+    private final ClientMetrics metrics = new ClientMetrics();
+
+    @Test
+    public void testRendersRouteCountersAndHistograms() {
+        Route capture = routes.route("POST", "/v2/payments/PAY-1/capture");
+
+        metrics.callStarted(capture);
+        metrics.connected(capture, false);
+        metrics.callEnded(capture, 200, ErrorType.NONE, TimeUnit.MILLISECONDS.toNanos(40), 100, 800);
+        metrics.callStarted(capture);
+        metrics.connected(capture, true);
+        metrics.callEnded(capture, 400, ErrorType.VALIDATION, TimeUnit.MILLISECONDS.toNanos(3), 100, 200);
+        metrics.callStarted(capture);
+
+        String text = new PrometheusExporter().metrics(metrics).render();
+        String labels = "method=\"POST\",route=\"/v2/payments/{id}/capture\"";
+
+        assertContains(text, "# TYPE moip_requests_total counter");
+        assertContains(text, "moip_requests_in_flight 1\n");
+        assertContains(text, "moip_route_requests_in_flight{" + labels + "} 1\n");
+        assertContains(text, "moip_requests_total{" + labels + ",status=\"2xx\"} 1\n");
+        assertContains(text, "moip_requests_total{" + labels + ",status=\"4xx\"} 1\n");
+        assertContains(text, "moip_request_errors_total{" + labels + ",error=\"validation\"} 1\n");
+        assertContains(text, "moip_request_duration_seconds_bucket{" + labels + ",le=\"0.001\"} 0\n");
+        assertContains(text, "moip_request_duration_seconds_bucket{" + labels + ",le=\"0.005\"} 1\n");
+        assertContains(text, "moip_request_duration_seconds_bucket{" + labels + ",le=\"0.05\"} 2\n");
+        assertContains(text, "moip_request_duration_seconds_bucket{" + labels + ",le=\"60.0\"} 2\n");
+        assertContains(text, "moip_request_duration_seconds_bucket{" + labels + ",le=\"+Inf\"} 2\n");
+        assertContains(text, "moip_request_duration_seconds_count{" + labels + "} 2\n");
+        assertContains(text, "moip_request_duration_seconds_sum{" + labels + "} 0.043\n");
+        assertContains(text, "moip_request_bytes_total{" + labels + "} 200\n");
+        assertContains(text, "moip_response_bytes_total{" + labels + "} 1000\n");
+        assertContains(text, "moip_connections_total{" + labels + ",reused=\"true\"} 1\n");
+        assertContains(text, "moip_connections_total{" + labels + ",reused=\"false\"} 1\n");
+    }
+
+    @Test
+    public void testRendersCacheCounters() {
+        ResourceCache cache = new ResourceCache();
+        CacheKey key = new CacheKey("account", ResourceType.ORDER, "ORD-1");
+        cache.put(key, new Order(), 10);
+        cache.get(key, Order.class);
+        cache.get(new CacheKey("account", ResourceType.ORDER, "ORD-2"), Order.class);
+
+        String text = new PrometheusExporter().cache(cache).render();
+
+        assertContains(text, "moip_cache_hits_total 1\n");
+        assertContains(text, "moip_cache_misses_total 1\n");
+        assertContains(text, "moip_cache_hit_ratio 0.5\n");
+    }
+
+    @Test
+    public void testServesTheMetricsEndpoint() throws IOException {
+        metrics.callStarted(routes.route("GET", "/v2/orders"));
+
+        try (PrometheusEndpoint endpoint = PrometheusEndpoint.start(new InetSocketAddress("localhost", 0),
+                new PrometheusExporter().metrics(metrics))) {
+            HttpURLConnection conn = (HttpURLConnection) new URL("http://localhost:" + endpoint.getPort() + "/metrics").openConnection();
+
+            assertEquals(200, conn.getResponseCode());
+            assertEquals(PrometheusExporter.CONTENT_TYPE, conn.getContentType());
+
+            StringBuilder body = new StringBuilder();
+            BufferedReader in = new BufferedReader(new InputStreamReader(conn.getInputStream(), "UTF-8"));
+            for (String line; (line = in.readLine()) != null; ) {
+                body.append(line).append('\n');
+            }
+            in.close();
+
+            assertContains(body.toString(), "moip_requests_in_flight 1\n");
+        }
+    }
+
+    private static void assertContains(String text, String expected) {
+        assertTrue("Missing " + expected + " in\n" + text, text.contains(expected));
+    }
+}
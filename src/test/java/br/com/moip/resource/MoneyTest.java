@@ -0,0 +1,67 @@
+package br.com.moip.resource;
+
+import br.com.moip.util.GsonFactory;
+import com.google.gson.Gson;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MoneyTest {
+
+    private final Gson gson = GsonFactory.gson();
+
+    @Test
+    public void testArithmetic() {
+        Money total = Money.brl(10000).plus(Money.brl(-499)).plus(1);
+
+        assertEquals(9502, total.getCents());
+        assertEquals(Money.brl(9502), total);
+        assertEquals("BRL 95.02", total.toString());
+        assertEquals("BRL -0.05", Money.brl(-5).toString());
+        assertTrue(Money.brl(1).compareTo(Money.brl(2)) < 0);
+        assertTrue(Money.brl(1).minus(Money.brl(2)).isNegative());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsMixedCurrencies() {
+        Money.brl(100).plus(Money.of(100, "USD"));
+    }
+
+    @Test
+    public void testAmountCentsTreatMissingAsZero() {
+        Amount amount = gson.fromJson("{\"total\":10000,\"fees\":499,\"currency\":\"BRL\"}", Amount.class);
+
+        assertEquals(10000, amount.getTotalCents());
+        assertEquals(0, amount.getLiquidCents());
+        assertEquals(Money.brl(10000), amount.toMoney());
+    }
+
+    @Test
+    public void testTotalsDoNotOverflowInt() {
+        Entry entry = gson.fromJson("{\"grossAmount\":2000000000,\"liquidAmount\":1900000000,"
+                + "\"fees\":[{\"amount\":60000000,\"type\":\"TRANSACTION\"},{\"amount\":40000000,\"type\":\"PRE_PAYMENT\"}]}", Entry.class);
+        List<Entry> entries = Collections.nCopies(3, entry);
+
+        assertEquals(6000000000L, Totals.entriesGross(entries));
+        assertEquals(5700000000L, Totals.entriesLiquid(entries));
+        assertEquals(300000000L, Totals.entriesFees(entries));
+    }
+
+    @Test
+    public void testOrderTotalsSkipMissingAmounts() {
+        List<Order> orders = new ArrayList<>(Arrays.asList(
+                gson.fromJson("{\"amount\":{\"total\":10000,\"fees\":499,\"liquid\":9501}}", Order.class),
+                gson.fromJson("{\"id\":\"ORD-2\"}", Order.class),
+                gson.fromJson("{\"amount\":{\"total\":5000}}", Order.class)));
+
+        assertEquals(15000, Totals.ordersTotal(orders));
+        assertEquals(499, Totals.ordersFees(orders));
+        assertEquals(9501, Totals.ordersLiquid(orders));
+    }
+}
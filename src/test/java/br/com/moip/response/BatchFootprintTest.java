@@ -0,0 +1,58 @@
+package br.com.moip.response;
+
+import br.com.moip.resource.Entry;
+import br.com.moip.util.GsonFactory;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.junit.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchFootprintTest {
+
+    private final Gson gson = GsonFactory.gson();
+
+    @Test
+    public void testEntryColumnsAreAFractionOfTheObjectGraph() throws IOException {
+        String json = entries(1000);
+
+        List<Entry> entries = gson.fromJson(json, new TypeToken<List<Entry>>() {}.getType());
+        EntryBatch batch = new EntryBatchReader().read(gson.newJsonReader(new StringReader(json)), gson);
+
+        assertEquals(entries.size(), batch.size());
+        assertEquals(entries.get(999).getLiquidAmount(), batch.getLiquidAmounts()[999]);
+
+        long objects = GraphLayout.parseInstance(entries).totalSize();
+        long columns = GraphLayout.parseInstance(batch).totalSize();
+        assertTrue(columns + " should be a fifth of " + objects, columns * 5 < objects);
+    }
+
+    private static String entries(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"external_id\":\"ENT-").append(100000 + i).append("\",\"reschedule\":[],")
+                    .append("\"scheduledFor\":\"2017-08-25T09:53:08.000Z\",\"status\":\"SETTLED\",")
+                    .append("\"moipAccount\":{\"account\":\"MPA-B4DEE9F7589B\"},")
+                    .append("\"fees\":[{\"amount\":179,\"type\":\"TRANSACTION\"}],\"type\":\"CREDIT_CARD\",")
+                    .append("\"grossAmount\":2000,\"moipAccountId\":0,\"updatedAt\":\"2017-08-24T21:20:08.000Z\",")
+                    .append("\"id\":").append(36523041 + i).append(",\"installment\":{\"amount\":1,\"number\":1},")
+                    .append("\"references\":[{\"value\":\"ORD-").append(i).append("\",\"type\":\"ORDER\"},")
+                    .append("{\"value\":\"PAY-").append(i).append("\",\"type\":\"PAYMENT\"}],")
+                    .append("\"eventId\":\"PAY-").append(i).append("\",\"createdAt\":\"2017-08-11T06:53:09.000Z\",")
+                    .append("\"description\":\"Cartao de credito - Pedido PAY-").append(i).append("\",")
+                    .append("\"blocked\":false,\"settledAt\":\"2017-08-24T21:20:08.000Z\",\"liquidAmount\":")
+                    .append(1821 + i).append('}');
+        }
+
+        return json.append(']').toString();
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.moip.response;
+
+import br.com.moip.resource.Entry;
+import br.com.moip.resource.Order;
+import br.com.moip.util.GsonFactory;
+import com.google.gson.Gson;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelListDecoderTest {
+
+    private final Gson gson = GsonFactory.gson();
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final ParallelListDecoder decoder = new ParallelListDecoder(pool, 8);
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testDecodesOrdersPreservingOrder() {
+        String body = orders(100);
+
+        OrderListResponse response = decoder.decode(body, OrderListResponse.class, gson);
+
+        assertEquals(100, response.getOrders().size());
+        assertEquals(100, response.getSummary().getCount());
+        for (int i = 0; i < 100; i++) {
+            Order order = response.getOrders().get(i);
+            assertEquals("ORD-" + i, order.getId());
+            assertEquals("own [\"id\"], {" + i + "}", order.getOwnId());
+            assertEquals(Integer.valueOf(i * 100), order.getAmount().getTotal());
+        }
+
+        // Mutable like the list of a page decoded sequentially
+        response.getOrders().remove(0);
+        assertEquals(99, response.getOrders().size());
+    }
+
+    @Test
+    public void testLeavesAPoolPassedInRunning() {
+        decoder.close();
+
+        assertFalse(pool.isShutdown());
+        assertEquals(50, decoder.decode(orders(50), OrderListResponse.class, gson).getOrders().size());
+    }
+
+    @Test
+    public void testMatchesSequentialDecoding() {
+        String body = orders(40);
+
+        OrderListResponse parallel = decoder.decode(body, OrderListResponse.class, gson);
+        OrderListResponse sequential = gson.fromJson(body, OrderListResponse.class);
+
+        assertEquals(sequential.toString(), parallel.toString());
+    }
+
+    @Test
+    public void testBelowThresholdDecodesSequentially() {
+        OrderListResponse response = decoder.decode(orders(3), OrderListResponse.class, gson);
+
+        assertEquals(3, response.getOrders().size());
+        assertEquals("ORD-2", response.getOrders().get(2).getId());
+    }
+
+    @Test
+    public void testDecodesEntries() {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 50; i++) {
+            if (i > 0) body.append(",\n  ");
+            body.append("{\"external_id\":\"ENT-").append(i).append("\",\"status\":\"SETTLED\",\"grossAmount\":").append(i)
+                    .append(",\"fees\":[{\"amount\":1,\"type\":\"TRANSACTION\"}]}");
+        }
+        body.append("]");
+
+        EntriesListResponse response = decoder.decode(body.toString(), EntriesListResponse.class, gson);
+
+        assertEquals(50, response.size());
+        assertEquals("ENT-49", response.get(49).getExternalId());
+        assertEquals(Entry.Status.SETTLED, response.get(0).getStatus());
+    }
+
+    @Test
+    public void testEmptyArray() {
+        OrderListResponse response = decoder.decode("{\"orders\":[ ],\"summary\":{\"count\":0}}", OrderListResponse.class, gson);
+
+        assertTrue(response.getOrders().isEmpty());
+    }
+
+    private static String orders(int size) {
+        StringBuilder body = new StringBuilder("{\"_links\":{\"next\":{\"href\":\"https://test.moip.com.br/v2/orders?orders=[1]\"}},");
+        body.append("\"orders\": [");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) body.append(", ");
+            body.append("{\"id\":\"ORD-").append(i).append("\",\"ownId\":\"own [\\\"id\\\"], {").append(i).append("}\",")
+                    .append("\"status\":\"PAID\",\"amount\":{\"total\":").append(i * 100).append(",\"currency\":\"BRL\"},")
+                    .append("\"events\":[{\"type\":\"ORDER.PAID\",\"description\":\"]}\"}]}");
+        }
+        body.append("],\"summary\":{\"count\":").append(size).append(",\"amount\":1000}}");
+
+        return body.toString();
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.moip.response;
+
+import br.com.moip.resource.Order;
+import br.com.moip.resource.Payment;
+import br.com.moip.resource.PaymentStatus;
+import br.com.moip.util.GsonFactory;
+import com.google.gson.stream.JsonReader;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ProjectionReaderTest {
+
+    private static final String ORDER = "{\"id\":\"ORD-1\",\"status\":\"PAID\","
+            + "\"amount\":{\"total\":10000,\"fees\":499,\"currency\":\"BRL\",\"subtotals\":{\"items\":9000}},"
+            + "\"customer\":{\"id\":\"CUS-1\",\"fullname\":\"Jose da Silva\"},"
+            + "\"payments\":[{\"id\":\"PAY-1\",\"status\":\"SETTLED\",\"installmentCount\":2},{\"id\":\"PAY-2\",\"status\":\"REFUNDED\"}],"
+            + "\"events\":null,"
+            + "\"receivers\":[{\"moipAccount\":{\"id\":\"MPA-1\"},\"type\":\"PRIMARY\",\"amount\":{\"total\":10000}}]}";
+
+    @Test
+    public void testKeepsOnlyProjectedPaths() throws IOException {
+        Order order = read(Projection.fields("id", "amount.total", "payments.status", "customer")).get();
+
+        assertEquals("ORD-1", order.getId());
+        assertNull(order.getStatus());
+        assertEquals(10000, order.getAmount().getTotal().intValue());
+        assertNull(order.getAmount().getFees());
+        assertNull(order.getAmount().getSubtotals());
+        assertEquals("Jose da Silva", order.getCustomer().getFullname());
+        assertEquals(2, order.getPayments().size());
+        assertEquals(PaymentStatus.REFUNDED, order.getPayments().get(1).getStatus());
+        assertNull(order.getPayments().get(0).getId());
+        assertTrue(order.getReceivers().isEmpty());
+    }
+
+    @Test
+    public void testWholeFieldWinsOverNestedPath() throws IOException {
+        Order order = read(Projection.fields("amount.total", "amount")).get();
+
+        assertEquals("BRL", order.getAmount().getCurrency());
+        assertEquals(9000, order.getAmount().getSubtotals().getItems().intValue());
+    }
+
+    @Test
+    public void testDecodesLazyFieldsOnFirstAccess() throws IOException {
+        Projected<Order> projected = read(Projection.fields("id").lazy("payments", "events", "refunds"));
+
+        assertTrue(projected.get().getPayments().isEmpty());
+        assertTrue(projected.has("payments"));
+        assertFalse(projected.has("refunds"));
+
+        Payment payment = projected.list("payments", Payment.class).get(0);
+        assertEquals(PaymentStatus.SETTLED, payment.getStatus());
+        assertEquals(2, payment.getInstallmentCount());
+        assertSame(projected.list("payments", Payment.class), projected.list("payments", Payment.class));
+        assertTrue(projected.list("events", Object.class).isEmpty());
+        assertTrue(projected.list("refunds", Object.class).isEmpty());
+    }
+
+    private static Projected<Order> read(Projection projection) throws IOException {
+        return new ProjectionReader<>(Order.class, projection).read(new JsonReader(new StringReader(ORDER)), GsonFactory.gson());
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.moip.ssl;
+
+import br.com.moip.event.Call;
+import br.com.moip.event.EventListener;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SSLSupportTest {
+
+    @Test
+    public void testTellsNewSocketsFromReusedConnectionsPerThread() throws Exception {
+        SSLSupport sslSupport = new SSLSupport();
+        final List<Call> started = new ArrayList<>();
+        EventListener listener = new EventListener() {
+            @Override
+            public void secureConnectStart(Call call, long nanoTime) {
+                started.add(call);
+            }
+        };
+        Call call = new Call("GET", "/v2/orders/ORD-1", System.nanoTime());
+
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+             Socket plain = new Socket(server.getInetAddress(), server.getLocalPort())) {
+
+            sslSupport.connecting(listener, call);
+            sslSupport.createSocket(plain, "localhost", server.getLocalPort(), true).close();
+            assertTrue(sslSupport.connected());
+            assertEquals(1, started.size());
+            assertSame(call, started.get(0));
+
+            // A kept-alive connection is handed out without asking the factory for a socket
+            sslSupport.connecting(listener, call);
+            assertFalse(sslSupport.connected());
+            assertFalse(sslSupport.connected());
+            assertEquals(1, started.size());
+        }
+    }
+}
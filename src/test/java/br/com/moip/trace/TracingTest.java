@@ -0,0 +1,151 @@
+package br.com.moip.trace;
+
+import br.com.moip.Client;
+import br.com.moip.TestServer;
+import br.com.moip.exception.ValidationException;
+import br.com.moip.resource.Order;
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TracingTest {
+
+    private static final String PARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @Rule
+    public TestServer server = new TestServer();
+
+    private Client client;
+    private InMemoryTracer tracer;
+    private final LinkedBlockingQueue<String> traceparents = new LinkedBlockingQueue<>();
+
+    @Before
+    public void setUp() {
+        server.respond(new TestServer.Responder() {
+            @Override
+            public TestServer.Response respond(HttpExchange exchange) {
+                String traceparent = exchange.getRequestHeaders().getFirst("traceparent");
+                traceparents.add(traceparent == null ? "none" : traceparent);
+
+                return exchange.getRequestURI().getPath().endsWith("MISSING")
+                        ? TestServer.Response.of(404, "{}")
+                        : TestServer.Response.of(200, "{\"id\":\"ORD-1\"}");
+            }
+        });
+
+        tracer = new InMemoryTracer();
+        client = server.client();
+        client.setTracer(tracer);
+    }
+
+    @Test
+    public void testOpensASpanPerCallAndSendsItsContext() throws InterruptedException {
+        client.get("/v2/orders/ORD-1", Order.class);
+
+        List<InMemoryTracer.RecordedSpan> spans = tracer.getFinishedSpans();
+        assertEquals(1, spans.size());
+
+        InMemoryTracer.RecordedSpan span = spans.get(0);
+        assertEquals("GET /v2/orders/{id}", span.getName());
+        assertEquals("GET", span.getAttributes().get("http.method"));
+        assertEquals("/v2/orders/{id}", span.getAttributes().get("http.route"));
+        assertEquals(200L, span.getAttributes().get("http.status_code"));
+        assertNull(span.getParent());
+        assertEquals(span.getContext().toTraceparent(), traceparents.take());
+    }
+
+    @Test
+    public void testSpansAreChildrenOfTheCurrentContext() throws InterruptedException {
+        TraceContext parent = TraceContext.parse(PARENT);
+
+        try (TraceContext.Scope scope = parent.makeCurrent()) {
+            client.get("/v2/orders/ORD-1", Order.class);
+        }
+        assertNull(TraceContext.current());
+
+        InMemoryTracer.RecordedSpan span = tracer.getFinishedSpans().get(0);
+        assertEquals(parent, span.getParent());
+        assertEquals(parent.getTraceId(), span.getContext().getTraceId());
+        assertFalse(parent.getSpanId().equals(span.getContext().getSpanId()));
+        assertTrue(traceparents.take().startsWith("00-4bf92f3577b34da6a3ce929d0e0e4736-"));
+    }
+
+    @Test
+    public void testCarriesTheContextToAnotherThread() throws Exception {
+        TraceContext parent = TraceContext.parse(PARENT);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (TraceContext.Scope scope = parent.makeCurrent()) {
+            executor.submit(TraceContext.wrap(new Callable<Order>() {
+                @Override
+                public Order call() {
+                    return client.get("/v2/orders/ORD-1", Order.class);
+                }
+            })).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(parent, tracer.getFinishedSpans().get(0).getParent());
+    }
+
+    @Test
+    public void testRecordsFailedCalls() {
+        try {
+            client.get("/v2/orders/MISSING", Order.class);
+            fail();
+        } catch (ValidationException e) {
+            InMemoryTracer.RecordedSpan span = tracer.getFinishedSpans().get(0);
+
+            assertEquals(404L, span.getAttributes().get("http.status_code"));
+            assertEquals(e, span.getException());
+        }
+    }
+
+    @Test
+    public void testSendsNoHeaderWithoutATracer() throws InterruptedException {
+        client.setTracer(Tracer.NONE);
+        client.get("/v2/orders/ORD-1", Order.class);
+
+        assertEquals("none", traceparents.take());
+    }
+
+    @Test
+    public void testParsesTraceparent() {
+        TraceContext context = TraceContext.parse(PARENT);
+
+        assertNotNull(context);
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", context.getTraceId());
+        assertEquals("00f067aa0ba902b7", context.getSpanId());
+        assertTrue(context.isSampled());
+        assertEquals(PARENT, context.toTraceparent());
+
+        assertNull(TraceContext.parse(null));
+        assertNull(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7"));
+        assertNull(TraceContext.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01"));
+        assertNull(TraceContext.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01"));
+        assertNull(TraceContext.parse("ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01"));
+    }
+
+    @Test
+    public void testRootContextsAreValidTraceparents() {
+        TraceContext root = TraceContext.root(false);
+
+        assertEquals(root, TraceContext.parse(root.toTraceparent()));
+        assertEquals(root.getTraceId(), root.child().getTraceId());
+    }
+}
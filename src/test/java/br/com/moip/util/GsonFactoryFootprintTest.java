@@ -0,0 +1,88 @@
+package br.com.moip.util;
+
+import br.com.moip.resource.Order;
+import br.com.moip.resource.Payment;
+import com.google.gson.Gson;
+import org.junit.Test;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GsonFactoryFootprintTest {
+
+    private static final String ORDER = "{\"id\":\"ORD-1\",\"payments\":[{\"id\":\"PAY-1\"},{\"id\":\"PAY-2\"},{\"id\":\"PAY-3\"}],"
+            + "\"events\":[{\"type\":\"ORDER.PAID\"},{\"type\":\"ORDER.WAITING\"}],\"refunds\":[]}";
+
+    private final Gson gson = GsonFactory.gson();
+
+    @Test
+    public void testListsStayMutable() {
+        Order order = gson.fromJson("{\"id\":\"ORD-1\",\"payments\":[],\"events\":[{\"type\":\"ORDER.PAID\"}]}", Order.class);
+
+        order.getPayments().add(new Payment());
+        order.getEvents().clear();
+        order.getItems().add(new Order.Item());
+
+        assertEquals(1, order.getPayments().size());
+        assertTrue(order.getEvents().isEmpty());
+    }
+
+    @Test
+    public void testOrderWithoutArraysRetainsNoLists() {
+        Order order = gson.fromJson("{\"id\":\"ORD-1\",\"ownId\":\"own\",\"status\":\"PAID\"}", Order.class);
+
+        for (Class<?> type : GraphLayout.parseInstance(order).getClasses()) {
+            assertFalse(type.getName(), List.class.isAssignableFrom(type) || type == Object[].class);
+        }
+        assertEquals(ClassLayout.parseClass(Order.class).instanceSize(), GraphLayout.parseInstance(new Order()).totalSize());
+    }
+
+    @Test
+    public void testItemAmountsArePrimitive() {
+        Order order = gson.fromJson("{\"items\":[{\"product\":\"Camisa\",\"quantity\":2,\"price\":1000}]}", Order.class);
+
+        Order.Item item = order.getItems().get(0);
+
+        assertFalse(GraphLayout.parseInstance(item).getClasses().contains(Integer.class));
+        assertEquals(Integer.valueOf(2), item.getQuantity());
+        assertEquals(Integer.valueOf(1000), item.getPrice());
+    }
+
+    @Test
+    public void testPaymentCreatesFundingInstrumentOnlyWhenAsked() {
+        Payment payment = gson.fromJson("{\"id\":\"PAY-1\"}", Payment.class);
+
+        long decoded = GraphLayout.parseInstance(payment).totalSize();
+        payment.getFundingInstrument();
+
+        assertTrue(decoded + " should be under " + GraphLayout.parseInstance(payment).totalSize(),
+                decoded < GraphLayout.parseInstance(payment).totalSize());
+    }
+
+    @Test
+    public void testListsAreSizedToTheirArray() {
+        Order order = gson.fromJson("{\"payments\":[{\"id\":\"PAY-1\"},{\"id\":\"PAY-2\"},{\"id\":\"PAY-3\"}]}", Order.class);
+
+        List<Payment> grown = new ArrayList<>();
+        grown.addAll(order.getPayments());
+
+        long rightSized = GraphLayout.parseInstance(order.getPayments()).totalSize();
+        assertTrue(rightSized + " should be under " + GraphLayout.parseInstance(grown).totalSize(),
+                rightSized < GraphLayout.parseInstance(grown).totalSize());
+        assertEquals("PAY-3", order.getPayments().get(2).getId());
+    }
+
+    @Test
+    public void testOrderIsSmallerThanWithPlainGson() {
+        long factory = GraphLayout.parseInstance(gson.fromJson(ORDER, Order.class)).totalSize();
+        long plain = GraphLayout.parseInstance(new Gson().fromJson(ORDER, Order.class)).totalSize();
+
+        assertTrue(factory + " should be under " + plain, factory < plain);
+    }
+}
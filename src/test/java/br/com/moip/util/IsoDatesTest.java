@@ -0,0 +1,38 @@
+package br.com.moip.util;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+public class IsoDatesTest {
+
+    @Test
+    public void testParsesTheApiFormats() throws ParseException {
+        assertEquals(millis("2017-08-11T06:53:09.000Z"), IsoDates.parse("2017-08-11T06:53:09.000Z"));
+        assertEquals(millis("2015-10-30T17:26:59.000-02:00"), IsoDates.parse("2015-10-30T17:26:59-0200"));
+        assertEquals(millis("2018-02-22T10:04:32.000-03:00"), IsoDates.parse("2018-02-22T10:04:32.000-03"));
+        assertEquals(millis("2016-02-29T23:59:59.123+05:30"), IsoDates.parse("2016-02-29T23:59:59.123+05:30"));
+        assertEquals(millis("1969-12-31T12:00:00.000Z"), IsoDates.parse("1969-12-31T12:00:00"));
+        assertEquals(millis("2017-01-01T00:00:00.000Z"), IsoDates.parse("2017-01-01"));
+    }
+
+    @Test
+    public void testRejectsMalformedValues() {
+        assertEquals(IsoDates.INVALID, IsoDates.parse(null));
+        assertEquals(IsoDates.INVALID, IsoDates.parse("2017/01/01"));
+        assertEquals(IsoDates.INVALID, IsoDates.parse("2017-13-01"));
+        assertEquals(IsoDates.INVALID, IsoDates.parse("2017-01-01 10:00:00"));
+        assertEquals(IsoDates.INVALID, IsoDates.parse("2017-01-01T10:00:00*0300"));
+    }
+
+    private static long millis(String value) throws ParseException {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+        return format.parse(value).getTime();
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.moip.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class RedactorTest {
+
+    @Test
+    public void testMasksCardAndDocumentFieldsInJson() {
+        String body = "{\"creditCard\":{\"number\":\"5555666677778884\",\"cvc\": 123,\"hash\":\"ab\\\"c\"," +
+                "\"holder\":{\"fullname\":\"Jose\",\"taxDocument\":{\"type\":\"CPF\",\"number\":\"22222222222\"}}}}";
+
+        assertEquals("{\"creditCard\":{\"number\":\"****\",\"cvc\": \"****\",\"hash\":\"****\"," +
+                "\"holder\":{\"fullname\":\"Jose\",\"taxDocument\":{\"type\":\"CPF\",\"number\":\"****\"}}}}",
+                Redactor.body(body, 1024));
+    }
+
+    @Test
+    public void testLeavesValuesNamedLikeFieldsAlone() {
+        String body = "{\"description\":\"number\",\"items\":[\"hash\",1]}";
+
+        assertEquals(body, Redactor.body(body, 1024));
+    }
+
+    @Test
+    public void testMasksFormEncodedFields() {
+        String body = "client_id=APP-1&client_secret=e2bd&creditCard[number]=5555666677778884&amount=10";
+
+        assertEquals("client_id=APP-1&client_secret=****&creditCard[number]=****&amount=10",
+                Redactor.body(body, 1024));
+    }
+
+    @Test
+    public void testMasksQueryParameters() {
+        assertEquals("/v2/accounts/exists?tax_document=****",
+                Redactor.path("/v2/accounts/exists?tax_document=123.456.789-00"));
+        assertEquals("/v2/accounts/exists?email=****&limit=10",
+                Redactor.path("/v2/accounts/exists?email=jose%40email.com&limit=10"));
+        assertEquals("/v2/orders/ORD-1", Redactor.path("/v2/orders/ORD-1"));
+        assertNull(Redactor.path(null));
+    }
+
+    @Test
+    public void testTruncatesLongBodies() {
+        assertEquals("{\"id\":\"ORD...(25 chars)", Redactor.body("{\"id\":\"ORD-123456789012\"}", 10));
+        assertEquals("{\"number\":\"****\",...(48 chars)",
+                Redactor.body("{\"number\":\"5555666677778884\",\"id\":\"ORD-1234567\"}", 17));
+        assertNull(Redactor.body(null, 10));
+    }
+
+    @Test
+    public void testMasksAuthorizationHeader() {
+        assertEquals(Redactor.MASK, Redactor.header("authorization", "Basic dG9rZW46a2V5"));
+        assertEquals("application/json", Redactor.header("Content-Type", "application/json"));
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.moip.util;
+
+import br.com.moip.resource.Order;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class StringPoolTest {
+
+    @Test
+    public void testReturnsPooledInstance() {
+        String first = StringPool.intern(new String("ORDER.PAID"));
+
+        assertSame(first, StringPool.intern(new String("ORDER.PAID")));
+        assertNull(StringPool.intern(null));
+    }
+
+    @Test
+    public void testLeavesLongValuesAlone() {
+        String value = new String(new char[StringPool.MAXIMUM_LENGTH + 1]).replace('\0', 'x');
+
+        StringPool.intern(value);
+        assertNotSame(value, StringPool.intern(new String(value)));
+    }
+
+    @Test
+    public void testDecodedResourcesShareLowCardinalityValues() {
+        String json = "{\"id\":\"%s\",\"platform\":\"V2\",\"amount\":{\"currency\":\"BRL\"},"
+                + "\"events\":[{\"type\":\"ORDER.PAID\",\"description\":\"\"}]}";
+
+        Order first = GsonFactory.gson().fromJson(String.format(json, "ORD-1"), Order.class);
+        Order second = GsonFactory.gson().fromJson(String.format(json, "ORD-2"), Order.class);
+
+        assertSame(first.getAmount().getCurrency(), second.getAmount().getCurrency());
+        assertSame(first.getPlatform(), second.getPlatform());
+        assertSame(first.getEvents().get(0).getType(), second.getEvents().get(0).getType());
+        assertEquals("ORDER.PAID", second.getEvents().get(0).getType());
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.moip.event;
+
+import br.com.moip.Client;
+import br.com.moip.TestServer;
+import br.com.moip.resource.Order;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JfrEventListenerTest {
+
+    private static final byte[] ORDER = "{\"id\":\"ORD-1\",\"status\":\"WAITING\"}".getBytes();
+
+    @Rule
+    public TestServer server = new TestServer();
+
+    private Client client;
+
+    @Before
+    public void setUp() {
+        server.respond(exchange -> TestServer.Response.of(200, ORDER));
+        client = server.client();
+    }
+
+    @Test
+    public void testListenerIsLoaded() {
+        assertTrue(FlightRecorderEvents.isAvailable());
+    }
+
+    @Test
+    public void testRecordsCallAndConnectEvents() throws IOException {
+        Path file = Files.createTempFile("moip", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("br.com.moip.Call");
+            recording.enable("br.com.moip.Connect");
+            recording.start();
+
+            client.get("/v2/orders/ORD-1", Order.class);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        RecordedEvent call = find(events, "br.com.moip.Call");
+        assertEquals("/v2/orders/{id}", call.getString("route"));
+        assertEquals("GET", call.getString("method"));
+        assertEquals(200, call.getInt("status"));
+        assertEquals(ORDER.length, call.getLong("bytesIn"));
+        assertFalse(call.getBoolean("cacheHit"));
+        assertTrue(call.getLong("decodeTime") > 0);
+
+        RecordedEvent connect = find(events, "br.com.moip.Connect");
+        assertEquals("GET /v2/orders/{id}", connect.getString("route"));
+    }
+
+    @Test
+    public void testRecordsNothingWhileDisabled() throws IOException {
+        Path file = Files.createTempFile("moip", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.start();
+            client.get("/v2/orders/ORD-1", Order.class);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        for (RecordedEvent event : events) {
+            assertFalse(event.getEventType().getName().startsWith("br.com.moip."));
+        }
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(name)) {
+                return event;
+            }
+        }
+
+        throw new AssertionError("No " + name + " event in " + events.size());
+    }
+}